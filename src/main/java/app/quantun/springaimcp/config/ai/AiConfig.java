@@ -1,25 +1,59 @@
 package app.quantun.springaimcp.config.ai;
 
+import app.quantun.springaimcp.config.ai.replay.ReplayChatModel;
+import app.quantun.springaimcp.config.ai.stub.StubChatModel;
 import org.springframework.ai.anthropic.AnthropicChatModel;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.time.Duration;
+
 @Configuration
 public class AiConfig {
 
     @Bean
-    ChatClient anthropicChatClient(AnthropicChatModel chatModel)
+    ChatClient anthropicChatClient(AnthropicChatModel chatModel, ObjectProvider<StubChatModel> stubChatModel,
+                                   ObjectProvider<ReplayChatModel> replayChatModel)
     {
-        return ChatClient.create(chatModel);
+        return ChatClient.create(orOffline(chatModel, stubChatModel, replayChatModel));
     }
 
     @Bean
     @Primary
-    ChatClient geminiAiChatClient(OpenAiChatModel chatModel) {
-        return ChatClient.create(chatModel);
+    ChatClient geminiAiChatClient(OpenAiChatModel chatModel, ObjectProvider<StubChatModel> stubChatModel,
+                                  ObjectProvider<ReplayChatModel> replayChatModel) {
+        return ChatClient.create(orOffline(chatModel, stubChatModel, replayChatModel));
+    }
+
+    @Bean
+    BoundedChatMemory chatMemory(
+            @Value("${agent.chat-memory.max-total-bytes:8388608}") long maxTotalBytes,
+            @Value("${agent.chat-memory.compact-after-messages:12}") int compactAfterMessages,
+            @Value("${agent.chat-memory.keep-recent-messages:6}") int keepRecentMessages,
+            @Value("${agent.chat-memory.summary-excerpt-chars:300}") int summaryExcerptChars,
+            @Value("${agent.chat-memory.tool-results-max-age:PT5M}") Duration toolResultsMaxAge) {
+        return new BoundedChatMemory(maxTotalBytes, compactAfterMessages, keepRecentMessages, summaryExcerptChars,
+                toolResultsMaxAge);
+    }
+
+    /**
+     * Uses an offline model instead of the provider model: the stub when the {@code stub} profile
+     * is active, otherwise the replay model when {@code agent.interaction-log.mode=replay}.
+     */
+    private static ChatModel orOffline(ChatModel providerModel, ObjectProvider<StubChatModel> stubChatModel,
+                                       ObjectProvider<ReplayChatModel> replayChatModel) {
+        StubChatModel stub = stubChatModel.getIfAvailable();
+        if (stub != null) {
+            return stub;
+        }
+        ReplayChatModel replay = replayChatModel.getIfAvailable();
+        return replay != null ? replay : providerModel;
     }
 
 }
@@ -0,0 +1,249 @@
+package app.quantun.springaimcp.config.ai;
+
+import app.quantun.springaimcp.config.ai.tool.ToolCallCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory {@link ChatMemory} that keeps the history of every agent conversation
+ * inside a global byte budget.
+ * <p>
+ * The store behaves as follows:
+ * <ul>
+ *   <li>Conversations are kept in least-recently-used order; when the total size of all
+ *       stored messages exceeds {@code maxTotalBytes} the least recently used conversations
+ *       are evicted first</li>
+ *   <li>When a single conversation grows beyond {@code compactAfterMessages} messages, its
+ *       oldest turns are folded into one summary message and only the most recent
+ *       {@code keepRecentMessages} messages are kept verbatim</li>
+ *   <li>Every conversation keeps a memo of its tool results, so follow-up questions can reuse
+ *       them for up to {@code toolResultsMaxAge}. The memo counts against the same budget; when
+ *       the current conversation alone exceeds it, its tool results are dropped before its messages</li>
+ * </ul>
+ * Message sizes are measured as the UTF-8 length of their text.
+ */
+@Slf4j
+public class BoundedChatMemory implements ChatMemory {
+
+    private static final String SUMMARY_HEADER = "Summary of earlier turns in this conversation:";
+
+    private final long maxTotalBytes;
+    private final int compactAfterMessages;
+    private final int keepRecentMessages;
+    private final int summaryExcerptChars;
+    private final Duration toolResultsMaxAge;
+
+    // access-ordered: iteration starts with the least recently used conversation
+    private final LinkedHashMap<String, Conversation> conversations = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public BoundedChatMemory(long maxTotalBytes, int compactAfterMessages, int keepRecentMessages, int summaryExcerptChars) {
+        this(maxTotalBytes, compactAfterMessages, keepRecentMessages, summaryExcerptChars, Duration.ofMinutes(5));
+    }
+
+    public BoundedChatMemory(long maxTotalBytes, int compactAfterMessages, int keepRecentMessages, int summaryExcerptChars,
+                             Duration toolResultsMaxAge) {
+        if (maxTotalBytes <= 0) {
+            throw new IllegalArgumentException("maxTotalBytes must be positive");
+        }
+        if (keepRecentMessages < 1 || compactAfterMessages <= keepRecentMessages) {
+            throw new IllegalArgumentException("compactAfterMessages must be greater than keepRecentMessages (>= 1)");
+        }
+        this.maxTotalBytes = maxTotalBytes;
+        this.compactAfterMessages = compactAfterMessages;
+        this.keepRecentMessages = keepRecentMessages;
+        this.summaryExcerptChars = summaryExcerptChars;
+        this.toolResultsMaxAge = toolResultsMaxAge;
+    }
+
+    @Override
+    public synchronized void add(String conversationId, List<Message> messages) {
+        Conversation conversation = conversations.computeIfAbsent(conversationId, id -> new Conversation());
+        for (Message message : messages) {
+            conversation.append(message);
+            totalBytes += sizeOf(message);
+        }
+        if (conversation.messages.size() > compactAfterMessages) {
+            compact(conversationId, conversation);
+        }
+        evict(conversationId);
+    }
+
+    @Override
+    public synchronized List<Message> get(String conversationId, int lastN) {
+        Conversation conversation = conversations.get(conversationId);
+        if (conversation == null || lastN <= 0) {
+            return List.of();
+        }
+        List<Message> all = new ArrayList<>(conversation.messages);
+        return all.size() <= lastN ? all : new ArrayList<>(all.subList(all.size() - lastN, all.size()));
+    }
+
+    @Override
+    public synchronized void clear(String conversationId) {
+        Conversation removed = conversations.remove(conversationId);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    /**
+     * Returns the memo of tool results of a conversation, starting the conversation if needed.
+     */
+    public synchronized ToolCallCache toolResults(String conversationId) {
+        Conversation conversation = conversations.computeIfAbsent(conversationId, id -> new Conversation());
+        if (conversation.toolResults == null) {
+            int generation = conversation.toolResultsGeneration;
+            conversation.toolResults = new ToolCallCache(toolResultsMaxAge,
+                    bytes -> toolResultsResized(conversationId, conversation, generation, bytes));
+        }
+        return conversation.toolResults;
+    }
+
+    public synchronized int conversationCount() {
+        return conversations.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized void toolResultsResized(String conversationId, Conversation conversation, int generation, long bytes) {
+        // a memo that was dropped may still be written by the request that holds it
+        if (conversations.get(conversationId) != conversation || conversation.toolResultsGeneration != generation) {
+            return;
+        }
+        conversation.bytes += bytes;
+        conversation.toolResultsBytes += bytes;
+        totalBytes += bytes;
+        if (bytes > 0) {
+            evict(conversationId);
+        }
+    }
+
+    /**
+     * Replaces the oldest messages of a conversation (including any previous summary)
+     * by a single system message that keeps a short excerpt of every folded turn.
+     */
+    private void compact(String conversationId, Conversation conversation) {
+        int toFold = conversation.messages.size() - keepRecentMessages;
+        StringBuilder summary = new StringBuilder(SUMMARY_HEADER);
+        long foldedBytes = 0;
+
+        for (int i = 0; i < toFold; i++) {
+            Message message = conversation.messages.pollFirst();
+            long size = sizeOf(message);
+            foldedBytes += size;
+            String text = message.getText() == null ? "" : message.getText();
+            if (message.getMessageType() == MessageType.SYSTEM && text.startsWith(SUMMARY_HEADER)) {
+                // carry the previous summary forward as-is
+                summary.append(text.substring(SUMMARY_HEADER.length()));
+                continue;
+            }
+            summary.append(System.lineSeparator())
+                    .append("- ")
+                    .append(message.getMessageType().getValue())
+                    .append(": ")
+                    .append(excerpt(text));
+        }
+
+        SystemMessage summaryMessage = new SystemMessage(summary.toString());
+        conversation.messages.addFirst(summaryMessage);
+        long summaryBytes = sizeOf(summaryMessage);
+        conversation.bytes += summaryBytes - foldedBytes;
+        totalBytes += summaryBytes - foldedBytes;
+        log.debug("Compacted {} messages of conversation {} ({} -> {} bytes)", toFold, conversationId, foldedBytes, summaryBytes);
+    }
+
+    /**
+     * Evicts least recently used conversations until the store fits its byte budget.
+     * The conversation that was just written is only trimmed if it alone exceeds the budget.
+     */
+    private void evict(String currentConversationId) {
+        Iterator<Map.Entry<String, Conversation>> iterator = conversations.entrySet().iterator();
+        while (totalBytes > maxTotalBytes && iterator.hasNext()) {
+            Map.Entry<String, Conversation> eldest = iterator.next();
+            if (eldest.getKey().equals(currentConversationId)) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= eldest.getValue().bytes;
+            log.debug("Evicted conversation {} ({} bytes) to stay within {} bytes", eldest.getKey(), eldest.getValue().bytes, maxTotalBytes);
+        }
+
+        Conversation current = conversations.get(currentConversationId);
+        if (totalBytes > maxTotalBytes && current != null && current.toolResults != null) {
+            current.bytes -= current.toolResultsBytes;
+            totalBytes -= current.toolResultsBytes;
+            current.toolResultsBytes = 0;
+            current.toolResults = null;
+            current.toolResultsGeneration++;
+        }
+        while (totalBytes > maxTotalBytes && current != null && current.messages.size() > 1) {
+            Message dropped = current.messages.pollFirst();
+            long size = sizeOf(dropped);
+            current.bytes -= size;
+            totalBytes -= size;
+        }
+    }
+
+    private String excerpt(String text) {
+        String singleLine = text.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= summaryExcerptChars
+                ? singleLine
+                : singleLine.substring(0, summaryExcerptChars) + "...";
+    }
+
+    static long sizeOf(Message message) {
+        return utf8Length(message.getText());
+    }
+
+    /**
+     * UTF-8 length of {@code text} without encoding it; 0 for {@code null}.
+     */
+    public static long utf8Length(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static final class Conversation {
+        private final Deque<Message> messages = new ArrayDeque<>();
+        private long bytes;
+        private ToolCallCache toolResults;
+        private long toolResultsBytes;
+        private int toolResultsGeneration;
+
+        private void append(Message message) {
+            messages.addLast(message);
+            bytes += sizeOf(message);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package app.quantun.springaimcp.config.ai;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+
+import java.util.List;
+
+/**
+ * Helpers to locate the current agent turn inside a prompt's message history.
+ */
+public final class ChatPrompts {
+
+    private ChatPrompts() {
+    }
+
+    public static String lastUserText(List<Message> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i).getMessageType() == MessageType.USER) {
+                String text = messages.get(i).getText();
+                return text == null ? "" : text;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Number of tool-call rounds the model has already requested for the latest user message.
+     */
+    public static int toolRoundsSinceLastUserMessage(List<Message> messages) {
+        int rounds = 0;
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            Message message = messages.get(i);
+            if (message.getMessageType() == MessageType.USER) {
+                break;
+            }
+            if (message instanceof AssistantMessage assistantMessage && assistantMessage.hasToolCalls()) {
+                rounds++;
+            }
+        }
+        return rounds;
+    }
+}
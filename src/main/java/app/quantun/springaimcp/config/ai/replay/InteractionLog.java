@@ -0,0 +1,122 @@
+package app.quantun.springaimcp.config.ai.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Append-only, memory-mapped log of length-prefixed records.
+ * <p>
+ * Each record is a big-endian {@code int} length followed by that many payload bytes. The file
+ * is mapped in segments of {@code segmentBytes}: an append is a copy into the mapped region, and
+ * only the append that fills a segment makes a system call, to map the next one. Appends never
+ * wait for the disk: the page cache persists the data even if the JVM dies, and the kernel writes
+ * it back in its own time; only {@link #close()} forces the last segment. A zero length marks the end of the
+ * log; unused mapped space is truncated on close. Opening an existing file continues after its last record.
+ */
+public class InteractionLog implements Closeable {
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private final FileChannel channel;
+    private final long segmentBytes;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+
+    public InteractionLog(Path path, long segmentBytes) throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        this.segmentBytes = segmentBytes;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(endOfRecords(channel), segmentBytes);
+    }
+
+    public synchronized void append(byte[] payload) throws IOException {
+        int needed = LENGTH_BYTES + payload.length;
+        // keep room for the zero end marker after the record
+        if (needed + LENGTH_BYTES > segment.remaining()) {
+            map(position(), Math.max(segmentBytes, needed + LENGTH_BYTES));
+        }
+        segment.putInt(payload.length);
+        segment.put(payload);
+    }
+
+    /**
+     * Bytes written so far, i.e. the offset at which the next record starts.
+     */
+    public synchronized long position() {
+        return segmentStart + segment.position();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        long end = position();
+        segment.force();
+        try {
+            channel.truncate(end);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void map(long start, long size) throws IOException {
+        // the previous segment is not forced: its dirty pages stay in the page cache after it is unmapped
+        this.segmentStart = start;
+        this.segment = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+    }
+
+    /**
+     * Reads every record of the log at {@code path}, in append order.
+     */
+    public static void read(Path path, Consumer<byte[]> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = 0;
+            byte[] payload;
+            while ((payload = readRecord(channel, position)) != null) {
+                consumer.accept(payload);
+                position += LENGTH_BYTES + payload.length;
+            }
+        }
+    }
+
+    private static long endOfRecords(FileChannel channel) throws IOException {
+        long position = 0;
+        byte[] payload;
+        while ((payload = readRecord(channel, position)) != null) {
+            position += LENGTH_BYTES + payload.length;
+        }
+        return position;
+    }
+
+    private static byte[] readRecord(FileChannel channel, long position) throws IOException {
+        long size = channel.size();
+        if (position + LENGTH_BYTES > size) {
+            return null;
+        }
+        ByteBuffer length = ByteBuffer.allocate(LENGTH_BYTES);
+        readFully(channel, length, position);
+        int payloadLength = length.flip().getInt();
+        // zero marks unwritten mapped space, anything past the end is a torn record
+        if (payloadLength <= 0 || position + LENGTH_BYTES + payloadLength > size) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+        readFully(channel, payload, position + LENGTH_BYTES);
+        return payload.array();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of interaction log at " + position);
+            }
+        }
+    }
+}
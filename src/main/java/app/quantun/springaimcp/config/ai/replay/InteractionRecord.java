@@ -0,0 +1,35 @@
+package app.quantun.springaimcp.config.ai.replay;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One entry of the {@link InteractionLog}. All entries of one agent question share a {@code requestId};
+ * so do the {@code PLAN} entry of a question's decomposition and its model turn.
+ *
+ * @param name          question text, model name or tool name, depending on the type
+ * @param input         rendered prompt of a model turn or the arguments of a tool call
+ * @param output        model text, tool result or final answer
+ * @param durationNanos time spent in the model, the tool or the whole question
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record InteractionRecord(
+        String requestId,
+        Type type,
+        long timestamp,
+        long durationNanos,
+        String name,
+        String input,
+        String output,
+        List<RecordedToolCall> toolCalls,
+        Long promptTokens,
+        Long completionTokens) {
+
+    public enum Type {
+        QUESTION, PLAN, MODEL_TURN, TOOL_CALL, ANSWER
+    }
+
+    public record RecordedToolCall(String id, String name, String arguments) {
+    }
+}
@@ -0,0 +1,213 @@
+package app.quantun.springaimcp.config.ai.replay;
+
+import app.quantun.springaimcp.event.AgentInteractionCompletedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks agent interactions and records them to the {@link InteractionLog} when
+ * {@code agent.interaction-log.mode=record}.
+ * <p>
+ * The agent marks the start and the end of every question with {@link #begin(String)} and
+ * {@link #end(String, long)}; model turns and tool calls made in between on the same thread
+ * are attributed to that question. Their totals are published as an
+ * {@link AgentInteractionCompletedEvent} at the end, whatever the mode. The thread-bound
+ * question is also what {@link ReplayChatModel} uses to look up the recorded responses in replay mode.
+ * <p>
+ * The planner's decomposition call is bracketed by {@link #beginPlanning(String)} and
+ * {@link #endPlanning()} instead: it is recorded under a {@code PLAN} entry for the original question
+ * and publishes no event.
+ */
+@Component
+@Slf4j
+public class InteractionRecorder {
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    private static final ThreadLocal<Interaction> CURRENT = new ThreadLocal<>();
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Mode mode;
+    private final Path path;
+    private final InteractionLog interactionLog;
+
+    public InteractionRecorder(ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                               @Value("${agent.interaction-log.mode:off}") String mode,
+                               @Value("${agent.interaction-log.path:./data/interactions.log}") String path,
+                               @Value("${agent.interaction-log.segment-bytes:16777216}") long segmentBytes) throws IOException {
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.path = Path.of(path);
+        this.interactionLog = this.mode == Mode.RECORD ? new InteractionLog(this.path, segmentBytes) : null;
+        if (this.mode != Mode.OFF) {
+            log.info("Agent interaction log in {} mode at {}", this.mode, this.path.toAbsolutePath());
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean isRecording() {
+        return interactionLog != null;
+    }
+
+    /**
+     * Binds a new interaction for {@code question} to the current thread.
+     */
+    public void begin(String question) {
+        Interaction interaction = new Interaction(UUID.randomUUID().toString(), question, false);
+        CURRENT.set(interaction);
+        append(new InteractionRecord(interaction.requestId, InteractionRecord.Type.QUESTION,
+                System.currentTimeMillis(), 0, question, null, null, null, null, null));
+    }
+
+    /**
+     * Binds the planning of {@code question} to the current thread until {@link #endPlanning()}.
+     */
+    public void beginPlanning(String question) {
+        Interaction interaction = new Interaction(UUID.randomUUID().toString(), question, true);
+        CURRENT.set(interaction);
+        append(new InteractionRecord(interaction.requestId, InteractionRecord.Type.PLAN,
+                System.currentTimeMillis(), 0, question, null, null, null, null, null));
+    }
+
+    public void endPlanning() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether the interaction bound to the current thread is the planning of a question.
+     */
+    public boolean isPlanning() {
+        Interaction interaction = CURRENT.get();
+        return interaction != null && interaction.planning;
+    }
+
+    /**
+     * Question of the interaction bound to the current thread, or {@code null}.
+     */
+    public String currentQuestion() {
+        Interaction interaction = CURRENT.get();
+        return interaction == null ? null : interaction.question;
+    }
+
+    public void recordModelTurn(Prompt prompt, ChatResponse response, long durationNanos) {
+        Interaction interaction = CURRENT.get();
+        if (interaction == null) {
+            return;
+        }
+        Usage usage = response.getMetadata() == null ? null : response.getMetadata().getUsage();
+        Long promptTokens = usage == null || usage.getPromptTokens() == null ? null : usage.getPromptTokens().longValue();
+        Long completionTokens = usage == null || usage.getGenerationTokens() == null ? null : usage.getGenerationTokens().longValue();
+        interaction.modelTurns++;
+        interaction.promptTokens += promptTokens == null ? 0 : promptTokens;
+        interaction.completionTokens += completionTokens == null ? 0 : completionTokens;
+        if (!isRecording()) {
+            return;
+        }
+        AssistantMessage output = response.getResult() == null ? null : response.getResult().getOutput();
+        List<InteractionRecord.RecordedToolCall> toolCalls = output == null || !output.hasToolCalls() ? null
+                : output.getToolCalls().stream()
+                .map(call -> new InteractionRecord.RecordedToolCall(call.id(), call.name(), call.arguments()))
+                .toList();
+        append(new InteractionRecord(interaction.requestId, InteractionRecord.Type.MODEL_TURN,
+                System.currentTimeMillis(), durationNanos,
+                response.getMetadata() == null ? null : response.getMetadata().getModel(),
+                render(prompt), output == null ? null : output.getText(), toolCalls,
+                promptTokens, completionTokens));
+    }
+
+    public void recordToolCall(String toolName, String input, String output, long durationNanos) {
+        Interaction interaction = CURRENT.get();
+        if (interaction == null) {
+            return;
+        }
+        interaction.toolCalls++;
+        append(new InteractionRecord(interaction.requestId, InteractionRecord.Type.TOOL_CALL,
+                System.currentTimeMillis(), durationNanos, toolName, input, output, null, null, null));
+    }
+
+    /**
+     * Records the final answer ({@code null} when the question failed), publishes the
+     * usage totals and unbinds the interaction from the current thread.
+     */
+    public void end(String answer, long durationNanos) {
+        Interaction interaction = CURRENT.get();
+        CURRENT.remove();
+        if (interaction == null) {
+            return;
+        }
+        append(new InteractionRecord(interaction.requestId, InteractionRecord.Type.ANSWER,
+                System.currentTimeMillis(), durationNanos, interaction.question, null, answer, null, null, null));
+        eventPublisher.publishEvent(new AgentInteractionCompletedEvent(interaction.question, interaction.modelTurns,
+                interaction.toolCalls, interaction.promptTokens, interaction.completionTokens, durationNanos, answer != null));
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (interactionLog != null) {
+            interactionLog.close();
+        }
+    }
+
+    private void append(InteractionRecord interactionRecord) {
+        if (!isRecording()) {
+            return;
+        }
+        try {
+            interactionLog.append(objectMapper.writeValueAsBytes(interactionRecord));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize interaction record {}: {}", interactionRecord.type(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("Could not append to interaction log {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String render(Prompt prompt) {
+        return prompt.getInstructions().stream()
+                .map(message -> message.getMessageType().getValue() + ": " + message.getText())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static final class Interaction {
+
+        private final String requestId;
+        private final String question;
+        private final boolean planning;
+        private int modelTurns;
+        private int toolCalls;
+        private long promptTokens;
+        private long completionTokens;
+
+        private Interaction(String requestId, String question, boolean planning) {
+            this.requestId = requestId;
+            this.question = question;
+            this.planning = planning;
+        }
+    }
+}
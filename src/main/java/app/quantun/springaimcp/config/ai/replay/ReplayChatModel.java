@@ -0,0 +1,127 @@
+package app.quantun.springaimcp.config.ai.replay;
+
+import app.quantun.springaimcp.config.ai.ChatPrompts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ChatModel} that answers from a recorded {@link InteractionLog} instead of a provider.
+ * <p>
+ * Model turns are looked up by the question bound to the current thread by the
+ * {@link InteractionRecorder} and by the number of tool rounds already taken for it, so a
+ * replayed question requests exactly the recorded tool calls, which the agent then executes
+ * for real against the database. While the recorder is planning a question, the recorded
+ * {@code PLAN} turn of that question is returned instead, so a compound question is split into the
+ * same sub-questions as when it was recorded. When a question was recorded several times the first
+ * recording wins. With {@code pace} enabled each turn takes as long as the recorded one.
+ */
+@Slf4j
+public class ReplayChatModel implements ChatModel {
+
+    private final Map<String, List<InteractionRecord>> turnsByQuestion;
+    private final Map<String, List<InteractionRecord>> plansByQuestion;
+    private final InteractionRecorder recorder;
+    private final boolean pace;
+
+    public ReplayChatModel(List<InteractionRecord> records, InteractionRecorder recorder, boolean pace) {
+        this.turnsByQuestion = indexByQuestion(records, InteractionRecord.Type.QUESTION);
+        this.plansByQuestion = indexByQuestion(records, InteractionRecord.Type.PLAN);
+        this.recorder = recorder;
+        this.pace = pace;
+        log.info("Replaying {} recorded questions and {} plans", turnsByQuestion.size(), plansByQuestion.size());
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        String question = recorder.currentQuestion();
+        if (question == null) {
+            question = ChatPrompts.lastUserText(prompt.getInstructions());
+        }
+        boolean planning = recorder.isPlanning();
+        List<InteractionRecord> turns = (planning ? plansByQuestion : turnsByQuestion).get(question);
+        if (turns == null) {
+            throw new IllegalStateException((planning ? "No recorded plan for question: " : "No recorded interaction for question: ") + question);
+        }
+        int round = ChatPrompts.toolRoundsSinceLastUserMessage(prompt.getInstructions());
+        if (round >= turns.size()) {
+            throw new IllegalStateException("Recording of question has " + turns.size() + " model turns, turn " + (round + 1) + " requested: " + question);
+        }
+        InteractionRecord turn = turns.get(round);
+        if (pace) {
+            sleep(Duration.ofNanos(turn.durationNanos()));
+        }
+        return toResponse(turn);
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return ToolCallingChatOptions.builder().build();
+    }
+
+    private static ChatResponse toResponse(InteractionRecord turn) {
+        List<AssistantMessage.ToolCall> toolCalls = turn.toolCalls() == null ? List.of()
+                : turn.toolCalls().stream()
+                .map(call -> new AssistantMessage.ToolCall(call.id(), "function", call.name(), call.arguments()))
+                .toList();
+        AssistantMessage message = new AssistantMessage(turn.output() == null ? "" : turn.output(), Map.of(), toolCalls);
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+                .model(turn.name() == null ? "replay" : turn.name())
+                .usage(new DefaultUsage(tokens(turn.promptTokens()), tokens(turn.completionTokens())))
+                .build();
+        return new ChatResponse(List.of(new Generation(message)), metadata);
+    }
+
+    /**
+     * Model turns per question, for the requests that start with a {@code start} entry.
+     */
+    private static Map<String, List<InteractionRecord>> indexByQuestion(List<InteractionRecord> records, InteractionRecord.Type start) {
+        Map<String, String> questionByRequest = new HashMap<>();
+        Map<String, List<InteractionRecord>> turnsByRequest = new HashMap<>();
+        for (InteractionRecord interactionRecord : records) {
+            if (interactionRecord.type() == start) {
+                questionByRequest.put(interactionRecord.requestId(), interactionRecord.name());
+            } else if (interactionRecord.type() == InteractionRecord.Type.MODEL_TURN) {
+                turnsByRequest.computeIfAbsent(interactionRecord.requestId(), id -> new ArrayList<>())
+                        .add(interactionRecord);
+            }
+        }
+        Map<String, List<InteractionRecord>> turnsByQuestion = new HashMap<>();
+        // records are in append order, so the first recording of a question is seen first
+        for (InteractionRecord interactionRecord : records) {
+            if (interactionRecord.type() == start) {
+                List<InteractionRecord> turns = turnsByRequest.get(interactionRecord.requestId());
+                if (turns != null) {
+                    turnsByQuestion.putIfAbsent(questionByRequest.get(interactionRecord.requestId()), turns);
+                }
+            }
+        }
+        return turnsByQuestion;
+    }
+
+    private static Integer tokens(Long tokens) {
+        return tokens == null ? 0 : Math.toIntExact(tokens);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis(), duration.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying a model turn", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package app.quantun.springaimcp.config.ai.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers the {@link ReplayChatModel} when {@code agent.interaction-log.mode=replay};
+ * {@code AiConfig} then builds both chat clients on top of it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "agent.interaction-log.mode", havingValue = "replay")
+public class ReplayChatModelConfig {
+
+    @Bean
+    ReplayChatModel replayChatModel(ObjectMapper objectMapper, InteractionRecorder recorder,
+                                    @Value("${agent.interaction-log.replay-pace:false}") boolean pace) throws IOException {
+        List<InteractionRecord> records = new ArrayList<>();
+        InteractionLog.read(recorder.getPath(), payload -> {
+            try {
+                records.add(objectMapper.readValue(payload, InteractionRecord.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return new ReplayChatModel(records, recorder, pace);
+    }
+}
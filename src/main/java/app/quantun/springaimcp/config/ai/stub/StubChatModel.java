@@ -0,0 +1,131 @@
+package app.quantun.springaimcp.config.ai.stub;
+
+import app.quantun.springaimcp.config.ai.ChatPrompts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline {@link ChatModel} that replays a {@link StubScript} instead of calling a provider.
+ * <p>
+ * It stands in for {@code AnthropicChatModel} and {@code OpenAiChatModel} when the {@code stub}
+ * profile is active, so the agent pipeline (prompt rendering, tool execution, SQL, output
+ * conversion) can be load-tested without cost or rate limits:
+ * <ul>
+ *   <li>every model turn sleeps for a sample of the configured {@link StubLatency}</li>
+ *   <li>scripted tool calls are executed through the regular {@link ToolCallingManager}</li>
+ *   <li>{@link #stream(Prompt)} emits the final content token by token</li>
+ *   <li>token usage is estimated at four characters per token</li>
+ * </ul>
+ */
+@Slf4j
+public class StubChatModel implements ChatModel {
+
+    private static final Pattern TOKEN = Pattern.compile("\\S+\\s*|\\s+");
+
+    private final StubScript script;
+    private final StubLatency latency;
+    private final Duration tokenDelay;
+    private final ToolCallingManager toolCallingManager;
+    private final AtomicLong toolCallIds = new AtomicLong();
+
+    public StubChatModel(StubScript script, StubLatency latency, Duration tokenDelay, ToolCallingManager toolCallingManager) {
+        this.script = script;
+        this.latency = latency;
+        this.tokenDelay = tokenDelay;
+        this.toolCallingManager = toolCallingManager;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        latency.pause();
+        ChatResponse response = respond(prompt);
+        if (response.hasToolCalls() && ToolCallingChatOptions.isInternalToolExecutionEnabled(prompt.getOptions())) {
+            ToolExecutionResult toolExecutionResult = toolCallingManager.executeToolCalls(prompt, response);
+            return call(new Prompt(toolExecutionResult.conversationHistory(), prompt.getOptions()));
+        }
+        return response;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Mono.fromCallable(() -> call(prompt))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(response -> {
+                    String content = response.getResult().getOutput().getText();
+                    List<String> tokens = new ArrayList<>();
+                    Matcher matcher = TOKEN.matcher(content == null ? "" : content);
+                    while (matcher.find()) {
+                        tokens.add(matcher.group());
+                    }
+                    Flux<String> chunks = Flux.fromIterable(tokens);
+                    if (!tokenDelay.isZero()) {
+                        chunks = chunks.delayElements(tokenDelay);
+                    }
+                    return chunks.map(chunk -> chatResponse(new AssistantMessage(chunk), 0, estimateTokens(chunk)));
+                });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        // tool-calling options so the ChatClient can attach the agent tools
+        return ToolCallingChatOptions.builder().build();
+    }
+
+    private ChatResponse respond(Prompt prompt) {
+        List<Message> messages = prompt.getInstructions();
+        String userText = ChatPrompts.lastUserText(messages);
+        int round = ChatPrompts.toolRoundsSinceLastUserMessage(messages);
+        int promptTokens = messages.stream().mapToInt(message -> estimateTokens(message.getText())).sum();
+
+        StubScript.Scenario scenario = script.scenarioFor(userText);
+        if (scenario == null) {
+            return chatResponse(new AssistantMessage(script.defaultContent()), promptTokens, estimateTokens(script.defaultContent()));
+        }
+
+        StubScript.Turn turn = scenario.turn(round);
+        if (turn.requestsTools()) {
+            List<AssistantMessage.ToolCall> toolCalls = turn.toolCalls().stream()
+                    .map(call -> new AssistantMessage.ToolCall("stub-" + toolCallIds.incrementAndGet(), "function",
+                            call.name(), call.arguments() == null ? "{}" : call.arguments()))
+                    .toList();
+            log.debug("Stub model round {} requests tools {}", round, toolCalls.stream().map(AssistantMessage.ToolCall::name).toList());
+            return chatResponse(new AssistantMessage("", Map.of(), toolCalls), promptTokens,
+                    toolCalls.stream().mapToInt(call -> estimateTokens(call.arguments())).sum());
+        }
+        return chatResponse(new AssistantMessage(turn.content()), promptTokens, estimateTokens(turn.content()));
+    }
+
+    private ChatResponse chatResponse(AssistantMessage message, int promptTokens, int completionTokens) {
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+                .model("stub")
+                .usage(new DefaultUsage(promptTokens, completionTokens))
+                .build();
+        return new ChatResponse(List.of(new Generation(message)), metadata);
+    }
+
+    static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+}
@@ -0,0 +1,41 @@
+package app.quantun.springaimcp.config.ai.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+/**
+ * Registers the offline {@link StubChatModel} when the {@code stub} profile is active;
+ * {@code AiConfig} then builds both chat clients on top of it.
+ */
+@Configuration
+@Profile("stub")
+public class StubChatModelConfig {
+
+    @Bean
+    StubChatModel stubChatModel(
+            ObjectMapper objectMapper,
+            @Value("${agent.stub.script:classpath:stub/agent-script.json}") Resource script,
+            @Value("${agent.stub.latency.distribution:log-normal}") String distribution,
+            @Value("${agent.stub.latency.min-ms:50}") long minMs,
+            @Value("${agent.stub.latency.median-ms:400}") long medianMs,
+            @Value("${agent.stub.latency.max-ms:5000}") long maxMs,
+            @Value("${agent.stub.latency.sigma:0.5}") double sigma,
+            @Value("${agent.stub.token-delay-ms:10}") long tokenDelayMs) throws IOException {
+        try (InputStream input = script.getInputStream()) {
+            return new StubChatModel(
+                    objectMapper.readValue(input, StubScript.class),
+                    new StubLatency(distribution, minMs, medianMs, maxMs, sigma),
+                    Duration.ofMillis(tokenDelayMs),
+                    ToolCallingManager.builder().build());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package app.quantun.springaimcp.config.ai.stub;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency distribution of the stub model, sampled once per model turn.
+ * <ul>
+ *   <li>{@code FIXED}: always {@code medianMs}</li>
+ *   <li>{@code UNIFORM}: uniformly between {@code minMs} and {@code maxMs}</li>
+ *   <li>{@code LOG_NORMAL}: {@code medianMs * e^(sigma * N(0,1))}, clamped to {@code [minMs, maxMs]};
+ *       a long right tail like real LLM endpoints</li>
+ * </ul>
+ */
+public class StubLatency {
+
+    public enum Distribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    private final Distribution distribution;
+    private final long minMs;
+    private final long medianMs;
+    private final long maxMs;
+    private final double sigma;
+
+    public StubLatency(String distribution, long minMs, long medianMs, long maxMs, double sigma) {
+        if (minMs < 0 || maxMs < minMs) {
+            throw new IllegalArgumentException("Stub latency requires 0 <= minMs <= maxMs");
+        }
+        this.distribution = Distribution.valueOf(distribution.toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.minMs = minMs;
+        this.medianMs = medianMs;
+        this.maxMs = maxMs;
+        this.sigma = sigma;
+    }
+
+    public long sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (distribution) {
+            case FIXED -> medianMs;
+            case UNIFORM -> minMs == maxMs ? minMs : random.nextLong(minMs, maxMs + 1);
+            case LOG_NORMAL -> Math.max(minMs, Math.min(maxMs, Math.round(medianMs * Math.exp(sigma * random.nextGaussian()))));
+        };
+    }
+
+    public void pause() {
+        long millis = sampleMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
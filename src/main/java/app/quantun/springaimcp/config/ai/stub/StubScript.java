@@ -0,0 +1,48 @@
+package app.quantun.springaimcp.config.ai.stub;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Scripted behaviour of the stub model, loaded from JSON.
+ * <p>
+ * The first scenario whose {@code match} regex is found in the latest user message is played;
+ * Jackson compiles each regex once, when the script is loaded.
+ * Turn {@code n} of a scenario answers the model call made after {@code n} tool-call rounds;
+ * a turn either requests tool calls or returns the final content. Once a scenario runs out
+ * of turns its last turn is repeated, and when no scenario matches {@code defaultContent} is returned.
+ */
+public record StubScript(List<Scenario> scenarios, String defaultContent) {
+
+    public record Scenario(Pattern match, List<Turn> turns) {
+
+        boolean matches(String userText) {
+            return match == null || match.matcher(userText).find();
+        }
+
+        Turn turn(int round) {
+            return turns.get(Math.min(round, turns.size() - 1));
+        }
+    }
+
+    public record Turn(List<ToolCall> toolCalls, String content) {
+
+        boolean requestsTools() {
+            return toolCalls != null && !toolCalls.isEmpty();
+        }
+    }
+
+    public record ToolCall(String name, String arguments) {
+    }
+
+    public Scenario scenarioFor(String userText) {
+        if (scenarios == null) {
+            return null;
+        }
+        return scenarios.stream()
+                .filter(scenario -> scenario.turns() != null && !scenario.turns().isEmpty())
+                .filter(scenario -> scenario.matches(userText))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,178 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import app.quantun.springaimcp.config.ai.replay.InteractionRecorder;
+import app.quantun.springaimcp.service.AgentUtil;
+import app.quantun.springaimcp.service.CategoryService;
+import app.quantun.springaimcp.service.ProductService;
+import app.quantun.springaimcp.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.ai.tool.method.MethodToolCallback;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Collects the {@link Tool}-annotated methods of the agent-facing beans once at startup
+ * and hands out per-request decorated {@link ToolCallback}s.
+ * <p>
+ * Each tool has a domain ({@code product}, {@code category}, {@code user} or {@code sql}, from the bean
+ * that declares it) and is read-only when its name starts with {@code find}, {@code get}, {@code exists}
+ * or {@code search}, or, for the raw SQL tool, when its statement is a query. Write tools are only
+ * registered with {@code agent.tools.write-enabled=true}, and methods that take a {@link Pageable} are
+ * skipped because the argument binder cannot create one from JSON.
+ * <p>
+ * A call passes through, outermost first:
+ * <ol>
+ *   <li>{@link RecordingToolCallback}</li>
+ *   <li>{@link ObservedToolCallback}</li>
+ *   <li>{@link MemoizingToolCallback}, bound to the conversation's {@link ToolCallCache}</li>
+ *   <li>{@link MeteredToolCallback}</li>
+ *   <li>{@link JfrToolCallback}</li>
+ *   <li>{@link TransactionalToolCallback}</li>
+ *   <li>{@link MethodToolCallback}, converting results with {@link RedactingToolCallResultConverter}</li>
+ * </ol>
+ */
+@Component
+@Slf4j
+public class AgentToolRegistry {
+
+    static final String PRODUCT = "product";
+    static final String CATEGORY = "category";
+    static final String USER = "user";
+    static final String SQL = "sql";
+
+    private static final Set<String> READ_PREFIXES = Set.of("find", "get", "exists", "search");
+    private static final Set<String> READ_SQL_KEYWORDS = Set.of("SELECT", "WITH", "SHOW", "EXPLAIN", "VALUES");
+
+    /**
+     * Domains whose cached results may be stale after a write in the key domain.
+     * Products embed their category and raw SQL can read anything.
+     */
+    private static final Map<String, Set<String>> AFFECTED_DOMAINS = Map.of(
+            PRODUCT, Set.of(PRODUCT, SQL),
+            CATEGORY, Set.of(CATEGORY, PRODUCT, SQL),
+            USER, Set.of(USER, SQL),
+            SQL, Set.of(PRODUCT, CATEGORY, USER, SQL));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RedactingToolCallResultConverter resultConverter = new RedactingToolCallResultConverter();
+    private final List<RegisteredTool> tools = new ArrayList<>();
+    private final TransactionTemplate transactionTemplate;
+    private final InteractionRecorder interactionRecorder;
+    private final ObservationRegistry observationRegistry;
+    private final ToolMetrics toolMetrics;
+    private final boolean writeEnabled;
+
+    public AgentToolRegistry(AgentUtil agentUtil, ProductService productService,
+                             CategoryService categoryService, UserService userService,
+                             PlatformTransactionManager transactionManager, InteractionRecorder interactionRecorder,
+                             ObservationRegistry observationRegistry, ToolMetrics toolMetrics,
+                             @Value("${agent.tools.write-enabled:false}") boolean writeEnabled) {
+        this.writeEnabled = writeEnabled;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.interactionRecorder = interactionRecorder;
+        this.observationRegistry = observationRegistry;
+        this.toolMetrics = toolMetrics;
+        register(SQL, agentUtil);
+        register(PRODUCT, productService);
+        register(CATEGORY, categoryService);
+        register(USER, userService);
+        log.info("Registered {} agent tools", tools.size());
+    }
+
+    /**
+     * Returns the agent tools bound to the given memo of tool results.
+     */
+    public List<ToolCallback> getToolCallbacks(ToolCallCache cache) {
+        List<ToolCallback> callbacks = new ArrayList<>(tools.size());
+        for (RegisteredTool tool : tools) {
+            ToolCallback callback = new MemoizingToolCallback(tool.callback(), tool.domain(), tool.readOnly(),
+                    AFFECTED_DOMAINS.get(tool.domain()), cache);
+            callback = new ObservedToolCallback(callback, tool.domain(), observationRegistry);
+            callbacks.add(new RecordingToolCallback(callback, interactionRecorder));
+        }
+        return callbacks;
+    }
+
+    private void register(String domain, Object toolObject) {
+        Class<?> targetClass = AopUtils.getTargetClass(toolObject);
+        Set<String> names = new HashSet<>();
+        tools.forEach(tool -> names.add(tool.callback().getToolDefinition().name()));
+
+        for (Method method : targetClass.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(Tool.class) || method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            if (Arrays.asList(method.getParameterTypes()).contains(Pageable.class)) {
+                log.debug("Skipping tool {}.{}: Pageable arguments are not supported", targetClass.getSimpleName(), method.getName());
+                continue;
+            }
+            if (!writeEnabled && !SQL.equals(domain) && !isReadMethod(method)) {
+                log.debug("Skipping tool {}.{}: write tools are disabled", targetClass.getSimpleName(), method.getName());
+                continue;
+            }
+            ToolCallback callback = new MeteredToolCallback(new JfrToolCallback(new TransactionalToolCallback(MethodToolCallback.builder()
+                    .toolDefinition(ToolDefinition.from(method))
+                    .toolMetadata(ToolMetadata.from(method))
+                    .toolMethod(method)
+                    .toolObject(toolObject)
+                    .toolCallResultConverter(resultConverter)
+                    .build(), transactionTemplate), domain), domain, toolMetrics);
+            String name = callback.getToolDefinition().name();
+            if (!names.add(name)) {
+                throw new IllegalStateException("Duplicate agent tool name: " + name);
+            }
+            tools.add(new RegisteredTool(domain, callback, readOnlyPredicate(domain, method)));
+        }
+    }
+
+    private Predicate<String> readOnlyPredicate(String domain, Method method) {
+        if (SQL.equals(domain) && method.getParameterCount() > 0 && method.getParameterTypes()[0] == String.class
+                && method.getName().startsWith("query")) {
+            return this::isQueryStatement;
+        }
+        boolean readOnly = isReadMethod(method);
+        return input -> readOnly;
+    }
+
+    private static boolean isReadMethod(Method method) {
+        return READ_PREFIXES.stream().anyMatch(method.getName()::startsWith);
+    }
+
+    private boolean isQueryStatement(String toolInput) {
+        try {
+            JsonNode sql = objectMapper.readTree(toolInput).path("sql");
+            String statement = sql.asText("").stripLeading();
+            int end = 0;
+            while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+                end++;
+            }
+            return READ_SQL_KEYWORDS.contains(statement.substring(0, end).toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private record RegisteredTool(String domain, ToolCallback callback, Predicate<String> readOnly) {
+    }
+}
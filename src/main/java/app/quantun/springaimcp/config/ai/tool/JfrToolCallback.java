@@ -0,0 +1,79 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import app.quantun.springaimcp.config.jfr.ToolInvocationEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link ToolCallback} decorator that emits a {@link ToolInvocationEvent} per execution.
+ * The result is only inspected for its row count when a recording will keep the event.
+ */
+public class JfrToolCallback implements ToolCallback {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ToolCallback delegate;
+    private final String domain;
+
+    public JfrToolCallback(ToolCallback delegate, String domain) {
+        this.delegate = delegate;
+        this.domain = domain;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        ToolInvocationEvent event = new ToolInvocationEvent();
+        if (!event.isEnabled()) {
+            return delegate.call(toolInput, toolContext);
+        }
+        event.begin();
+        String result = null;
+        try {
+            result = delegate.call(toolInput, toolContext);
+            event.succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.toolName = getToolDefinition().name();
+                event.domain = domain;
+                event.rowCount = rowCount(result);
+                event.resultBytes = result == null ? 0 : result.getBytes(StandardCharsets.UTF_8).length;
+                event.commit();
+            }
+        }
+    }
+
+    private static int rowCount(String result) {
+        if (result == null || result.isBlank()) {
+            return 0;
+        }
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(result);
+            return node.isArray() ? node.size() : (node.isNull() ? 0 : 1);
+        } catch (Exception e) {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import app.quantun.springaimcp.config.jfr.CacheHitEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * {@link ToolCallback} decorator that serves repeated read-only calls from a {@link ToolCallCache}
+ * and invalidates the affected domains when a write tool runs.
+ */
+@Slf4j
+public class MemoizingToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final String domain;
+    private final Predicate<String> readOnly;
+    private final Set<String> affectedDomains;
+    private final ToolCallCache cache;
+
+    public MemoizingToolCallback(ToolCallback delegate, String domain, Predicate<String> readOnly,
+                                 Set<String> affectedDomains, ToolCallCache cache) {
+        this.delegate = delegate;
+        this.domain = domain;
+        this.readOnly = readOnly;
+        this.affectedDomains = affectedDomains;
+        this.cache = cache;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        String toolName = getToolDefinition().name();
+        if (!readOnly.test(toolInput)) {
+            cache.invalidate(affectedDomains);
+            return delegate.call(toolInput, toolContext);
+        }
+
+        String cached = cache.get(domain, toolName, toolInput);
+        if (cached != null) {
+            log.debug("Tool {} served from memo for input {}", toolName, toolInput);
+            CacheHitEvent.emit("agent-tool-memo", toolName);
+            return cached;
+        }
+        String result = delegate.call(toolInput, toolContext);
+        cache.put(domain, toolName, toolInput, result);
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link ToolCallback} decorator that records the latency, result size and outcome
+ * of each invocation in {@link ToolMetrics}.
+ * <p>
+ * It sits below {@link MemoizingToolCallback}, so only real executions are measured: a memo hit
+ * takes microseconds and would drag the latency distribution and the {@code /actuator/agenttools}
+ * ranking towards zero. Memo hits are reported as JFR cache hit events instead.
+ */
+public class MeteredToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final String domain;
+    private final ToolMetrics toolMetrics;
+
+    public MeteredToolCallback(ToolCallback delegate, String domain, ToolMetrics toolMetrics) {
+        this.delegate = delegate;
+        this.domain = domain;
+        this.toolMetrics = toolMetrics;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        String toolName = getToolDefinition().name();
+        long start = System.nanoTime();
+        String result;
+        try {
+            result = delegate.call(toolInput, toolContext);
+        } catch (RuntimeException e) {
+            toolMetrics.recordError(toolName, domain, System.nanoTime() - start);
+            throw e;
+        }
+        toolMetrics.recordSuccess(toolName, domain, System.nanoTime() - start,
+                result == null ? 0 : result.getBytes(StandardCharsets.UTF_8).length);
+        return result;
+    }
+}
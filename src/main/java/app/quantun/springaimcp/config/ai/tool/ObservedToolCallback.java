@@ -0,0 +1,57 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link ToolCallback} decorator that wraps each invocation in an {@code agent.tool} observation,
+ * so tool time (and the JDBC queries it issues) shows up as its own span. It sits above the memo,
+ * so a memo hit still appears in the trace, as a span without queries.
+ */
+public class ObservedToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final String domain;
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedToolCallback(ToolCallback delegate, String domain, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.domain = domain;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        Observation observation = Observation.createNotStarted("agent.tool", observationRegistry)
+                .contextualName("tool " + getToolDefinition().name())
+                .lowCardinalityKeyValue("agent.tool.name", getToolDefinition().name())
+                .lowCardinalityKeyValue("agent.tool.domain", domain);
+        return observation.observe(() -> {
+            String result = delegate.call(toolInput, toolContext);
+            observation.highCardinalityKeyValue("agent.tool.result.bytes",
+                    String.valueOf(result == null ? 0 : result.getBytes(StandardCharsets.UTF_8).length));
+            return result;
+        });
+    }
+}
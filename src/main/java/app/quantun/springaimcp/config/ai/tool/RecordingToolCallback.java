@@ -0,0 +1,50 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import app.quantun.springaimcp.config.ai.replay.InteractionRecorder;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * {@link ToolCallback} decorator that reports each call, its result and its duration
+ * to the {@link InteractionRecorder}. It is the outermost wrapper, so memo hits are recorded
+ * too and a replay sees every call the model made.
+ */
+public class RecordingToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final InteractionRecorder recorder;
+
+    public RecordingToolCallback(ToolCallback delegate, InteractionRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        long start = System.nanoTime();
+        String result = null;
+        try {
+            result = delegate.call(toolInput, toolContext);
+            return result;
+        } finally {
+            recorder.recordToolCall(getToolDefinition().name(), toolInput, result, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import app.quantun.springaimcp.model.entity.User;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes tool results as JSON like Spring AI's default converter, but keeps password hashes away
+ * from the model provider. {@code User} results drop {@code password} wherever they are nested, and
+ * {@code password} columns are removed from the rows of the raw SQL tool.
+ */
+class RedactingToolCallResultConverter implements ToolCallResultConverter {
+
+    static final String PASSWORD = "password";
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .addMixIn(User.class, UserWithoutPassword.class)
+            .build();
+
+    @Override
+    public String convert(Object result, Type returnType) {
+        try {
+            if (returnType == Void.TYPE) {
+                return OBJECT_MAPPER.writeValueAsString("Done");
+            }
+            return OBJECT_MAPPER.writeValueAsString(redactRows(result));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize tool result", e);
+        }
+    }
+
+    private static Object redactRows(Object result) {
+        if (!(result instanceof List<?> rows) || rows.stream().noneMatch(Map.class::isInstance)) {
+            return result;
+        }
+        List<Object> redacted = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            if (row instanceof Map<?, ?> columns) {
+                Map<Object, Object> copy = new LinkedHashMap<>(columns);
+                copy.keySet().removeIf(column -> column instanceof String name && name.equalsIgnoreCase(PASSWORD));
+                redacted.add(copy);
+            } else {
+                redacted.add(row);
+            }
+        }
+        return redacted;
+    }
+
+    @JsonIgnoreProperties(PASSWORD)
+    abstract static class UserWithoutPassword {
+    }
+}
@@ -0,0 +1,128 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import app.quantun.springaimcp.config.ai.BoundedChatMemory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Memo of tool results for an agent request or, kept by {@link BoundedChatMemory}, for a whole conversation.
+ * <p>
+ * Entries are keyed by tool name plus the canonical form of the JSON arguments
+ * (object keys sorted, insignificant whitespace removed), so {@code {"id":1}} and
+ * {@code { "id" : 1 }} hit the same entry. Every entry belongs to a domain
+ * (for example {@code product} or {@code sql}) so write tools can drop only the
+ * entries they may have made stale. A memo that outlives its request gives up entries older
+ * than its maximum age, so follow-up questions do not read data that changed in the meantime,
+ * and reports the UTF-8 size of every stored or dropped entry to its owner.
+ */
+public class ToolCallCache {
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private final Map<String, Map<String, Entry>> resultsByDomain = new ConcurrentHashMap<>();
+    private final long maxAgeNanos;
+    private final LongConsumer resized;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger invalidations = new AtomicInteger();
+
+    /**
+     * Creates a memo for a single request: entries never expire and their size is not reported.
+     */
+    public ToolCallCache() {
+        this(null, bytes -> {
+        });
+    }
+
+    /**
+     * @param maxAge  age after which an entry is no longer served, or {@code null} for no limit
+     * @param resized receives the change in bytes whenever entries are stored or dropped
+     */
+    public ToolCallCache(Duration maxAge, LongConsumer resized) {
+        this.maxAgeNanos = maxAge == null ? Long.MAX_VALUE : maxAge.toNanos();
+        this.resized = resized;
+    }
+
+    public String get(String domain, String toolName, String toolInput) {
+        calls.incrementAndGet();
+        Map<String, Entry> results = resultsByDomain.get(domain);
+        Entry entry = results == null ? null : results.get(key(toolName, toolInput));
+        if (entry == null || System.nanoTime() - entry.storedAt() > maxAgeNanos) {
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.result();
+    }
+
+    public void put(String domain, String toolName, String toolInput, String result) {
+        if (result == null) {
+            return;
+        }
+        String key = key(toolName, toolInput);
+        Entry previous = resultsByDomain.computeIfAbsent(domain, d -> new ConcurrentHashMap<>())
+                .put(key, new Entry(result, System.nanoTime()));
+        resized.accept(sizeOf(key, result) - (previous == null ? 0 : sizeOf(key, previous.result())));
+    }
+
+    /**
+     * Records a call that bypassed the memo (a write) and drops the entries of the affected domains.
+     */
+    public void invalidate(Set<String> domains) {
+        calls.incrementAndGet();
+        invalidations.incrementAndGet();
+        for (String domain : domains) {
+            Map<String, Entry> removed = resultsByDomain.remove(domain);
+            if (removed != null) {
+                resized.accept(-removed.entrySet().stream()
+                        .mapToLong(entry -> sizeOf(entry.getKey(), entry.getValue().result()))
+                        .sum());
+            }
+        }
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getInvalidations() {
+        return invalidations.get();
+    }
+
+    private static long sizeOf(String key, String result) {
+        return BoundedChatMemory.utf8Length(key) + BoundedChatMemory.utf8Length(result);
+    }
+
+    static String key(String toolName, String toolInput) {
+        return toolName + ':' + canonicalize(toolInput);
+    }
+
+    static String canonicalize(String toolInput) {
+        if (toolInput == null || toolInput.isBlank()) {
+            return "{}";
+        }
+        try {
+            return CANONICAL_MAPPER.writeValueAsString(CANONICAL_MAPPER.readValue(toolInput, Object.class));
+        } catch (JsonProcessingException e) {
+            // not JSON: fall back to the raw input, which still deduplicates identical calls
+            return toolInput.strip();
+        }
+    }
+
+    private record Entry(String result, long storedAt) {
+    }
+}
@@ -0,0 +1,95 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tool Micrometer meters for the agent tools:
+ * <ul>
+ *   <li>{@code agent.tool.invocations}: timer with a percentile histogram, tagged with
+ *       {@code tool}, {@code domain} and {@code outcome} ({@code success} or {@code error}),
+ *       which gives the call count, the latency distribution and the error rate</li>
+ *   <li>{@code agent.tool.result.size}: distribution of the JSON result size in bytes</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class ToolMetrics {
+
+    static final String INVOCATIONS = "agent.tool.invocations";
+    static final String RESULT_SIZE = "agent.tool.result.size";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ToolMeters> meters = new ConcurrentHashMap<>();
+
+    public void recordSuccess(String tool, String domain, long durationNanos, long resultBytes) {
+        ToolMeters toolMeters = meters(tool, domain);
+        toolMeters.success().record(durationNanos, TimeUnit.NANOSECONDS);
+        toolMeters.resultSize().record(resultBytes);
+    }
+
+    public void recordError(String tool, String domain, long durationNanos) {
+        meters(tool, domain).error().record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Usage of every tool called so far, most total time first.
+     */
+    public List<ToolUsage> usage() {
+        return meters.values().stream()
+                .map(ToolMeters::usage)
+                .sorted(Comparator.comparingDouble(ToolUsage::totalTimeMs).reversed())
+                .toList();
+    }
+
+    private ToolMeters meters(String tool, String domain) {
+        return meters.computeIfAbsent(tool, name -> new ToolMeters(tool, domain,
+                timer(tool, domain, "success"), timer(tool, domain, "error"),
+                DistributionSummary.builder(RESULT_SIZE)
+                        .description("Size of agent tool results")
+                        .baseUnit("bytes")
+                        .tags("tool", tool, "domain", domain)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)));
+    }
+
+    private Timer timer(String tool, String domain, String outcome) {
+        return Timer.builder(INVOCATIONS)
+                .description("Agent tool invocations")
+                .tags("tool", tool, "domain", domain, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record ToolMeters(String tool, String domain, Timer success, Timer error, DistributionSummary resultSize) {
+
+        private ToolUsage usage() {
+            long invocations = success.count() + error.count();
+            double totalTimeMs = success.totalTime(TimeUnit.MILLISECONDS) + error.totalTime(TimeUnit.MILLISECONDS);
+            return new ToolUsage(tool, domain, invocations, error.count(),
+                    invocations == 0 ? 0 : (double) error.count() / invocations,
+                    totalTimeMs,
+                    invocations == 0 ? 0 : totalTimeMs / invocations,
+                    Math.max(success.max(TimeUnit.MILLISECONDS), error.max(TimeUnit.MILLISECONDS)),
+                    (long) resultSize.totalAmount(),
+                    resultSize.mean());
+        }
+    }
+
+    /**
+     * Aggregated usage of one tool since startup.
+     */
+    public record ToolUsage(String tool, String domain, long invocations, long errors, double errorRate,
+                            double totalTimeMs, double meanTimeMs, double maxTimeMs,
+                            long totalResultBytes, double meanResultBytes) {
+    }
+}
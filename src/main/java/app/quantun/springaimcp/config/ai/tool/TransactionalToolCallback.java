@@ -0,0 +1,43 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link ToolCallback} decorator that runs the tool and the JSON conversion of its result
+ * inside one transaction, so lazy associations (such as {@code Product.category}) can be
+ * serialized even when the agent runs outside an HTTP request thread.
+ */
+public class TransactionalToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionalToolCallback(ToolCallback delegate, TransactionTemplate transactionTemplate) {
+        this.delegate = delegate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return transactionTemplate.execute(status -> delegate.call(toolInput, toolContext));
+    }
+}
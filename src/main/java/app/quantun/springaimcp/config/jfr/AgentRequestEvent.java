@@ -0,0 +1,34 @@
+package app.quantun.springaimcp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("app.quantun.AgentRequest")
+@Label("Agent Request")
+@Category({"Spring AI MCP", "Agent"})
+@Description("One question answered by the agent, from the first model call to the parsed answer")
+@StackTrace(false)
+public class AgentRequestEvent extends Event {
+
+    @Label("Conversation Id")
+    public String conversationId;
+
+    @Label("Question Length")
+    public int questionLength;
+
+    @Label("Tool Rounds")
+    public int toolRounds;
+
+    @Label("Prompt Tokens")
+    public long promptTokens;
+
+    @Label("Completion Tokens")
+    public long completionTokens;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,31 @@
+package app.quantun.springaimcp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("app.quantun.CacheHit")
+@Label("Cache Hit")
+@Category({"Spring AI MCP", "Cache"})
+@Description("A value served from an in-process cache instead of being computed or loaded")
+@StackTrace(false)
+public class CacheHitEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    public String key;
+
+    public static void emit(String cache, String key) {
+        CacheHitEvent event = new CacheHitEvent();
+        if (event.isEnabled()) {
+            event.cache = cache;
+            event.key = key;
+            event.commit();
+        }
+    }
+}
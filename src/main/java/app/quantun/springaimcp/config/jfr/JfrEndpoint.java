@@ -0,0 +1,119 @@
+package app.quantun.springaimcp.config.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts, dumps and stops Java Flight Recorder recordings that include the application's
+ * custom events (agent requests, model turns, tool invocations, repository queries, cache hits):
+ * <ul>
+ *   <li>{@code POST /actuator/jfr} with optional {@code settings} ({@code default} or {@code profile}),
+ *       {@code maxAgeSeconds} and {@code maxSizeMb} starts a recording</li>
+ *   <li>{@code GET /actuator/jfr} lists the recordings started here</li>
+ *   <li>{@code GET /actuator/jfr/{id}} downloads a snapshot of the recording as a {@code .jfr} file</li>
+ *   <li>{@code DELETE /actuator/jfr/{id}} stops and discards the recording</li>
+ * </ul>
+ * It is not in the default web exposure: dumps carry heap and stack details, so expose it only
+ * behind actuator security.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@Slf4j
+public class JfrEndpoint {
+
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+            AgentRequestEvent.class, ModelTurnEvent.class, ToolInvocationEvent.class,
+            RepositoryQueryEvent.class, CacheHitEvent.class);
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+    private final Map<Long, Path> dumps = new ConcurrentHashMap<>();
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return recordings.values().stream().map(RecordingInfo::of).toList();
+    }
+
+    @WriteOperation
+    public RecordingInfo start(@Nullable String settings, @Nullable Integer maxAgeSeconds, @Nullable Long maxSizeMb)
+            throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration(settings == null ? "default" : settings));
+        recording.setName("agent-" + Instant.now());
+        APPLICATION_EVENTS.forEach(recording::enable);
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofSeconds(maxAgeSeconds == null ? 600 : maxAgeSeconds));
+        recording.setMaxSize((maxSizeMb == null ? 100 : maxSizeMb) * 1024 * 1024);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("Started flight recording {} with {} settings", recording.getId(), settings == null ? "default" : settings);
+        return RecordingInfo.of(recording);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("agent-recording-" + id + "-", ".jfr");
+        recording.dump(file);
+        deleteQuietly(dumps.put(id, file));
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<RecordingInfo> stop(@Selector long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        RecordingInfo info = RecordingInfo.of(recording);
+        recording.close();
+        deleteQuietly(dumps.remove(id));
+        return new WebEndpointResponse<>(info);
+    }
+
+    private static void deleteQuietly(@Nullable Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete recording dump {}: {}", file, e.getMessage());
+        }
+    }
+
+    public record RecordingInfo(long id, String name, String state, Instant startTime, long sizeBytes) {
+
+        static RecordingInfo of(Recording recording) {
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), recording.getSize());
+        }
+    }
+}
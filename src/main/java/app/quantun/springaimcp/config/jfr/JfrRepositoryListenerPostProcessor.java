@@ -0,0 +1,36 @@
+package app.quantun.springaimcp.config.jfr;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a listener to every Spring Data repository that emits a {@link RepositoryQueryEvent}
+ * per method invocation while a recording has the event enabled.
+ */
+@Component
+public class JfrRepositoryListenerPostProcessor implements BeanPostProcessor {
+
+    private static final RepositoryMethodInvocationListener LISTENER = invocation -> {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.repository = invocation.getRepositoryInterface().getSimpleName();
+        event.method = invocation.getMethod().getName();
+        event.state = invocation.getResult() == null ? null : invocation.getResult().getState().name();
+        event.duration = invocation.getDuration(TimeUnit.NANOSECONDS);
+        event.commit();
+    };
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(LISTENER));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,28 @@
+package app.quantun.springaimcp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("app.quantun.ModelTurn")
+@Label("Model Turn")
+@Category({"Spring AI MCP", "Agent"})
+@Description("One chat model call within an agent request")
+@StackTrace(false)
+public class ModelTurnEvent extends Event {
+
+    @Label("Round")
+    public int round;
+
+    @Label("Prompt Tokens")
+    public long promptTokens;
+
+    @Label("Completion Tokens")
+    public long completionTokens;
+
+    @Label("Requested Tools")
+    public boolean requestedTools;
+}
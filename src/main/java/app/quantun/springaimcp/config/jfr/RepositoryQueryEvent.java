@@ -0,0 +1,34 @@
+package app.quantun.springaimcp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Committed after the invocation, so the event itself is instant and the
+ * time spent is carried by {@link #duration}.
+ */
+@Name("app.quantun.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Spring AI MCP", "Persistence"})
+@Description("Invocation of a Spring Data repository method")
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("State")
+    public String state;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long duration;
+}
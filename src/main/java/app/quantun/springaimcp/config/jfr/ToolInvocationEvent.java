@@ -0,0 +1,34 @@
+package app.quantun.springaimcp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("app.quantun.ToolInvocation")
+@Label("Tool Invocation")
+@Category({"Spring AI MCP", "Agent"})
+@Description("Execution of an agent tool (memo hits are reported as cache hits instead)")
+@StackTrace(false)
+public class ToolInvocationEvent extends Event {
+
+    @Label("Tool")
+    public String toolName;
+
+    @Label("Domain")
+    public String domain;
+
+    @Label("Row Count")
+    @Description("Elements of a JSON array result, 1 for any other non-empty result")
+    public int rowCount;
+
+    @Label("Result Size")
+    @DataAmount
+    public long resultBytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
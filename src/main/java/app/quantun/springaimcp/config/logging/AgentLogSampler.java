@@ -0,0 +1,100 @@
+package app.quantun.springaimcp.config.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sampled, structured logging of prompts, model responses and SQL statements.
+ * <p>
+ * Each category has its own logger ({@code agent.prompts}, {@code agent.responses},
+ * {@code agent.sql}) and sampling rate ({@code agent.logging.sampling.*}, 0 to 1). The sampling
+ * decision is taken before anything is rendered, so unsampled calls cost one random number.
+ * Sampled entries carry their data as key/value pairs for the structured log format, and are
+ * written by the asynchronous appender of {@code logback-spring.xml}, off the request thread.
+ * Failed and slow statements ({@code agent.logging.sql.slow-threshold-ms}) are always logged.
+ */
+@Component
+public class AgentLogSampler {
+
+    private static final Logger PROMPTS = LoggerFactory.getLogger("agent.prompts");
+    private static final Logger RESPONSES = LoggerFactory.getLogger("agent.responses");
+    private static final Logger SQL = LoggerFactory.getLogger("agent.sql");
+
+    private final double promptRate;
+    private final double responseRate;
+    private final double sqlRate;
+    private final long slowSqlNanos;
+    private final int maxChars;
+
+    public AgentLogSampler(@Value("${agent.logging.sampling.prompts:0.05}") double promptRate,
+                           @Value("${agent.logging.sampling.responses:0.05}") double responseRate,
+                           @Value("${agent.logging.sampling.sql:0.01}") double sqlRate,
+                           @Value("${agent.logging.sql.slow-threshold-ms:500}") long slowSqlMs,
+                           @Value("${agent.logging.max-chars:4000}") int maxChars) {
+        this.promptRate = promptRate;
+        this.responseRate = responseRate;
+        this.sqlRate = sqlRate;
+        this.slowSqlNanos = TimeUnit.MILLISECONDS.toNanos(slowSqlMs);
+        this.maxChars = maxChars;
+    }
+
+    public void logPrompt(String conversationId, int round, Prompt prompt) {
+        if (!PROMPTS.isInfoEnabled() || !sampled(promptRate)) {
+            return;
+        }
+        String text = prompt.getInstructions().stream()
+                .map(message -> message.getMessageType().getValue() + ": " + message.getText())
+                .collect(Collectors.joining("\n"));
+        PROMPTS.atInfo()
+                .addKeyValue("conversationId", conversationId)
+                .addKeyValue("round", round)
+                .addKeyValue("messages", prompt.getInstructions().size())
+                .addKeyValue("chars", text.length())
+                .setMessage(truncate(text))
+                .log();
+    }
+
+    public void logResponse(String conversationId, int round, ChatResponse response, long durationNanos) {
+        if (!RESPONSES.isInfoEnabled() || !sampled(responseRate)) {
+            return;
+        }
+        String text = response.getResult() == null ? "" : String.valueOf(response.getResult().getOutput().getText());
+        RESPONSES.atInfo()
+                .addKeyValue("conversationId", conversationId)
+                .addKeyValue("round", round)
+                .addKeyValue("toolCalls", response.hasToolCalls())
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .setMessage(truncate(text))
+                .log();
+    }
+
+    public void logSql(String sql, long durationNanos, boolean failed) {
+        boolean slow = durationNanos >= slowSqlNanos;
+        if (!SQL.isInfoEnabled() || !(failed || slow || sampled(sqlRate))) {
+            return;
+        }
+        SQL.atLevel(failed || slow ? Level.WARN : Level.INFO)
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .addKeyValue("failed", failed)
+                .addKeyValue("slow", slow)
+                .setMessage(truncate(sql))
+                .log();
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private String truncate(String text) {
+        return text.length() <= maxChars ? text : text.substring(0, maxChars) + "... (" + text.length() + " chars)";
+    }
+}
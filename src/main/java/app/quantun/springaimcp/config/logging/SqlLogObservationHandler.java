@@ -0,0 +1,37 @@
+package app.quantun.springaimcp.config.logging;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.observation.tracing.QueryContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands every JDBC statement observed by {@code datasource-micrometer} (JPA and
+ * {@code JdbcTemplate} alike) to {@link AgentLogSampler}, replacing {@code spring.jpa.show-sql}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlLogObservationHandler implements ObservationHandler<QueryContext> {
+
+    private static final String START_NANOS = SqlLogObservationHandler.class.getName() + ".start";
+
+    private final AgentLogSampler agentLogSampler;
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof QueryContext;
+    }
+
+    @Override
+    public void onStart(QueryContext context) {
+        context.put(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(QueryContext context) {
+        Long start = context.get(START_NANOS);
+        long durationNanos = start == null ? 0 : System.nanoTime() - start;
+        agentLogSampler.logSql(String.join("; ", context.getQueries()), durationNanos, context.getError() != null);
+    }
+}
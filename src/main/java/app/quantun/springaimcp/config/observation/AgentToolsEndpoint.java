@@ -0,0 +1,40 @@
+package app.quantun.springaimcp.config.observation;
+
+import app.quantun.springaimcp.config.ai.tool.ToolMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/agenttools?limit=10}: the agent tools ranked by total time spent
+ * and by total result bytes returned to the model.
+ */
+@Component
+@Endpoint(id = "agenttools")
+@RequiredArgsConstructor
+public class AgentToolsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final ToolMetrics toolMetrics;
+
+    @ReadOperation
+    public Map<String, List<ToolMetrics.ToolUsage>> topTools(@Nullable Integer limit) {
+        int max = limit == null || limit <= 0 ? DEFAULT_LIMIT : limit;
+        List<ToolMetrics.ToolUsage> usage = toolMetrics.usage();
+        Map<String, List<ToolMetrics.ToolUsage>> ranking = new LinkedHashMap<>();
+        ranking.put("byTotalTime", usage.stream().limit(max).toList());
+        ranking.put("byPayloadBytes", usage.stream()
+                .sorted(Comparator.comparingLong(ToolMetrics.ToolUsage::totalResultBytes).reversed())
+                .limit(max)
+                .toList());
+        return ranking;
+    }
+}
@@ -0,0 +1,25 @@
+package app.quantun.springaimcp.config.observation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/agenttraces}: the most recent agent traces as span trees,
+ * with the duration and tags (token counts, tool names, SQL) of every stage.
+ */
+@Component
+@Endpoint(id = "agenttraces")
+@RequiredArgsConstructor
+public class AgentTracesEndpoint {
+
+    private final InMemoryTraceHandler traceHandler;
+
+    @ReadOperation
+    public List<InMemoryTraceHandler.SpanNode> traces() {
+        return traceHandler.getTraces();
+    }
+}
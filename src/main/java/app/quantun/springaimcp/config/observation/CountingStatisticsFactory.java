@@ -0,0 +1,74 @@
+package app.quantun.springaimcp.config.observation;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate statistics that also count into the {@link QueryCounts} scope of the calling thread.
+ * <p>
+ * Registered with {@code hibernate.stats.factory} and only used when
+ * {@code hibernate.generate_statistics} is on. Hibernate's global counters are lock-free adders; the
+ * extra cost per event is one thread-local read. Session metrics logging
+ * ({@code hibernate.session.events.log}) stays off, it would log every session at INFO.
+ */
+public class CountingStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new CountingStatistics(sessionFactory);
+    }
+
+    static class CountingStatistics extends StatisticsImpl {
+
+        CountingStatistics(SessionFactoryImplementor sessionFactory) {
+            super(sessionFactory);
+        }
+
+        @Override
+        public void prepareStatement() {
+            super.prepareStatement();
+            QueryCounts counts = QueryCounts.current();
+            if (counts != null) {
+                counts.statement();
+            }
+        }
+
+        @Override
+        public void loadEntity(String entityName) {
+            super.loadEntity(entityName);
+            QueryCounts counts = QueryCounts.current();
+            if (counts != null) {
+                counts.entityLoad();
+            }
+        }
+
+        @Override
+        public void fetchEntity(String entityName) {
+            super.fetchEntity(entityName);
+            QueryCounts counts = QueryCounts.current();
+            if (counts != null) {
+                counts.entityFetch();
+            }
+        }
+
+        @Override
+        public void fetchCollection(String role) {
+            super.fetchCollection(role);
+            QueryCounts counts = QueryCounts.current();
+            if (counts != null) {
+                counts.collectionFetch();
+            }
+        }
+
+        @Override
+        public void flush() {
+            super.flush();
+            QueryCounts counts = QueryCounts.current();
+            if (counts != null) {
+                counts.flush();
+            }
+        }
+    }
+}
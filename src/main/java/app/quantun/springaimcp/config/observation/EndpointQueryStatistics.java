@@ -0,0 +1,104 @@
+package app.quantun.springaimcp.config.observation;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the Hibernate work of every HTTP request in a {@link QueryCounts} scope and adds it up per
+ * endpoint, keyed by method and mapped path pattern ({@code GET /api/products/{id}}).
+ * <p>
+ * The scope covers the whole request, including response serialization, where lazy associations
+ * are loaded with open-in-view. Requests without a handler (static resources, 404s) are not recorded.
+ * Only the request thread is counted, so the export and import endpoints, whose
+ * {@code StreamingResponseBody} runs on an async thread, report the statements made before streaming
+ * starts, and concurrent page counts are missing from the paged listings.
+ */
+@Component
+public class EndpointQueryStatistics extends OncePerRequestFilter {
+
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (QueryCounts counts = QueryCounts.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern != null) {
+                    record(request.getMethod() + " " + pattern, counts);
+                }
+            }
+        }
+    }
+
+    void record(String endpoint, QueryCounts counts) {
+        totals.computeIfAbsent(endpoint, Totals::new).add(counts);
+    }
+
+    /**
+     * Totals of every endpoint called so far, most statements first.
+     */
+    public List<EndpointQueries> usage() {
+        return totals.values().stream()
+                .map(Totals::usage)
+                .sorted(Comparator.comparingLong(EndpointQueries::statements).reversed())
+                .toList();
+    }
+
+    private static final class Totals {
+
+        private final String endpoint;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder entityFetches = new LongAdder();
+        private final LongAdder collectionFetches = new LongAdder();
+        private final LongAdder flushes = new LongAdder();
+
+        private Totals(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void add(QueryCounts counts) {
+            requests.increment();
+            statements.add(counts.statements());
+            maxStatements.accumulate(counts.statements());
+            entityLoads.add(counts.entityLoads());
+            entityFetches.add(counts.entityFetches());
+            collectionFetches.add(counts.collectionFetches());
+            flushes.add(counts.flushes());
+        }
+
+        private EndpointQueries usage() {
+            long requestCount = requests.sum();
+            long statementCount = statements.sum();
+            return new EndpointQueries(endpoint, requestCount, statementCount,
+                    requestCount == 0 ? 0 : (double) statementCount / requestCount, maxStatements.get(),
+                    entityLoads.sum(), entityFetches.sum(), collectionFetches.sum(), flushes.sum());
+        }
+    }
+
+    /**
+     * Hibernate work of one endpoint since startup.
+     */
+    public record EndpointQueries(String endpoint, long requests, long statements, double meanStatements,
+                                  long maxStatements, long entityLoads, long entityFetches,
+                                  long collectionFetches, long flushes) {
+    }
+}
@@ -0,0 +1,214 @@
+package app.quantun.springaimcp.config.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local trace exporter: turns agent observations into span trees and keeps the most
+ * recent {@code agent.tracing.capacity} trees.
+ * <p>
+ * A tree starts at an {@code agent.*} observation; any other observation is only traced when
+ * its parent (the observation that was current when it started) is, so Spring AI's model calls
+ * and JDBC queries nest under the agent stages while HTTP requests and unrelated queries are
+ * never recorded. A tree holds at most {@code agent.tracing.max-spans} spans; spans started under
+ * it after that are left out and counted on the root. Traces are exposed by {@link AgentTracesEndpoint} and logged at DEBUG, no external
+ * collector needed.
+ */
+@Component
+@Slf4j
+public class InMemoryTraceHandler implements ObservationHandler<Observation.Context> {
+
+    private static final String AGENT_PREFIX = "agent.";
+
+    private final int capacity;
+    private final int maxSpans;
+    private final Deque<SpanNode> traces = new ArrayDeque<>();
+
+    public InMemoryTraceHandler(@Value("${agent.tracing.capacity:50}") int capacity,
+                                @Value("${agent.tracing.max-spans:500}") int maxSpans) {
+        this.capacity = capacity;
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        String name = context.getName();
+        return (name != null && name.startsWith(AGENT_PREFIX)) || parentSpan(context) != null;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        SpanNode parent = parentSpan(context);
+        if (parent != null && !parent.root.reserveSpan(maxSpans)) {
+            return;
+        }
+        SpanNode node = new SpanNode(context.getName(), System.currentTimeMillis(), System.nanoTime(), parent);
+        if (parent != null) {
+            parent.addChild(node);
+        }
+        context.put(SpanNode.class, node);
+    }
+
+    @Override
+    public void onError(Observation.Context context) {
+        SpanNode node = context.get(SpanNode.class);
+        if (node != null && context.getError() != null) {
+            node.error = context.getError().toString();
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        SpanNode node = context.get(SpanNode.class);
+        if (node == null) {
+            return;
+        }
+        node.durationNanos = System.nanoTime() - node.startNanos;
+        node.contextualName = context.getContextualName();
+        for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+            node.tags.put(keyValue.getKey(), keyValue.getValue());
+        }
+        for (KeyValue keyValue : context.getHighCardinalityKeyValues()) {
+            node.tags.put(keyValue.getKey(), keyValue.getValue());
+        }
+        if (node.parent == null) {
+            retain(node);
+        }
+    }
+
+    private static SpanNode parentSpan(Observation.Context context) {
+        ObservationView parentObservation = context.getParentObservation();
+        return parentObservation == null ? null : parentObservation.getContextView().get(SpanNode.class);
+    }
+
+    /**
+     * Most recent traces first.
+     */
+    public synchronized List<SpanNode> getTraces() {
+        return new ArrayList<>(traces);
+    }
+
+    private void retain(SpanNode trace) {
+        synchronized (this) {
+            traces.addFirst(trace);
+            while (traces.size() > capacity) {
+                traces.removeLast();
+            }
+        }
+        if (log.isDebugEnabled()) {
+            StringBuilder tree = new StringBuilder();
+            trace.appendTo(tree, 0);
+            log.debug("Agent trace:{}", tree);
+        }
+    }
+
+    /**
+     * One finished (or still running) observation and its children.
+     */
+    public static final class SpanNode {
+
+        private final String name;
+        private final long startEpochMillis;
+        private final long startNanos;
+        private final SpanNode parent;
+        private final SpanNode root;
+        private final List<SpanNode> children = Collections.synchronizedList(new ArrayList<>());
+        /** written when the span stops, possibly while the endpoint reads the still running trace */
+        private final Map<String, String> tags = Collections.synchronizedMap(new LinkedHashMap<>());
+        /** spans in the tree and spans left out of it; only used on the root */
+        private final AtomicInteger spans = new AtomicInteger(1);
+        private final AtomicInteger droppedSpans = new AtomicInteger();
+        private volatile long durationNanos = -1;
+        private volatile String contextualName;
+        private volatile String error;
+
+        private SpanNode(String name, long startEpochMillis, long startNanos, SpanNode parent) {
+            this.name = name;
+            this.startEpochMillis = startEpochMillis;
+            this.startNanos = startNanos;
+            this.parent = parent;
+            this.root = parent == null ? this : parent.root;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getContextualName() {
+            return contextualName;
+        }
+
+        public long getStartEpochMillis() {
+            return startEpochMillis;
+        }
+
+        public double getDurationMillis() {
+            return durationNanos / 1_000_000.0;
+        }
+
+        public Map<String, String> getTags() {
+            synchronized (tags) {
+                return new LinkedHashMap<>(tags);
+            }
+        }
+
+        /**
+         * Spans started under this trace once it held {@code agent.tracing.max-spans}, and so left out
+         * (their own children are not counted); 0 below the root.
+         */
+        public int getDroppedSpans() {
+            return droppedSpans.get();
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public List<SpanNode> getChildren() {
+            synchronized (children) {
+                return new ArrayList<>(children);
+            }
+        }
+
+        private void addChild(SpanNode child) {
+            children.add(child);
+        }
+
+        private boolean reserveSpan(int maxSpans) {
+            if (spans.getAndUpdate(count -> count < maxSpans ? count + 1 : count) < maxSpans) {
+                return true;
+            }
+            droppedSpans.incrementAndGet();
+            return false;
+        }
+
+        private void appendTo(StringBuilder tree, int depth) {
+            tree.append(System.lineSeparator()).append("  ".repeat(depth + 1))
+                    .append(name).append(" ").append(String.format("%.1f", getDurationMillis())).append(" ms");
+            if (!tags.isEmpty()) {
+                tree.append(" ").append(tags);
+            }
+            if (error != null) {
+                tree.append(" error=").append(error);
+            }
+            if (droppedSpans.get() > 0) {
+                tree.append(" dropped=").append(droppedSpans.get());
+            }
+            getChildren().forEach(child -> child.appendTo(tree, depth + 1));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package app.quantun.springaimcp.config.observation;
+
+/**
+ * Hibernate work done on the current thread while a scope is open: statements prepared, entities
+ * loaded, entities and collections fetched lazily, and flushes.
+ * <p>
+ * {@link CountingStatisticsFactory} adds to the innermost open scope of the thread; when no scope is
+ * open nothing is counted beyond Hibernate's own statistics. Scopes nest: closing one adds its counts
+ * to the enclosing scope, so a test can measure one call inside a counted HTTP request.
+ * <p>
+ * Work done on other threads is not included: the {@code page-count-*} queries of
+ * {@code PageQueryExecutor} when {@code agent.paging.concurrent-count} is on, and the bodies of
+ * {@code StreamingResponseBody} responses (NDJSON exports and imports), which run on the MVC async
+ * executor after the request thread has returned.
+ */
+public final class QueryCounts implements AutoCloseable {
+
+    private static final ThreadLocal<QueryCounts> CURRENT = new ThreadLocal<>();
+
+    private final QueryCounts parent;
+    private long statements;
+    private long entityLoads;
+    private long entityFetches;
+    private long collectionFetches;
+    private long flushes;
+
+    private QueryCounts(QueryCounts parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Opens a scope on the current thread; close it on the same thread.
+     */
+    public static QueryCounts open() {
+        QueryCounts counts = new QueryCounts(CURRENT.get());
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Query count scopes must be closed innermost first");
+        }
+        if (parent == null) {
+            CURRENT.remove();
+            return;
+        }
+        parent.statements += statements;
+        parent.entityLoads += entityLoads;
+        parent.entityFetches += entityFetches;
+        parent.collectionFetches += collectionFetches;
+        parent.flushes += flushes;
+        CURRENT.set(parent);
+    }
+
+    static QueryCounts current() {
+        return CURRENT.get();
+    }
+
+    void statement() {
+        statements++;
+    }
+
+    void entityLoad() {
+        entityLoads++;
+    }
+
+    void entityFetch() {
+        entityFetches++;
+    }
+
+    void collectionFetch() {
+        collectionFetches++;
+    }
+
+    void flush() {
+        flushes++;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long entityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * Entities loaded on first access of a lazy association or proxy, the usual sign of N+1.
+     */
+    public long entityFetches() {
+        return entityFetches;
+    }
+
+    public long collectionFetches() {
+        return collectionFetches;
+    }
+
+    public long flushes() {
+        return flushes;
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statements + ", entityLoads=" + entityLoads + ", entityFetches=" + entityFetches
+                + ", collectionFetches=" + collectionFetches + ", flushes=" + flushes;
+    }
+}
@@ -0,0 +1,39 @@
+package app.quantun.springaimcp.config.observation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/querystats?limit=10}: the HTTP endpoints ranked by total statements and by
+ * the most statements of a single request, with their entity loads, lazy fetches and flushes.
+ */
+@Component
+@Endpoint(id = "querystats")
+@RequiredArgsConstructor
+public class QueryStatisticsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final EndpointQueryStatistics endpointQueryStatistics;
+
+    @ReadOperation
+    public Map<String, List<EndpointQueryStatistics.EndpointQueries>> topEndpoints(@Nullable Integer limit) {
+        int max = limit == null || limit <= 0 ? DEFAULT_LIMIT : limit;
+        List<EndpointQueryStatistics.EndpointQueries> usage = endpointQueryStatistics.usage();
+        Map<String, List<EndpointQueryStatistics.EndpointQueries>> ranking = new LinkedHashMap<>();
+        ranking.put("byStatements", usage.stream().limit(max).toList());
+        ranking.put("byMaxStatements", usage.stream()
+                .sorted(Comparator.comparingLong(EndpointQueryStatistics.EndpointQueries::maxStatements).reversed())
+                .limit(max)
+                .toList());
+        return ranking;
+    }
+}
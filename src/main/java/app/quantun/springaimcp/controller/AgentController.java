@@ -1,13 +1,34 @@
 package app.quantun.springaimcp.controller;
 
+import app.quantun.springaimcp.model.contract.response.AgentJobResponse;
 import app.quantun.springaimcp.model.contract.response.Answer;
 import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.service.AgentBulkService;
+import app.quantun.springaimcp.service.AgentJobService;
 import app.quantun.springaimcp.service.AgentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/agent")
@@ -16,11 +37,63 @@ import org.springframework.web.bind.annotation.RestController;
 
 public class AgentController {
     private final AgentService agentService;
+    private final AgentJobService agentJobService;
+    private final AgentBulkService agentBulkService;
+
     @PostMapping("/question")
     public Answer getAnswer(Question question) {
         return agentService.getAnswer(question);
     }
 
+    @DeleteMapping("/conversations/{conversationId}")
+    @Operation(summary = "End a conversation", description = "Discards the chat history kept for a conversation")
+    public ResponseEntity<Void> endConversation(
+            @Parameter(description = "Conversation ID", required = true) @PathVariable String conversationId) {
+        agentService.endConversation(conversationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Answer questions in bulk",
+            description = "Reads one Question per NDJSON line and streams one answer per line as soon as it is available")
+    public ResponseEntity<StreamingResponseBody> answerBulk(
+            HttpServletRequest request,
+            @Parameter(description = "Write answers in input order instead of completion order") @RequestParam(defaultValue = "false") boolean ordered)
+            throws IOException {
+        InputStream questions = request.getInputStream();
+        StreamingResponseBody answers = output -> agentBulkService.answerAll(questions, output, ordered);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(answers);
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Submit an agent job", description = "Queues a question for asynchronous processing and returns the job immediately. " +
+            "Queued jobs survive a restart only with the persistent profile; the default database is in memory")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Job queued"),
+        @ApiResponse(responseCode = "400", description = "Invalid question")
+    })
+    public ResponseEntity<AgentJobResponse> submitJob(
+            @Parameter(description = "Question to answer", required = true) @RequestBody Question question,
+            @Parameter(description = "Job priority, higher runs first") @RequestParam(defaultValue = "0") int priority) {
+        AgentJobResponse job = agentJobService.submitJob(question, priority);
+        return ResponseEntity.accepted().location(URI.create("/api/agent/jobs/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get an agent job", description = "Returns the status of a job and its answer once it has finished")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<AgentJobResponse> getJob(
+            @Parameter(description = "Job ID", required = true) @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(agentJobService.findJobById(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
 
 
 }
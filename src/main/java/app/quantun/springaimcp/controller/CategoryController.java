@@ -1,7 +1,9 @@
 package app.quantun.springaimcp.controller;
 
+import app.quantun.springaimcp.model.contract.response.CursorPage;
 import app.quantun.springaimcp.model.entity.Category;
 import app.quantun.springaimcp.service.CategoryService;
+import app.quantun.springaimcp.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,8 +15,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.NoSuchElementException;
 
@@ -25,6 +29,7 @@ import java.util.NoSuchElementException;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ExportService exportService;
 
     @GetMapping
     @Operation(summary = "Get all categories", description = "Returns a paginated list of categories")
@@ -33,6 +38,21 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.findAllCategories(pageable));
     }
 
+    @GetMapping("/keyset")
+    @Operation(summary = "Get all categories by cursor", description = "Returns categories ordered by name, one keyset page at a time")
+    public ResponseEntity<CursorPage<Category>> getAllCategoriesByCursor(
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(categoryService.findAllCategoriesAfter(cursor, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all categories", description = "Streams every category as one NDJSON line, in id order, through a forward-only cursor")
+    public ResponseEntity<StreamingResponseBody> exportCategories() {
+        StreamingResponseBody categories = exportService::exportCategories;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(categories);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Returns a category by its ID")
     @ApiResponses({
@@ -71,6 +91,15 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.findCategoriesByNameContaining(keyword, pageable));
     }
 
+    @GetMapping("/search/keyset")
+    @Operation(summary = "Search categories by cursor", description = "Returns categories containing the search keyword ordered by name, one keyset page at a time")
+    public ResponseEntity<CursorPage<Category>> searchCategoriesByCursor(
+            @Parameter(description = "Search keyword", required = true) @RequestParam String keyword,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(categoryService.findCategoriesByNameContainingAfter(keyword, cursor, size));
+    }
+
     @PostMapping
     @Operation(summary = "Create a category", description = "Creates a new category")
     @ApiResponse(responseCode = "201", description = "Category created successfully")
@@ -1,22 +1,35 @@
 package app.quantun.springaimcp.controller;
 
+import app.quantun.springaimcp.model.contract.response.CursorPage;
+import app.quantun.springaimcp.model.contract.response.ProductFacets;
+import app.quantun.springaimcp.model.contract.response.ProductSuggestion;
+import app.quantun.springaimcp.model.contract.response.ProductSummary;
+import app.quantun.springaimcp.model.contract.response.ResultSlice;
 import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.service.ExportService;
+import app.quantun.springaimcp.service.ProductImportService;
 import app.quantun.springaimcp.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 @RestController
@@ -26,6 +39,8 @@ import java.util.NoSuchElementException;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ExportService exportService;
 
     @GetMapping
     @Operation(summary = "Get all products", description = "Returns a paginated list of products")
@@ -34,6 +49,38 @@ public class ProductController {
         return ResponseEntity.ok(productService.findAllProducts(pageable));
     }
 
+    @GetMapping("/summaries")
+    @Operation(summary = "Get product summaries", description = "Returns a paginated list of product rows (id, name, SKU, price, category) read in one query per page")
+    public ResponseEntity<Page<ProductSummary>> getProductSummaries(
+            @Parameter(description = "Also join the category and return its name") @RequestParam(defaultValue = "true") boolean includeCategory,
+            @Parameter(description = "Pagination information") @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(productService.findProductSummaries(includeCategory, pageable));
+    }
+
+    @GetMapping("/slice")
+    @Operation(summary = "Get all products as a slice", description = "Returns a page of products ordered by name without counting all products")
+    public ResponseEntity<ResultSlice<Product>> getAllProductsSlice(
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also run the count query and return totalElements") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(productService.findAllProductsSlice(page, size, includeTotal));
+    }
+
+    @GetMapping("/keyset")
+    @Operation(summary = "Get all products by cursor", description = "Returns products ordered by name, one keyset page at a time")
+    public ResponseEntity<CursorPage<Product>> getAllProductsByCursor(
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productService.findAllProductsAfter(cursor, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all products", description = "Streams every product with its category as one NDJSON line, in id order, through a forward-only cursor")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody products = exportService::exportProducts;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(products);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Returns a product by its ID")
     @ApiResponses({
@@ -80,8 +127,44 @@ public class ProductController {
         }
     }
 
+    @GetMapping("/category/{categoryId}/slice")
+    @Operation(summary = "Get products by category as a slice", description = "Returns a page of products of a category ordered by name without counting all matches")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products found"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    public ResponseEntity<ResultSlice<Product>> getProductsByCategorySlice(
+            @Parameter(description = "Category ID", required = true) @PathVariable Long categoryId,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also run the count query and return totalElements") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(productService.findProductsByCategorySlice(categoryId, page, size, includeTotal));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/category/{categoryId}/keyset")
+    @Operation(summary = "Get products by category by cursor", description = "Returns products of a category ordered by name, one keyset page at a time")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products found"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    public ResponseEntity<CursorPage<Product>> getProductsByCategoryByCursor(
+            @Parameter(description = "Category ID", required = true) @PathVariable Long categoryId,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(productService.findProductsByCategoryAfter(categoryId, cursor, size));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/price-range")
-    @Operation(summary = "Get products by price range", description = "Returns a paginated list of products within a price range")
+    @Operation(summary = "Get products by price range", description = "Returns a paginated list of products within a price range, cheapest first unless another sort is given")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Products found"),
         @ApiResponse(responseCode = "400", description = "Invalid price range")
@@ -89,7 +172,7 @@ public class ProductController {
     public ResponseEntity<Page<Product>> getProductsByPriceRange(
             @Parameter(description = "Minimum price", required = true) @RequestParam BigDecimal minPrice,
             @Parameter(description = "Maximum price", required = true) @RequestParam BigDecimal maxPrice,
-            @Parameter(description = "Pagination information") @PageableDefault(size = 20) Pageable pageable) {
+            @Parameter(description = "Pagination information") @PageableDefault(size = 20, sort = {"price", "id"}) Pageable pageable) {
         try {
             return ResponseEntity.ok(productService.findProductsByPriceRange(minPrice, maxPrice, pageable));
         } catch (IllegalArgumentException e) {
@@ -97,12 +180,87 @@ public class ProductController {
         }
     }
 
+    @GetMapping("/price-range/slice")
+    @Operation(summary = "Get products by price range as a slice", description = "Returns a page of products within a price range ordered by price without counting all matches")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products found"),
+        @ApiResponse(responseCode = "400", description = "Invalid price range")
+    })
+    public ResponseEntity<ResultSlice<Product>> getProductsByPriceRangeSlice(
+            @Parameter(description = "Minimum price", required = true) @RequestParam BigDecimal minPrice,
+            @Parameter(description = "Maximum price", required = true) @RequestParam BigDecimal maxPrice,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also run the count query and return totalElements") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(productService.findProductsByPriceRangeSlice(minPrice, maxPrice, page, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/price-range/keyset")
+    @Operation(summary = "Get products by price range by cursor", description = "Returns products within a price range ordered by price, one keyset page at a time")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Products found"),
+        @ApiResponse(responseCode = "400", description = "Invalid price range or cursor")
+    })
+    public ResponseEntity<CursorPage<Product>> getProductsByPriceRangeByCursor(
+            @Parameter(description = "Minimum price", required = true) @RequestParam BigDecimal minPrice,
+            @Parameter(description = "Maximum price", required = true) @RequestParam BigDecimal maxPrice,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(productService.findProductsByPriceRangeAfter(minPrice, maxPrice, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/search")
-    @Operation(summary = "Search products", description = "Returns a paginated list of products containing the search keyword")
+    @Operation(summary = "Search products", description = "Returns a paginated list of products matching the search keywords "
+            + "in name, description or SKU, best matches first")
     public ResponseEntity<Page<Product>> searchProducts(
+            @Parameter(description = "Search keywords", required = true) @RequestParam String keyword,
+            @Parameter(description = "Pagination information (sort is ignored, results are ranked)") @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(productService.searchProducts(keyword, pageable));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete product names and SKUs", description = "Returns product names and SKUs starting with the prefix, shortest first")
+    public ResponseEntity<List<ProductSuggestion>> autocompleteProducts(
+            @Parameter(description = "Typed prefix", required = true) @RequestParam String prefix,
+            @Parameter(description = "Maximum number of completions (max 10)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.autocompleteProducts(prefix, limit));
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Filter products by facets", description = "Returns products in any of the given categories and price ranges, by id, with the product count of every category and price range")
+    public ResponseEntity<ProductFacets> getProductFacets(
+            @Parameter(description = "Category IDs to include (repeatable), all when omitted") @RequestParam(required = false) List<Long> categoryId,
+            @Parameter(description = "Price range indexes to include (repeatable), all when omitted") @RequestParam(required = false) List<Integer> priceRange,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productService.findProductFacets(categoryId, priceRange, page, size));
+    }
+
+    @GetMapping("/search/slice")
+    @Operation(summary = "Search products as a slice", description = "Returns a page of products containing the search keyword ordered by name without counting all matches")
+    public ResponseEntity<ResultSlice<Product>> searchProductsSlice(
             @Parameter(description = "Search keyword", required = true) @RequestParam String keyword,
-            @Parameter(description = "Pagination information") @PageableDefault(size = 20) Pageable pageable) {
-        return ResponseEntity.ok(productService.findProductsByNameContaining(keyword, pageable));
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also run the count query and return totalElements") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(productService.findProductsByNameContainingSlice(keyword, page, size, includeTotal));
+    }
+
+    @GetMapping("/search/keyset")
+    @Operation(summary = "Search products by cursor", description = "Returns products containing the search keyword ordered by name, one keyset page at a time")
+    public ResponseEntity<CursorPage<Product>> searchProductsByCursor(
+            @Parameter(description = "Search keyword", required = true) @RequestParam String keyword,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productService.findProductsByNameContainingAfter(keyword, cursor, size));
     }
 
     @PostMapping
@@ -120,6 +278,19 @@ public class ProductController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import products in bulk",
+            description = "Streams products from CSV (header row with name, description, price, sku, categoryId or category) or NDJSON, "
+                    + "inserts them in batched chunks and streams one line per rejected row, one per committed chunk and a final total")
+    public ResponseEntity<StreamingResponseBody> importProducts(HttpServletRequest request) throws IOException {
+        ProductImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? ProductImportService.Format.NDJSON
+                : ProductImportService.Format.CSV;
+        InputStream products = request.getInputStream();
+        StreamingResponseBody results = output -> productImportService.importProducts(products, format, output);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(results);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a product", description = "Updates an existing product")
     @ApiResponses({
@@ -1,7 +1,10 @@
 package app.quantun.springaimcp.controller;
 
+import app.quantun.springaimcp.model.contract.response.CursorPage;
+import app.quantun.springaimcp.model.contract.response.ResultSlice;
 import app.quantun.springaimcp.model.entity.Role;
 import app.quantun.springaimcp.model.entity.User;
+import app.quantun.springaimcp.service.ExportService;
 import app.quantun.springaimcp.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,8 +17,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.NoSuchElementException;
 
@@ -26,6 +31,7 @@ import java.util.NoSuchElementException;
 public class UserController {
 
     private final UserService userService;
+    private final ExportService exportService;
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Returns a paginated list of users")
@@ -34,6 +40,21 @@ public class UserController {
         return ResponseEntity.ok(userService.findAllUsers(pageable));
     }
 
+    @GetMapping("/keyset")
+    @Operation(summary = "Get all users by cursor", description = "Returns users ordered by username, one keyset page at a time")
+    public ResponseEntity<CursorPage<User>> getAllUsersByCursor(
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.findAllUsersAfter(cursor, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all users", description = "Streams every user, without the password hash, as one NDJSON line, in id order, through a forward-only cursor")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody users = exportService::exportUsers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(users);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Returns a user by their ID")
     @ApiResponses({
@@ -87,6 +108,25 @@ public class UserController {
         return ResponseEntity.ok(userService.findUsersByRole(role, pageable));
     }
 
+    @GetMapping("/role/{role}/slice")
+    @Operation(summary = "Get users by role as a slice", description = "Returns a page of users with the specified role ordered by username without counting all matches")
+    public ResponseEntity<ResultSlice<User>> getUsersByRoleSlice(
+            @Parameter(description = "User role", required = true) @PathVariable Role role,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also run the count query and return totalElements") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(userService.findUsersByRoleSlice(role, page, size, includeTotal));
+    }
+
+    @GetMapping("/role/{role}/keyset")
+    @Operation(summary = "Get users by role by cursor", description = "Returns users with the specified role ordered by username, one keyset page at a time")
+    public ResponseEntity<CursorPage<User>> getUsersByRoleByCursor(
+            @Parameter(description = "User role", required = true) @PathVariable Role role,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.findUsersByRoleAfter(role, cursor, size));
+    }
+
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Creates a new user account")
     @ApiResponses({
@@ -0,0 +1,15 @@
+package app.quantun.springaimcp.event;
+
+/**
+ * Published when the agent finishes answering one question (or sub-question),
+ * with the model and tool usage it took.
+ */
+public record AgentInteractionCompletedEvent(
+        String question,
+        int modelTurns,
+        int toolCalls,
+        long promptTokens,
+        long completionTokens,
+        long durationNanos,
+        boolean answered) {
+}
@@ -0,0 +1,7 @@
+package app.quantun.springaimcp.event;
+
+/**
+ * Published when a job is added to the agent job queue.
+ */
+public record AgentJobSubmittedEvent(Long jobId) {
+}
@@ -0,0 +1,8 @@
+package app.quantun.springaimcp.event;
+
+/**
+ * Published when a category is created, updated or deleted. The in-memory category snapshot
+ * is reloaded once the publishing transaction has committed.
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,14 @@
+package app.quantun.springaimcp.event;
+
+import app.quantun.springaimcp.model.entity.Product;
+
+/**
+ * Published when a product is created, updated or deleted; {@code product} is {@code null} after a delete.
+ * In-memory product indexes apply it once the publishing transaction has committed.
+ */
+public record ProductChangedEvent(Long productId, Product product) {
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
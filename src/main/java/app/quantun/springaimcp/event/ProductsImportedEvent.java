@@ -0,0 +1,8 @@
+package app.quantun.springaimcp.event;
+
+/**
+ * Published once a bulk import has committed its last chunk. Imported rows bypass
+ * {@link ProductChangedEvent}, so the in-memory product indexes are rebuilt from the table in the background instead.
+ */
+public record ProductsImportedEvent(long imported) {
+}
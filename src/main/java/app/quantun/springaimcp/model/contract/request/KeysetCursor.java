@@ -0,0 +1,70 @@
+package app.quantun.springaimcp.model.contract.request;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and id of the last row of a page.
+ * <p>
+ * Clients only see it as an opaque URL-safe token. The token also carries the listing's
+ * sort order, so a cursor of one ordering is rejected by another instead of silently
+ * skipping rows.
+ *
+ * @param sort sort order the cursor was issued for, e.g. {@code name} or {@code price}
+ * @param key  sort key of the last row
+ * @param id   id of the last row, the tie-breaker for equal sort keys
+ */
+public record KeysetCursor(String sort, String key, long id) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = sort + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token issued for the given sort order.
+     *
+     * @return the cursor, or {@code null} for an empty token (first page)
+     * @throws IllegalArgumentException if the token is malformed or belongs to another sort order
+     */
+    public static KeysetCursor decode(String token, String expectedSort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        KeysetCursor cursor = parse(token.strip());
+        if (cursor == null) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        if (!cursor.sort().equals(expectedSort)) {
+            throw new IllegalArgumentException("Cursor was issued for sort order '" + cursor.sort() + "', expected '" + expectedSort + "'");
+        }
+        return cursor;
+    }
+
+    private static KeysetCursor parse(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) {
+                return null;
+            }
+            return new KeysetCursor(raw.substring(0, first), raw.substring(second + 1),
+                    Long.parseLong(raw.substring(first + 1, second)));
+        } catch (IllegalArgumentException e) {
+            // bad Base64 or id
+            return null;
+        }
+    }
+
+    public BigDecimal decimalKey() {
+        try {
+            return new BigDecimal(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor key: " + key, e);
+        }
+    }
+}
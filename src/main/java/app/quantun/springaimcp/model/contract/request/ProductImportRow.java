@@ -0,0 +1,13 @@
+package app.quantun.springaimcp.model.contract.request;
+
+import java.math.BigDecimal;
+
+/**
+ * One product of a bulk import, from an NDJSON line or a CSV record with the same column names.
+ *
+ * @param categoryId id of the product's category; takes precedence over {@code category}
+ * @param category   name of the product's category, used when no id is given
+ */
+public record ProductImportRow(String name, String description, BigDecimal price, String sku,
+                               Long categoryId, String category) {
+}
@@ -1,8 +1,17 @@
 package app.quantun.springaimcp.model.contract.request;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 @Data
 public class Question {
     private String text;
+
+    /**
+     * Identifier of the conversation this question belongs to. When omitted a new
+     * conversation is started and its id is returned in the {@code Answer}.
+     * It is write-only so it never ends up in the rendered prompt.
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String conversationId;
 }
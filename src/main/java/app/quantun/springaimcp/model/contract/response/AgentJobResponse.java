@@ -0,0 +1,27 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import app.quantun.springaimcp.model.entity.AgentJobStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AgentJobResponse {
+    private Long id;
+
+    private AgentJobStatus status;
+
+    private int priority;
+
+    private int attempts;
+
+    private Answer answer;
+
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -1,5 +1,7 @@
 package app.quantun.springaimcp.model.contract.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import jakarta.json.Json;
 import jakarta.json.JsonArray;
@@ -17,4 +19,18 @@ public class Answer {
     private String text;
 
     private List<Map<String, Object>>  source;
+
+    /**
+     * Conversation the answer belongs to; set by the agent, never produced by the model.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String conversationId;
+
+    /**
+     * Sub-questions of a planned question that could not be answered and are missing from {@link #text};
+     * set by the agent, never produced by the model.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> failedQuestions;
 }
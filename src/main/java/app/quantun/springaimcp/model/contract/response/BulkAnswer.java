@@ -0,0 +1,22 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a bulk NDJSON response: the answer to the question on input line {@code index}
+ * (zero-based, blank lines not counted), or the error that prevented answering it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkAnswer {
+    private long index;
+
+    private Answer answer;
+
+    private String error;
+}
@@ -0,0 +1,54 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import app.quantun.springaimcp.model.contract.request.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ * <p>
+ * Pass {@code nextCursor} back to fetch the following page; it is {@code null} on the last page.
+ * There is no total count: a page is read by seeking past the previous one, never by counting or
+ * skipping rows, so every page costs the same at any depth.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    /**
+     * Clamps a requested page size to {@code 1..MAX_SIZE}, {@code DEFAULT_SIZE} when absent.
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    /**
+     * Builds a page from up to {@code pageSize + 1} rows; the extra row only signals that a next page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, rows.size(), false, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new CursorPage<>(List.copyOf(content), pageSize, true, cursorOf.apply(content.get(pageSize - 1)).encode());
+    }
+}
@@ -0,0 +1,34 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import app.quantun.springaimcp.model.entity.Product;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One page of products matching a category and price-range filter, with the facet counts of that filter.
+ * <p>
+ * Facet counts are disjunctive: a category's count applies the price-range filter but not the category
+ * filter, and a price range's count applies the category filter but not the price-range filter. They are
+ * the totals a client would get by adding that one value to its current selection.
+ *
+ * @param content       the matching products of the requested page, by id
+ * @param page          zero-based page number
+ * @param size          page size
+ * @param totalElements number of matching products
+ * @param categories    product count per category, by category id
+ * @param priceRanges   product count per price range; {@code index} is the value to filter by
+ */
+public record ProductFacets(List<Product> content, int page, int size, long totalElements,
+                            List<CategoryCount> categories, List<PriceRangeCount> priceRanges) {
+
+    public record CategoryCount(Long categoryId, long count) {
+    }
+
+    /**
+     * @param from lower bound, inclusive
+     * @param to   upper bound, exclusive; {@code null} for the last range
+     */
+    public record PriceRangeCount(int index, BigDecimal from, BigDecimal to, long count) {
+    }
+}
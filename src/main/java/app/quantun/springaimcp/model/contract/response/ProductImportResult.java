@@ -0,0 +1,26 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of a bulk import's NDJSON response: a rejected row ({@code error}), the running totals
+ * after a committed chunk ({@code progress}) or the final totals ({@code done}).
+ *
+ * @param line input line the rejected row starts on (one-based, the CSV header included)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductImportResult(String status, Long line, String sku, String error,
+                                  Long rows, Long imported, Long failed, Long elapsedMs) {
+
+    public static ProductImportResult error(long line, String sku, String error) {
+        return new ProductImportResult("error", line, sku, error, null, null, null, null);
+    }
+
+    public static ProductImportResult progress(long rows, long imported, long failed, long elapsedMs) {
+        return new ProductImportResult("progress", null, null, null, rows, imported, failed, elapsedMs);
+    }
+
+    public static ProductImportResult done(long rows, long imported, long failed, long elapsedMs) {
+        return new ProductImportResult("done", null, null, null, rows, imported, failed, elapsedMs);
+    }
+}
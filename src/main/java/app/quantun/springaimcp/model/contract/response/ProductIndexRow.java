@@ -0,0 +1,19 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import app.quantun.springaimcp.model.entity.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns the in-memory product indexes are built from, selected column by column so a rebuild
+ * neither loads entities nor joins the category.
+ */
+public record ProductIndexRow(Long id, String name, String description, String sku, Long categoryId, BigDecimal price) {
+
+    public static ProductIndexRow of(Product product) {
+        // the id of a lazy category proxy is read without loading the category
+        Long categoryId = product.getCategory() == null ? null : product.getCategory().getId();
+        return new ProductIndexRow(product.getId(), product.getName(), product.getDescription(), product.getSku(),
+                categoryId, product.getPrice());
+    }
+}
@@ -0,0 +1,11 @@
+package app.quantun.springaimcp.model.contract.response;
+
+/**
+ * One autocomplete completion: a product name or SKU starting with the typed prefix.
+ *
+ * @param text      the completed name or SKU, as stored
+ * @param field     {@code name} or {@code sku}
+ * @param productId the product it belongs to
+ */
+public record ProductSuggestion(String text, String field, Long productId) {
+}
@@ -0,0 +1,17 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only listing row of a product, selected column by column instead of loading the entity.
+ * {@code categoryName} is only set when the listing was asked to include it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductSummary(Long id, String name, String sku, BigDecimal price, Long categoryId, String categoryName) {
+
+    public ProductSummary(Long id, String name, String sku, BigDecimal price, Long categoryId) {
+        this(id, name, sku, price, categoryId, null);
+    }
+}
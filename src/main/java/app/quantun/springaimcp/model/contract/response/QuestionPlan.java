@@ -0,0 +1,14 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decomposition of a compound question into sub-questions that can be answered independently.
+ */
+@Data
+public class QuestionPlan {
+    private List<String> subQuestions = new ArrayList<>();
+}
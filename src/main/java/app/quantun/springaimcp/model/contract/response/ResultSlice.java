@@ -0,0 +1,47 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * One page of an offset-paginated listing that only knows whether a next page exists.
+ * <p>
+ * It is read as a {@link Slice} ({@code size + 1} rows, no {@code COUNT(*)}). {@code totalElements}
+ * is only set when the caller opted into an exact total, which runs the count query as well.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultSlice<T> {
+
+    private List<T> content;
+
+    private int page;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private Long totalElements;
+
+    /**
+     * Page request for a zero-based page number, with the size clamped like {@link CursorPage#pageSize(Integer)}.
+     */
+    public static PageRequest pageRequest(Integer page, Integer size, Sort sort) {
+        return PageRequest.of(page == null || page < 0 ? 0 : page, CursorPage.pageSize(size), sort);
+    }
+
+    public static <T> ResultSlice<T> of(Slice<T> slice) {
+        Long total = slice instanceof Page<T> page ? page.getTotalElements() : null;
+        return new ResultSlice<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), total);
+    }
+}
@@ -0,0 +1,13 @@
+package app.quantun.springaimcp.model.contract.response;
+
+import app.quantun.springaimcp.model.entity.Role;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exported user: the fields of {@code User} except the password hash, roles in name order.
+ */
+public record UserExport(Long id, String username, String email, List<Role> roles,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,72 @@
+package app.quantun.springaimcp.model.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A question queued for asynchronous processing by the agent workers.
+ * Higher {@code priority} values are processed first; jobs with the same priority in submission order.
+ */
+@Entity
+@Table(name = "agent_jobs", indexes = @Index(name = "idx_agent_jobs_queue", columnList = "status, priority, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Question is required")
+    @Lob
+    @Column(name = "question_text", nullable = false)
+    private String questionText;
+
+    @Column(name = "conversation_id")
+    private String conversationId;
+
+    @Column(nullable = false)
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AgentJobStatus status = AgentJobStatus.QUEUED;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Lob
+    @Column(name = "answer_json")
+    private String answerJson;
+
+    @Lob
+    private String error;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package app.quantun.springaimcp.model.entity;
+
+public enum AgentJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -14,12 +14,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // keyset pagination seeks on (sort key, id)
+        @Index(name = "idx_products_name_id", columnList = "name, id"),
+        @Index(name = "idx_products_category_name_id", columnList = "category_id, name, id"),
+        @Index(name = "idx_products_price_id", columnList = "price, id")
+})
+@NamedEntityGraph(name = Product.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
+    /** entity graph that fetches the category in the same query, for listings that serialize it */
+    public static final String WITH_CATEGORY = "Product.category";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,50 @@
+package app.quantun.springaimcp.repository;
+
+import app.quantun.springaimcp.model.entity.AgentJob;
+import app.quantun.springaimcp.model.entity.AgentJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AgentJobRepository extends CrudRepository<AgentJob, Long> {
+
+    @Query("SELECT j.id FROM AgentJob j WHERE j.status = :status AND j.availableAt <= :now AND j.attempts < j.maxAttempts " +
+            "ORDER BY j.priority DESC, j.id ASC")
+    List<Long> findReadyJobIds(AgentJobStatus status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Atomically moves a queued job to {@code RUNNING}; returns 0 when another worker claimed it first
+     * or the job has no attempts left.
+     */
+    @Modifying
+    @Query("UPDATE AgentJob j SET j.status = app.quantun.springaimcp.model.entity.AgentJobStatus.RUNNING, " +
+            "j.attempts = j.attempts + 1, j.startedAt = :now " +
+            "WHERE j.id = :id AND j.status = app.quantun.springaimcp.model.entity.AgentJobStatus.QUEUED " +
+            "AND j.attempts < j.maxAttempts")
+    int claim(Long id, LocalDateTime now);
+
+    /**
+     * Re-queues {@code RUNNING} jobs that still have attempts left.
+     */
+    @Modifying
+    @Query("UPDATE AgentJob j SET j.status = app.quantun.springaimcp.model.entity.AgentJobStatus.QUEUED " +
+            "WHERE j.status = app.quantun.springaimcp.model.entity.AgentJobStatus.RUNNING AND j.attempts < j.maxAttempts")
+    int requeueRunningJobs();
+
+    /**
+     * Fails {@code RUNNING} jobs that used their last attempt, e.g. because they crashed the JVM every time.
+     */
+    @Modifying
+    @Query("UPDATE AgentJob j SET j.status = app.quantun.springaimcp.model.entity.AgentJobStatus.FAILED, " +
+            "j.error = :error, j.finishedAt = :now " +
+            "WHERE j.status = app.quantun.springaimcp.model.entity.AgentJobStatus.RUNNING AND j.attempts >= j.maxAttempts")
+    int failExhaustedRunningJobs(String error, LocalDateTime now);
+
+    long countByStatus(AgentJobStatus status);
+}
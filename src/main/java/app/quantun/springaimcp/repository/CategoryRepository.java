@@ -1,15 +1,19 @@
 package app.quantun.springaimcp.repository;
 
 import app.quantun.springaimcp.model.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CategoryRepository extends CrudRepository<Category, Long>, PagingAndSortingRepository<Category, Long> {
@@ -25,4 +29,12 @@ public interface CategoryRepository extends CrudRepository<Category, Long>, Pagi
     List<Category> findAll();
 
     Page<Category> findAll(Pageable pageable);
+
+    // Export cursor, see ProductRepository.streamAll()
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Category c ORDER BY c.id")
+    Stream<Category> streamAll();
 } 
\ No newline at end of file
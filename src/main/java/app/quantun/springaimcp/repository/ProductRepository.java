@@ -1,44 +1,168 @@
 package app.quantun.springaimcp.repository;
 
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.contract.response.ProductSummary;
 import app.quantun.springaimcp.model.entity.Category;
 import app.quantun.springaimcp.model.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends CrudRepository<Product, Long>, PagingAndSortingRepository<Product, Long> {
 
+    // Multi-row finders fetch the category with the product (Product.WITH_CATEGORY), so serializing a page
+    // does not load categories one by one
+
+    @EntityGraph(Product.WITH_CATEGORY)
     List<Product> findByCategory(Category category);
 
+    @EntityGraph(Product.WITH_CATEGORY)
     Page<Product> findByCategory(Category category, Pageable pageable);
 
+    @EntityGraph(Product.WITH_CATEGORY)
     List<Product> findByCategoryId(Long categoryId);
 
+    @EntityGraph(Product.WITH_CATEGORY)
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 
+    @EntityGraph(Product.WITH_CATEGORY)
     List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
 
+    @EntityGraph(Product.WITH_CATEGORY)
     Page<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
     Optional<Product> findBySku(String sku);
 
+    /** the given SKUs that are already taken, one query per bulk import chunk */
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    List<String> findExistingSkus(Collection<String> skus);
+
+    // Single-product reads for ProductCache: the category is fetched so cached products are complete once detached
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id = :id")
+    Optional<Product> findWithCategoryById(Long id);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.sku = :sku")
+    Optional<Product> findWithCategoryBySku(String sku);
+
+    @EntityGraph(Product.WITH_CATEGORY)
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Product> findByNameContainingIgnoreCase(String keyword);
 
+    @EntityGraph(Product.WITH_CATEGORY)
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Product> findByNameContainingIgnoreCase(String keyword, Pageable pageable);
 
+    // Slices read size + 1 rows to detect a next page instead of running a COUNT(*)
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    Slice<Product> findAllBy(Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    Slice<Product> findSliceByCategoryId(Long categoryId, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    Slice<Product> findSliceByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Slice<Product> findSliceByNameContainingIgnoreCase(String keyword, Pageable pageable);
+
+    // Count queries of the paged listings, run concurrently with the content by PageQueryExecutor
+
+    long countByCategoryId(Long categoryId);
+
+    long countByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    long countByNameContainingIgnoreCase(String keyword);
+
+    // Keyset pagination: rows after (sort key, id) of the previous page, pageable only limits the row count
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    List<Product> findByOrderByNameAscIdAsc(Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @Query("SELECT p FROM Product p WHERE p.name > :name OR (p.name = :name AND p.id > :id) ORDER BY p.name, p.id")
+    List<Product> findAllAfter(String name, Long id, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    List<Product> findByCategoryIdOrderByNameAscIdAsc(Long categoryId, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId "
+            + "AND (p.name > :name OR (p.name = :name AND p.id > :id)) ORDER BY p.name, p.id")
+    List<Product> findByCategoryIdAfter(Long categoryId, String name, Long id, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    List<Product> findByPriceBetweenOrderByPriceAscIdAsc(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice "
+            + "AND (p.price > :price OR (p.price = :price AND p.id > :id)) ORDER BY p.price, p.id")
+    List<Product> findByPriceBetweenAfter(BigDecimal minPrice, BigDecimal maxPrice, BigDecimal price, Long id, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY p.name, p.id")
+    List<Product> findByNameContainingIgnoreCaseOrderByNameAscIdAsc(String keyword, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "AND (p.name > :name OR (p.name = :name AND p.id > :id)) ORDER BY p.name, p.id")
+    List<Product> findByNameContainingIgnoreCaseAfter(String keyword, String name, Long id, Pageable pageable);
+
+    @EntityGraph(Product.WITH_CATEGORY)
     List<Product> findAll();
 
+    @EntityGraph(Product.WITH_CATEGORY)
+    List<Product> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(Product.WITH_CATEGORY)
     Page<Product> findAll(Pageable pageable);
 
+    // Read-only listing projections: one query per page, with or without the category join
+
+    @Query(value = "SELECT new app.quantun.springaimcp.model.contract.response.ProductSummary("
+            + "p.id, p.name, p.sku, p.price, c.id, c.name) FROM Product p LEFT JOIN p.category c",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductSummary> findSummariesWithCategory(Pageable pageable);
+
+    @Query(value = "SELECT new app.quantun.springaimcp.model.contract.response.ProductSummary("
+            + "p.id, p.name, p.sku, p.price, p.category.id) FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductSummary> findSummaries(Pageable pageable);
+
+    // Index rebuilds: the next rows after an id, without entities or the category join
+
+    @Query("SELECT new app.quantun.springaimcp.model.contract.response.ProductIndexRow("
+            + "p.id, p.name, p.description, p.sku, p.category.id, p.price) FROM Product p WHERE p.id > :id ORDER BY p.id")
+    List<ProductIndexRow> findIndexRowsAfter(Long id, Pageable pageable);
+
+    // Export cursor: rows in id order, fetched 1000 per round trip as read-only entities without
+    // dirty-checking snapshots. The caller must hold a transaction and close the stream
+
+    @EntityGraph(Product.WITH_CATEGORY)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
     <S extends Product> S save(S entity);
 } 
\ No newline at end of file
@@ -4,6 +4,7 @@ import app.quantun.springaimcp.model.entity.Role;
 import app.quantun.springaimcp.model.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
@@ -29,6 +30,27 @@ public interface UserRepository extends CrudRepository<User, Long>, PagingAndSor
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role")
     Page<User> findByRole(Role role, Pageable pageable);
 
+    // Slice reads size + 1 rows to detect a next page instead of running a COUNT(*)
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role")
+    Slice<User> findSliceByRole(Role role, Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r = :role")
+    long countByRole(Role role);
+
+    // Keyset pagination: rows after (username, id) of the previous page, pageable only limits the row count
+
+    List<User> findByOrderByUsernameAscIdAsc(Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.username > :username OR (u.username = :username AND u.id > :id) ORDER BY u.username, u.id")
+    List<User> findAllAfter(String username, Long id, Pageable pageable);
+
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role ORDER BY u.username, u.id")
+    List<User> findByRoleOrderByUsernameAscIdAsc(Role role, Pageable pageable);
+
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role "
+            + "AND (u.username > :username OR (u.username = :username AND u.id > :id)) ORDER BY u.username, u.id")
+    List<User> findByRoleAfter(Role role, String username, Long id, Pageable pageable);
+
     List<User> findAll();
 
     Page<User> findAll(Pageable pageable);
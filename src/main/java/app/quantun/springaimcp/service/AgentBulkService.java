@@ -0,0 +1,16 @@
+package app.quantun.springaimcp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface AgentBulkService {
+
+    /**
+     * Reads {@code Question}s as NDJSON from {@code input} and writes one {@code BulkAnswer}
+     * per question as NDJSON to {@code output}, answering a bounded number of questions at a time.
+     *
+     * @param ordered when true answers are written in input order, otherwise as soon as they finish
+     */
+    void answerAll(InputStream input, OutputStream output, boolean ordered) throws IOException;
+}
@@ -0,0 +1,32 @@
+package app.quantun.springaimcp.service;
+
+import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.model.contract.response.AgentJobResponse;
+import app.quantun.springaimcp.model.contract.response.Answer;
+import app.quantun.springaimcp.model.entity.AgentJob;
+
+import java.util.Optional;
+
+public interface AgentJobService {
+
+    AgentJobResponse submitJob(Question question, int priority);
+
+    AgentJobResponse findJobById(Long id);
+
+    /**
+     * Claims the highest-priority job that is ready to run, if any.
+     */
+    Optional<AgentJob> claimNextJob();
+
+    void completeJob(Long id, Answer answer);
+
+    /**
+     * Records a failed attempt; the job is re-queued with a backoff until it runs out of attempts.
+     */
+    void failJob(Long id, String error);
+
+    /**
+     * Re-queues jobs left {@code RUNNING} by a previous shutdown; those without attempts left are failed instead.
+     */
+    int recoverInterruptedJobs();
+}
@@ -7,4 +7,6 @@ public interface AgentService {
 
 
     Answer getAnswer(Question question);
+
+    void endConversation(String conversationId);
 }
@@ -1,5 +1,6 @@
 package app.quantun.springaimcp.service;
 
+import app.quantun.springaimcp.model.contract.response.CursorPage;
 import app.quantun.springaimcp.model.entity.Category;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.data.domain.Page;
@@ -20,6 +21,10 @@ public interface CategoryService {
 
     Page<Category> findCategoriesByNameContaining(String keyword, Pageable pageable);
 
+    CursorPage<Category> findAllCategoriesAfter(String cursor, Integer size);
+
+    CursorPage<Category> findCategoriesByNameContainingAfter(String keyword, String cursor, Integer size);
+
     Category saveCategory(Category category);
 
     Category updateCategory(Long id, Category categoryDetails);
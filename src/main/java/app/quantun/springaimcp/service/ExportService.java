@@ -0,0 +1,22 @@
+package app.quantun.springaimcp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    /**
+     * Writes every product, with its category, as NDJSON to {@code output} in id order.
+     */
+    void exportProducts(OutputStream output) throws IOException;
+
+    /**
+     * Writes every category as NDJSON to {@code output} in id order.
+     */
+    void exportCategories(OutputStream output) throws IOException;
+
+    /**
+     * Writes every user as a {@code UserExport} NDJSON line to {@code output} in id order.
+     */
+    void exportUsers(OutputStream output) throws IOException;
+}
@@ -0,0 +1,17 @@
+package app.quantun.springaimcp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ProductImportService {
+
+    enum Format { CSV, NDJSON }
+
+    /**
+     * Reads {@code ProductImportRow}s in {@code format} from {@code input} and inserts them in
+     * chunks, each committed on its own. Writes {@code ProductImportResult}s as NDJSON to
+     * {@code output}: one per rejected row, one after every committed chunk and a final one.
+     */
+    void importProducts(InputStream input, Format format, OutputStream output) throws IOException;
+}
@@ -1,15 +1,23 @@
 package app.quantun.springaimcp.service;
 
+import app.quantun.springaimcp.model.contract.response.CursorPage;
+import app.quantun.springaimcp.model.contract.response.ProductFacets;
+import app.quantun.springaimcp.model.contract.response.ProductSuggestion;
+import app.quantun.springaimcp.model.contract.response.ProductSummary;
+import app.quantun.springaimcp.model.contract.response.ResultSlice;
 import app.quantun.springaimcp.model.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface ProductService {
 
     Page<Product> findAllProducts(Pageable pageable);
 
+    Page<ProductSummary> findProductSummaries(boolean includeCategory, Pageable pageable);
+
     Product findProductById(Long id);
 
     Product findProductBySku(String sku);
@@ -20,6 +28,30 @@ public interface ProductService {
 
     Page<Product> findProductsByNameContaining(String keyword, Pageable pageable);
 
+    Page<Product> searchProducts(String query, Pageable pageable);
+
+    ResultSlice<Product> searchProducts(String query, Integer page, Integer size);
+
+    List<ProductSuggestion> autocompleteProducts(String prefix, Integer limit);
+
+    ProductFacets findProductFacets(List<Long> categoryIds, List<Integer> priceRanges, Integer page, Integer size);
+
+    ResultSlice<Product> findAllProductsSlice(Integer page, Integer size, Boolean includeTotal);
+
+    ResultSlice<Product> findProductsByCategorySlice(Long categoryId, Integer page, Integer size, Boolean includeTotal);
+
+    ResultSlice<Product> findProductsByPriceRangeSlice(BigDecimal minPrice, BigDecimal maxPrice, Integer page, Integer size, Boolean includeTotal);
+
+    ResultSlice<Product> findProductsByNameContainingSlice(String keyword, Integer page, Integer size, Boolean includeTotal);
+
+    CursorPage<Product> findAllProductsAfter(String cursor, Integer size);
+
+    CursorPage<Product> findProductsByCategoryAfter(Long categoryId, String cursor, Integer size);
+
+    CursorPage<Product> findProductsByPriceRangeAfter(BigDecimal minPrice, BigDecimal maxPrice, String cursor, Integer size);
+
+    CursorPage<Product> findProductsByNameContainingAfter(String keyword, String cursor, Integer size);
+
     Product saveProduct(Product product);
 
     Product updateProduct(Long id, Product productDetails);
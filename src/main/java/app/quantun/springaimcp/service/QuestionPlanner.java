@@ -0,0 +1,15 @@
+package app.quantun.springaimcp.service;
+
+import java.util.List;
+
+public interface QuestionPlanner {
+
+    /**
+     * Splits a question into independent sub-questions.
+     *
+     * @param question the question text
+     * @return the sub-questions, or a single-element list with the original question
+     *         when it cannot (or need not) be split
+     */
+    List<String> decompose(String question);
+}
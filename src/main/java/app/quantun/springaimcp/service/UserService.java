@@ -1,5 +1,7 @@
 package app.quantun.springaimcp.service;
 
+import app.quantun.springaimcp.model.contract.response.CursorPage;
+import app.quantun.springaimcp.model.contract.response.ResultSlice;
 import app.quantun.springaimcp.model.entity.Role;
 import app.quantun.springaimcp.model.entity.User;
 import org.springframework.ai.tool.annotation.Tool;
@@ -19,6 +21,12 @@ public interface UserService {
 
     Page<User> findUsersByRole(Role role, Pageable pageable);
 
+    ResultSlice<User> findUsersByRoleSlice(Role role, Integer page, Integer size, Boolean includeTotal);
+
+    CursorPage<User> findAllUsersAfter(String cursor, Integer size);
+
+    CursorPage<User> findUsersByRoleAfter(Role role, String cursor, Integer size);
+
 
 
 
@@ -31,7 +39,7 @@ public interface UserService {
     User removeRoleFromUser(Long userId, Role role);
 
 
-    @Tool(description = "Check if a user exists by ID")
+    @Tool(name = "userExistsById", description = "Check if a user exists by ID")
     boolean existsById(@ToolParam(description = "ID of the user to check") Long id);
 
     @Tool(description = "Check if an email is already registered")
@@ -0,0 +1,151 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.model.contract.response.BulkAnswer;
+import app.quantun.springaimcp.service.AgentBulkService;
+import app.quantun.springaimcp.service.AgentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams NDJSON questions through the agent with bounded parallelism.
+ * <p>
+ * A question holds one permit from the moment it is read until its answer line is written.
+ * The reader blocks once {@code agent.bulk.parallelism} permits are taken, so neither the
+ * unread input nor the unwritten output (including answers waiting for their turn in
+ * ordered mode) ever exceeds that many questions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AgentBulkServiceImpl implements AgentBulkService {
+
+    private final AgentService agentService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${agent.bulk.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void startExecutor() {
+        this.executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("agent-bulk-"));
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        this.executor.shutdownNow();
+    }
+
+    @Override
+    public void answerAll(InputStream input, OutputStream output, boolean ordered) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Semaphore permits = new Semaphore(parallelism);
+        NdjsonWriter writer = new NdjsonWriter(output, ordered, permits);
+        long index = 0;
+
+        try {
+            String line;
+            while (writer.getFailure() == null && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long current = index++;
+                String questionLine = line;
+                permits.acquire();
+                executor.execute(() -> writer.write(answer(current, questionLine)));
+            }
+            // wait until every answer has been written
+            permits.acquire(parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Bulk processing interrupted after " + index + " questions");
+        }
+
+        if (writer.getFailure() != null) {
+            throw writer.getFailure();
+        }
+        log.info("Bulk processing answered {} questions (ordered: {})", index, ordered);
+    }
+
+    private BulkAnswer answer(long index, String questionLine) {
+        try {
+            Question question = objectMapper.readValue(questionLine, Question.class);
+            return new BulkAnswer(index, agentService.getAnswer(question), null);
+        } catch (Exception e) {
+            log.warn("Bulk question {} failed: {}", index, e.getMessage());
+            return new BulkAnswer(index, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serializes answer lines to the response and releases one permit per line.
+     * After a write failure lines are dropped but permits are still released, so the reader never blocks forever.
+     */
+    private final class NdjsonWriter {
+
+        private final OutputStream output;
+        private final boolean ordered;
+        private final Semaphore permits;
+        private final Map<Long, BulkAnswer> pending = new HashMap<>();
+        private long nextIndex;
+        private IOException failure;
+
+        private NdjsonWriter(OutputStream output, boolean ordered, Semaphore permits) {
+            this.output = output;
+            this.ordered = ordered;
+            this.permits = permits;
+        }
+
+        private synchronized void write(BulkAnswer answer) {
+            if (!ordered) {
+                writeLine(answer);
+                return;
+            }
+            pending.put(answer.getIndex(), answer);
+            BulkAnswer ready;
+            while ((ready = pending.remove(nextIndex)) != null) {
+                writeLine(ready);
+                nextIndex++;
+            }
+        }
+
+        private void writeLine(BulkAnswer answer) {
+            try {
+                if (failure == null) {
+                    output.write(objectMapper.writeValueAsBytes(answer));
+                    output.write('\n');
+                    output.flush();
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                permits.release();
+            }
+        }
+
+        private synchronized IOException getFailure() {
+            return failure;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.AgentJobSubmittedEvent;
+import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.model.contract.response.AgentJobResponse;
+import app.quantun.springaimcp.model.contract.response.Answer;
+import app.quantun.springaimcp.model.entity.AgentJob;
+import app.quantun.springaimcp.model.entity.AgentJobStatus;
+import app.quantun.springaimcp.repository.AgentJobRepository;
+import app.quantun.springaimcp.service.AgentJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class AgentJobServiceImpl implements AgentJobService {
+
+    private static final int CLAIM_CANDIDATES = 5;
+
+    private final AgentJobRepository agentJobRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${agent.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${agent.jobs.retry-backoff-seconds:10}")
+    private long retryBackoffSeconds;
+
+    @Override
+    public AgentJobResponse submitJob(Question question, int priority) {
+        if (question == null || question.getText() == null || question.getText().isBlank()) {
+            throw new IllegalArgumentException("Question or its text cannot be null.");
+        }
+        AgentJob job = new AgentJob();
+        job.setQuestionText(question.getText());
+        job.setConversationId(question.getConversationId());
+        job.setPriority(priority);
+        job.setMaxAttempts(maxAttempts);
+        job.setAvailableAt(LocalDateTime.now());
+        AgentJob saved = agentJobRepository.save(job);
+        eventPublisher.publishEvent(new AgentJobSubmittedEvent(saved.getId()));
+        return toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AgentJobResponse findJobById(Long id) {
+        return agentJobRepository.findById(id)
+                .map(this::toResponse)
+                .orElseThrow(() -> new NoSuchElementException("Agent job not found with id: " + id));
+    }
+
+    @Override
+    public Optional<AgentJob> claimNextJob() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : agentJobRepository.findReadyJobIds(AgentJobStatus.QUEUED, now, PageRequest.of(0, CLAIM_CANDIDATES))) {
+            if (agentJobRepository.claim(id, now) == 1) {
+                return agentJobRepository.findById(id);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    @SneakyThrows
+    public void completeJob(Long id, Answer answer) {
+        AgentJob job = getJob(id);
+        job.setStatus(AgentJobStatus.SUCCEEDED);
+        job.setConversationId(answer.getConversationId());
+        job.setAnswerJson(objectMapper.writeValueAsString(answer));
+        job.setError(null);
+        job.setFinishedAt(LocalDateTime.now());
+    }
+
+    @Override
+    public void failJob(Long id, String error) {
+        AgentJob job = getJob(id);
+        job.setError(error);
+        if (job.getAttempts() < job.getMaxAttempts()) {
+            job.setStatus(AgentJobStatus.QUEUED);
+            job.setAvailableAt(LocalDateTime.now().plusSeconds(retryBackoffSeconds * job.getAttempts()));
+            log.warn("Agent job {} failed on attempt {}/{}, retrying: {}", id, job.getAttempts(), job.getMaxAttempts(), error);
+        } else {
+            job.setStatus(AgentJobStatus.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+            log.error("Agent job {} failed after {} attempts: {}", id, job.getAttempts(), error);
+        }
+    }
+
+    @Override
+    public int recoverInterruptedJobs() {
+        int failed = agentJobRepository.failExhaustedRunningJobs("Interrupted on its last attempt", LocalDateTime.now());
+        if (failed > 0) {
+            log.error("Failed {} agent jobs interrupted on their last attempt", failed);
+        }
+        return agentJobRepository.requeueRunningJobs();
+    }
+
+    private AgentJob getJob(Long id) {
+        return agentJobRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Agent job not found with id: " + id));
+    }
+
+    @SneakyThrows
+    private AgentJobResponse toResponse(AgentJob job) {
+        AgentJobResponse response = new AgentJobResponse();
+        response.setId(job.getId());
+        response.setStatus(job.getStatus());
+        response.setPriority(job.getPriority());
+        response.setAttempts(job.getAttempts());
+        response.setError(job.getError());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        if (job.getAnswerJson() != null) {
+            Answer answer = objectMapper.readValue(job.getAnswerJson(), Answer.class);
+            answer.setConversationId(job.getConversationId());
+            response.setAnswer(answer);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,128 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.AgentJobSubmittedEvent;
+import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.model.contract.response.Answer;
+import app.quantun.springaimcp.model.entity.AgentJob;
+import app.quantun.springaimcp.service.AgentJobService;
+import app.quantun.springaimcp.service.AgentService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed pool of workers that drain the persisted agent job queue.
+ * <p>
+ * Agent throughput is bounded by {@code agent.jobs.workers}, independently of how many
+ * HTTP requests submit jobs. Idle workers poll every {@code agent.jobs.poll-interval-ms}
+ * and are woken up immediately when a job is submitted. With {@code agent.jobs.workers=0} no
+ * worker starts and submitted jobs stay queued, as in tests.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AgentJobWorkerPool {
+
+    private final AgentJobService agentJobService;
+    private final AgentService agentService;
+
+    private final Object wakeUp = new Object();
+
+    @Value("${agent.jobs.workers:2}")
+    private int workers;
+
+    @Value("${agent.jobs.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (workers <= 0) {
+            log.info("Agent job workers disabled");
+            return;
+        }
+        int recovered = agentJobService.recoverInterruptedJobs();
+        if (recovered > 0) {
+            log.info("Re-queued {} agent jobs interrupted by the previous shutdown", recovered);
+        }
+        running = true;
+        executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("agent-job-worker-"));
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::workLoop);
+        }
+        log.info("Started {} agent job workers", workers);
+    }
+
+    /**
+     * Wakes idle workers once the submitting transaction has committed,
+     * so a freshly submitted job does not wait for the next poll.
+     */
+    @TransactionalEventListener
+    public void onJobSubmitted(AgentJobSubmittedEvent event) {
+        signalWorkers();
+    }
+
+    private void signalWorkers() {
+        synchronized (wakeUp) {
+            wakeUp.notifyAll();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            signalWorkers();
+            executor.shutdown();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                // jobs still RUNNING are re-queued on the next start
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void workLoop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                Optional<AgentJob> job = agentJobService.claimNextJob();
+                if (job.isPresent()) {
+                    process(job.get());
+                } else {
+                    synchronized (wakeUp) {
+                        wakeUp.wait(pollIntervalMs);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Agent job worker error", e);
+            }
+        }
+    }
+
+    private void process(AgentJob job) {
+        log.debug("Processing agent job {} (priority {}, attempt {})", job.getId(), job.getPriority(), job.getAttempts());
+        Question question = new Question();
+        question.setText(job.getQuestionText());
+        question.setConversationId(job.getConversationId());
+        try {
+            Answer answer = agentService.getAnswer(question);
+            agentJobService.completeJob(job.getId(), answer);
+        } catch (RuntimeException e) {
+            agentJobService.failJob(job.getId(), e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+}
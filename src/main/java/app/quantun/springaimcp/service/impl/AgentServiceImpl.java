@@ -1,35 +1,73 @@
 package app.quantun.springaimcp.service.impl;
 
+import app.quantun.springaimcp.config.ai.BoundedChatMemory;
+import app.quantun.springaimcp.config.ai.replay.InteractionRecorder;
+import app.quantun.springaimcp.config.ai.tool.AgentToolRegistry;
+import app.quantun.springaimcp.config.ai.tool.ToolCallCache;
+import app.quantun.springaimcp.config.jfr.AgentRequestEvent;
+import app.quantun.springaimcp.config.jfr.ModelTurnEvent;
+import app.quantun.springaimcp.config.logging.AgentLogSampler;
 import app.quantun.springaimcp.model.contract.response.Answer;
 import app.quantun.springaimcp.model.contract.request.Question;
 import app.quantun.springaimcp.service.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AgentServiceImpl implements AgentService {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final CategoryService categoryService;
     private final ProductService productService;
     private final UserService userService;
     private final AgentUtil agentUtil;
+    private final BoundedChatMemory chatMemory;
+    private final AgentToolRegistry toolRegistry;
+    private final QuestionPlanner questionPlanner;
+    private final InteractionRecorder interactionRecorder;
+    private final ObservationRegistry observationRegistry;
+    private final AgentLogSampler agentLogSampler;
+    private final ToolCallingManager toolCallingManager = ToolCallingManager.builder().build();
 
     @Autowired
     @Qualifier("anthropicChatClient")
@@ -46,12 +84,43 @@ public class AgentServiceImpl implements AgentService {
     @Value("classpath:templates/ai/user/store/inventory-and-users.structure.st")
     private Resource userSummaryBookTemplate;
 
+    @Value("${agent.chat-memory.history-window:20}")
+    private int historyWindow;
 
+    @Value("${agent.max-tool-rounds:20}")
+    private int maxToolRounds;
 
+    @Value("${agent.planner.parallelism:4}")
+    private int plannerParallelism;
 
+    private ExecutorService subQuestionExecutor;
 
+    // built once and shared by every question; PromptTemplate itself is not thread-safe
+    private Prompt systemPrompt;
+    private String userPromptTemplate;
+    private BeanOutputConverter<Answer> answerFormat;
+    private String formatInstructions;
+
+
+
+
+
+
+    @PostConstruct
+    void init() throws IOException {
+        this.systemPrompt = new PromptTemplate(this.systemSummaryBookTemplate).create();
+        this.userPromptTemplate = this.userSummaryBookTemplate.getContentAsString(StandardCharsets.UTF_8);
+        this.answerFormat = new BeanOutputConverter<>(Answer.class);
+        this.formatInstructions = this.answerFormat.getFormat();
+        this.subQuestionExecutor = Executors.newFixedThreadPool(this.plannerParallelism,
+                new CustomizableThreadFactory("agent-subquestion-"));
+    }
+
+    @PreDestroy
+    void stopSubQuestionExecutor() {
+        this.subQuestionExecutor.shutdownNow();
+    }
 
-    @SneakyThrows
     @Override
     public Answer getAnswer(Question question) {
         if (question == null || question.getText() == null)
@@ -59,33 +128,237 @@ public class AgentServiceImpl implements AgentService {
             log.error("Question or its text cannot be null. {}", question);
             throw new IllegalArgumentException( "Question or its text cannot be null.");
         }
-        ObjectMapper objectMapper = new ObjectMapper();
+        boolean newConversation = !StringUtils.hasText(question.getConversationId());
+        String conversationId = newConversation
+                ? UUID.randomUUID().toString()
+                : question.getConversationId();
+
+        // follow-ups depend on the history, so only fresh questions are decomposed
+        List<String> subQuestions = newConversation
+                ? questionPlanner.decompose(question.getText())
+                : List.of(question.getText());
+
+        Answer answer = subQuestions.size() > 1
+                ? answerInParallel(question, subQuestions, conversationId)
+                : ask(question, conversationId, true);
+        answer.setConversationId(conversationId);
+        return answer;
+    }
+
+    /**
+     * Answers every sub-question concurrently without chat memory and merges the results,
+     * so the latency is bounded by the slowest sub-question. The original question and the
+     * merged answer are then recorded as one turn of the conversation.
+     * <p>
+     * Sub-questions that fail are left out of the text and listed in {@link Answer#getFailedQuestions()};
+     * when every sub-question fails the first failure is rethrown.
+     */
+    private Answer answerInParallel(Question question, List<String> subQuestions, String conversationId) {
+        // sub-question spans stay in the caller's trace
+        Observation parent = this.observationRegistry.getCurrentObservation();
+        List<CompletableFuture<Answer>> futures = subQuestions.stream()
+                .map(subQuestion -> CompletableFuture.supplyAsync(() -> {
+                    Question part = new Question();
+                    part.setText(subQuestion);
+                    if (parent == null) {
+                        return ask(part, conversationId, false);
+                    }
+                    try (Observation.Scope scope = parent.openScope()) {
+                        return ask(part, conversationId, false);
+                    }
+                }, this.subQuestionExecutor))
+                .toList();
+
+        StringBuilder text = new StringBuilder();
+        List<Map<String, Object>> source = new ArrayList<>();
+        List<String> failedQuestions = new ArrayList<>();
+        CompletionException firstFailure = null;
+        for (int i = 0; i < subQuestions.size(); i++) {
+            Answer part;
+            try {
+                part = futures.get(i).join();
+            } catch (CompletionException e) {
+                log.error("Sub-question failed: {}", subQuestions.get(i), e.getCause());
+                failedQuestions.add(subQuestions.get(i));
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+                continue;
+            }
+            if (!text.isEmpty()) {
+                text.append(System.lineSeparator());
+            }
+            text.append(subQuestions.get(i)).append(" ").append(part.getText());
+            if (part.getSource() != null) {
+                source.addAll(part.getSource());
+            }
+        }
+        if (failedQuestions.size() == subQuestions.size()) {
+            throw firstFailure.getCause() instanceof RuntimeException cause ? cause : firstFailure;
+        }
+
+        Answer merged = new Answer();
+        merged.setText(text.toString());
+        merged.setSource(source);
+        if (!failedQuestions.isEmpty()) {
+            merged.setFailedQuestions(failedQuestions);
+        }
+        this.chatMemory.add(conversationId, List.of(new UserMessage(question.getText()), new AssistantMessage(merged.getText())));
+        return merged;
+    }
 
-        String questionJson = objectMapper.writeValueAsString(question);
+    /**
+     * Answers one question inside an {@code agent.question} observation; prompt rendering,
+     * model turns, tool calls and parsing are traced as child spans.
+     */
+    private Answer ask(Question question, String conversationId, boolean withMemory) {
+        Observation observation = Observation.createNotStarted("agent.question", this.observationRegistry)
+                .lowCardinalityKeyValue("agent.memory", String.valueOf(withMemory))
+                .highCardinalityKeyValue("agent.conversation.id", conversationId)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return answer(question, conversationId, withMemory, observation);
+        } catch (Exception e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
 
-        PromptTemplate systemPromptTemplate = new PromptTemplate(this.systemSummaryBookTemplate);
+    /**
+     * Runs the tool-calling loop for one question. Tools are executed here rather than inside
+     * the chat model, so every model turn and tool call can be observed (and recorded) on its own.
+     */
+    @SneakyThrows
+    private Answer answer(Question question, String conversationId, boolean withMemory, Observation observation) {
+        long started = System.nanoTime();
+        AgentRequestEvent requestEvent = new AgentRequestEvent();
+        requestEvent.begin();
+        String questionJson = OBJECT_MAPPER.writeValueAsString(question);
 
-        PromptTemplate userPromptTemplate = new PromptTemplate(this.userSummaryBookTemplate);
+        String userPrompt = Observation.createNotStarted("agent.prompt.render", this.observationRegistry)
+                .observe(() -> new PromptTemplate(this.userPromptTemplate)
+                        .render(Map.of("question", questionJson, "format", this.formatInstructions)));
 
-        BeanOutputConverter<Answer> format = new BeanOutputConverter<>(Answer.class);
+        // shared by the turns and sub-questions of a conversation, so follow-ups reuse earlier tool results
+        ToolCallCache toolCallCache = this.chatMemory.toolResults(conversationId);
+        int calls = toolCallCache.getCalls();
+        int hits = toolCallCache.getHits();
+        int invalidations = toolCallCache.getInvalidations();
+        ToolCallingChatOptions options = ToolCallingChatOptions.builder()
+                .toolCallbacks(this.toolRegistry.getToolCallbacks(toolCallCache).toArray(new ToolCallback[0]))
+                .internalToolExecutionEnabled(false)
+                .build();
 
-        Prompt systemPrompt = systemPromptTemplate.create();
+        // system prompt, then earlier turns, then the rendered question
+        List<Message> messages = new ArrayList<>(this.systemPrompt.getInstructions());
+        if (withMemory) {
+            messages.addAll(this.chatMemory.get(conversationId, this.historyWindow));
+        }
+        messages.add(new UserMessage(userPrompt));
 
-        Prompt userPrompt = userPromptTemplate.create(Map.of("question", questionJson, "format", format.getFormat()));
+        String aiResponse = null;
+        long promptTokens = 0;
+        long completionTokens = 0;
+        int toolRounds = 0;
+        this.interactionRecorder.begin(question.getText());
+        try {
+            Prompt prompt = new Prompt(messages, options);
+            ChatResponse response = callModel(conversationId, prompt, toolRounds);
+            promptTokens += promptTokens(response);
+            completionTokens += completionTokens(response);
+            while (response.hasToolCalls()) {
+                if (++toolRounds > this.maxToolRounds) {
+                    throw new IllegalStateException("Agent exceeded " + this.maxToolRounds + " tool rounds.");
+                }
+                ToolExecutionResult toolExecutionResult = this.toolCallingManager.executeToolCalls(prompt, response);
+                prompt = new Prompt(toolExecutionResult.conversationHistory(), options);
+                response = callModel(conversationId, prompt, toolRounds);
+                promptTokens += promptTokens(response);
+                completionTokens += completionTokens(response);
+            }
+            aiResponse = response.getResult() == null ? null : response.getResult().getOutput().getText();
+        } finally {
+            this.interactionRecorder.end(aiResponse, System.nanoTime() - started);
+            commit(requestEvent, conversationId, question, toolRounds, promptTokens, completionTokens, aiResponse != null);
+            observation.lowCardinalityKeyValue("agent.tool.rounds", String.valueOf(toolRounds))
+                    .highCardinalityKeyValue("gen_ai.usage.input_tokens", String.valueOf(promptTokens))
+                    .highCardinalityKeyValue("gen_ai.usage.output_tokens", String.valueOf(completionTokens));
+        }
 
-        String aiResponse =
-                anthropicChatClient.prompt(systemPrompt)
-                        .advisors(new SimpleLoggerAdvisor())
-                        .user(userPrompt.getContents())
-                        .tools( this.agentUtil)
-                        .call().content();
+        log.info("Conversation {}: {} tool calls, {} deduplicated, {} writes", conversationId,
+                toolCallCache.getCalls() - calls, toolCallCache.getHits() - hits, toolCallCache.getInvalidations() - invalidations);
 
         if (aiResponse == null)
         {
                     log.error("AI response is null for question: {}", questionJson);
                     throw new IllegalStateException("AI response cannot be null.");
         }
-        return format.convert(aiResponse);
+        if (withMemory) {
+            // the raw question, as in the parallel path; the rendered template would repeat the format instructions every turn
+            this.chatMemory.add(conversationId, List.of(new UserMessage(question.getText()), new AssistantMessage(aiResponse)));
+        }
+        String content = aiResponse;
+        return Observation.createNotStarted("agent.answer.parse", this.observationRegistry)
+                .observe(() -> this.answerFormat.convert(content));
 
     }
+
+    private ChatResponse callModel(String conversationId, Prompt prompt, int round) {
+        Observation observation = Observation.createNotStarted("agent.model.turn", this.observationRegistry)
+                .lowCardinalityKeyValue("agent.model.round", String.valueOf(round));
+        return observation.observe(() -> {
+            long start = System.nanoTime();
+            ModelTurnEvent turnEvent = new ModelTurnEvent();
+            turnEvent.begin();
+            this.agentLogSampler.logPrompt(conversationId, round, prompt);
+            ChatResponse response = anthropicChatClient.prompt(prompt)
+                    .call()
+                    .chatResponse();
+            turnEvent.end();
+            this.agentLogSampler.logResponse(conversationId, round, response, System.nanoTime() - start);
+            if (turnEvent.shouldCommit()) {
+                turnEvent.round = round;
+                turnEvent.promptTokens = promptTokens(response);
+                turnEvent.completionTokens = completionTokens(response);
+                turnEvent.requestedTools = response.hasToolCalls();
+                turnEvent.commit();
+            }
+            this.interactionRecorder.recordModelTurn(prompt, response, System.nanoTime() - start);
+            observation.lowCardinalityKeyValue("agent.model.tool_calls", String.valueOf(response.hasToolCalls()))
+                    .highCardinalityKeyValue("gen_ai.usage.input_tokens", String.valueOf(promptTokens(response)))
+                    .highCardinalityKeyValue("gen_ai.usage.output_tokens", String.valueOf(completionTokens(response)));
+            return response;
+        });
+    }
+
+    private static void commit(AgentRequestEvent event, String conversationId, Question question, int toolRounds,
+                               long promptTokens, long completionTokens, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.conversationId = conversationId;
+            event.questionLength = question.getText().length();
+            event.toolRounds = toolRounds;
+            event.promptTokens = promptTokens;
+            event.completionTokens = completionTokens;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    private static long promptTokens(ChatResponse response) {
+        Usage usage = response.getMetadata() == null ? null : response.getMetadata().getUsage();
+        return usage == null || usage.getPromptTokens() == null ? 0 : usage.getPromptTokens().longValue();
+    }
+
+    private static long completionTokens(ChatResponse response) {
+        Usage usage = response.getMetadata() == null ? null : response.getMetadata().getUsage();
+        return usage == null || usage.getGenerationTokens() == null ? 0 : usage.getGenerationTokens().longValue();
+    }
+
+    @Override
+    public void endConversation(String conversationId) {
+        this.chatMemory.clear(conversationId);
+    }
 }
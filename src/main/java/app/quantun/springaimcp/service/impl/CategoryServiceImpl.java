@@ -1,11 +1,15 @@
 package app.quantun.springaimcp.service.impl;
 
+import app.quantun.springaimcp.event.CategoryChangedEvent;
+import app.quantun.springaimcp.model.contract.request.KeysetCursor;
+import app.quantun.springaimcp.model.contract.response.CursorPage;
 import app.quantun.springaimcp.model.entity.Category;
 import app.quantun.springaimcp.repository.CategoryRepository;
 import app.quantun.springaimcp.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,31 +23,35 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
+    static final String BY_NAME = "name";
+
     private final CategoryRepository categoryRepository;
+    private final CategorySnapshot categorySnapshot;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Tool(description = "Find all categories")
     @Override
     public List<Category> findAllCategories() {
-        return categoryRepository.findAll();
+        return categorySnapshot.findAll();
     }
 
     @Override
     @Tool(description = "Find all categories with pagination")
     public Page<Category> findAllCategories(@ToolParam(description = "Pagination settings") Pageable pageable) {
-        return categoryRepository.findAll(pageable);
+        return categorySnapshot.findAll(pageable);
     }
 
     @Override
     @Tool(description = "Find category by ID")
     public Category findCategoryById(@ToolParam(description = "Category ID") Long id) {
-        return categoryRepository.findById(id)
+        return categorySnapshot.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Category not found with id: " + id));
     }
 
     @Override
     @Tool(description = "Find category by name (exact match)")
     public Category findCategoryByName(@ToolParam(description = "Category name") String name) {
-        return categoryRepository.findByName(name)
+        return categorySnapshot.findByName(name)
                 .orElseThrow(() -> new NoSuchElementException("Category not found with name: " + name));
     }
 
@@ -52,13 +60,40 @@ public class CategoryServiceImpl implements CategoryService {
     public Page<Category> findCategoriesByNameContaining(
             @ToolParam(description = "Search keyword for category name") String keyword, 
             @ToolParam(description = "Pagination settings") Pageable pageable) {
-        return categoryRepository.findByNameContainingIgnoreCase(keyword, pageable);
+        return categorySnapshot.findByNameContaining(keyword, pageable);
+    }
+
+    @Override
+    @Tool(description = "List categories ordered by name, one page at a time. Omit the cursor for the first page, "
+            + "then pass the nextCursor of the previous page until hasNext is false")
+    public CursorPage<Category> findAllCategoriesAfter(
+            @ToolParam(description = "nextCursor of the previous page", required = false) String cursor,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, BY_NAME);
+        List<Category> rows = categorySnapshot.findAfter(null, after, pageSize + 1);
+        return CursorPage.of(rows, pageSize, CategoryServiceImpl::nameCursor);
+    }
+
+    @Override
+    @Tool(description = "Search categories by name (case-insensitive) ordered by name, one page at a time. "
+            + "Omit the cursor for the first page, then pass the nextCursor of the previous page until hasNext is false")
+    public CursorPage<Category> findCategoriesByNameContainingAfter(
+            @ToolParam(description = "Search keyword for category name") String keyword,
+            @ToolParam(description = "nextCursor of the previous page", required = false) String cursor,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, BY_NAME);
+        List<Category> rows = categorySnapshot.findAfter(keyword, after, pageSize + 1);
+        return CursorPage.of(rows, pageSize, CategoryServiceImpl::nameCursor);
     }
 
     @Override
     @Tool(description = "Create a new category")
     public Category saveCategory(@ToolParam(description = "Category object with details to save") Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Override
@@ -66,12 +101,16 @@ public class CategoryServiceImpl implements CategoryService {
     public Category updateCategory(
             @ToolParam(description = "ID of the category to update") Long id, 
             @ToolParam(description = "Category object with updated details") Category categoryDetails) {
-        Category category = findCategoryById(id);
+        // a managed copy to modify, never the shared snapshot one
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Category not found with id: " + id));
         
         category.setName(categoryDetails.getName());
         category.setDescription(categoryDetails.getDescription());
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Override
@@ -81,11 +120,16 @@ public class CategoryServiceImpl implements CategoryService {
             throw new NoSuchElementException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     @Override
-    @Tool(description = "Check if a category exists by ID")
+    @Tool(name = "categoryExistsById", description = "Check if a category exists by ID")
     public boolean existsById(@ToolParam(description = "ID of the category to check") Long id) {
-        return categoryRepository.existsById(id);
+        return categorySnapshot.existsById(id);
+    }
+
+    private static KeysetCursor nameCursor(Category category) {
+        return new KeysetCursor(BY_NAME, category.getName(), category.getId());
     }
 }
@@ -0,0 +1,167 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.CategoryChangedEvent;
+import app.quantun.springaimcp.model.contract.request.KeysetCursor;
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Immutable in-memory copy of the categories table that serves every category read.
+ * <p>
+ * A {@link Snapshot} holds an id map, a name map and the categories in id and in name order. It is
+ * never modified; after each committed category write ({@link CategoryChangedEvent}) the whole table is
+ * read again and the new snapshot replaces the old one in a single volatile write, so a reader sees
+ * either the old or the new table, never a mix. Reloads are serialized so that a slow reload cannot
+ * overwrite a newer one. The first read loads the table if the application is not ready yet.
+ * <p>
+ * Filters and sort orders follow the SQL they replace: names match case-insensitively as substrings,
+ * names compare by character code, and {@code null}s sort first in ascending order. Cached categories
+ * are shared and must not be modified; write paths load their own copy from the repository.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategorySnapshot {
+
+    private static final Comparator<Category> BY_ID = Comparator.comparing(Category::getId);
+    private static final Comparator<Category> BY_NAME = Comparator.comparing(Category::getName).thenComparing(BY_ID);
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Snapshot current;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        List<Category> categories = categoryRepository.findAll();
+        current = Snapshot.of(categories);
+        log.debug("Loaded {} categories into the snapshot", categories.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reload();
+    }
+
+    public Optional<Category> findById(Long id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    public Optional<Category> findByName(String name) {
+        return Optional.ofNullable(snapshot().byName().get(name));
+    }
+
+    public boolean existsById(Long id) {
+        return snapshot().byId().containsKey(id);
+    }
+
+    /**
+     * All categories in id order.
+     */
+    public List<Category> findAll() {
+        return snapshot().inIdOrder();
+    }
+
+    public Page<Category> findAll(Pageable pageable) {
+        return page(snapshot().inIdOrder(), pageable);
+    }
+
+    public Page<Category> findByNameContaining(String keyword, Pageable pageable) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return page(snapshot().inIdOrder().stream()
+                .filter(category -> category.getName().toLowerCase(Locale.ROOT).contains(needle))
+                .toList(), pageable);
+    }
+
+    /**
+     * Up to {@code limit} categories in name order after the cursor (from the start when it is null),
+     * optionally only those whose name contains {@code keyword}.
+     */
+    public List<Category> findAfter(String keyword, KeysetCursor after, int limit) {
+        String needle = keyword == null ? null : keyword.toLowerCase(Locale.ROOT);
+        return snapshot().inNameOrder().stream()
+                .filter(category -> after == null || category.getName().compareTo(after.key()) > 0
+                        || (category.getName().equals(after.key()) && category.getId() > after.id()))
+                .filter(category -> needle == null || category.getName().toLowerCase(Locale.ROOT).contains(needle))
+                .limit(limit)
+                .toList();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (current == null) {
+                    reload();
+                }
+                snapshot = current;
+            }
+        }
+        return snapshot;
+    }
+
+    private static Page<Category> page(List<Category> categories, Pageable pageable) {
+        List<Category> sorted = pageable.getSort().isSorted()
+                ? categories.stream().sorted(comparator(pageable.getSort())).toList()
+                : categories;
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted, pageable, sorted.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    private static Comparator<Category> comparator(Sort sort) {
+        Comparator<Category> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Category> next = switch (order.getProperty()) {
+                case "id" -> nullsFirst(Category::getId);
+                case "name" -> nullsFirst(Category::getName);
+                case "description" -> nullsFirst(Category::getDescription);
+                case "createdAt" -> nullsFirst(Category::getCreatedAt);
+                case "updatedAt" -> nullsFirst(Category::getUpdatedAt);
+                default -> throw new IllegalArgumentException("Cannot sort categories by " + order.getProperty());
+            };
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator.thenComparing(BY_ID);
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<Category> nullsFirst(Function<Category, T> property) {
+        return Comparator.comparing(property, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private record Snapshot(Map<Long, Category> byId, Map<String, Category> byName,
+                            List<Category> inIdOrder, List<Category> inNameOrder) {
+
+        static Snapshot of(List<Category> categories) {
+            Map<Long, Category> byId = new HashMap<>();
+            Map<String, Category> byName = new HashMap<>();
+            for (Category category : categories) {
+                byId.put(category.getId(), category);
+                byName.put(category.getName(), category);
+            }
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byName),
+                    categories.stream().sorted(BY_ID).toList(), categories.stream().sorted(BY_NAME).toList());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.contract.response.UserExport;
+import app.quantun.springaimcp.model.entity.Role;
+import app.quantun.springaimcp.repository.CategoryRepository;
+import app.quantun.springaimcp.repository.ProductRepository;
+import app.quantun.springaimcp.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON export of whole tables through forward-only cursors.
+ * <p>
+ * Each export runs in one read-only transaction and reads its table in id order, {@link #FETCH_SIZE}
+ * rows per round trip. Products and categories are streamed as entities from the repository export
+ * queries, serialized exactly as the REST API does, and the persistence context is cleared after every
+ * {@link #FETCH_SIZE} lines, so memory stays flat whatever the table size. Users are read with plain
+ * JDBC instead: their roles are an eager element collection, which would cost one query per user, so
+ * a single join is grouped by user id, and the password hash is left out.
+ * <p>
+ * The response is flushed before the query runs, so the client sees the headers at once, and again
+ * after every {@link #FETCH_SIZE} lines. A failure after the first flush can only abort the response.
+ */
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    /** Rows per cursor round trip and lines per persistence context; the repository export hints use the same */
+    static final int FETCH_SIZE = 1_000;
+
+    static final String USERS = "SELECT u.id, u.username, u.email, u.created_at, u.updated_at, r.role "
+            + "FROM users u LEFT JOIN user_roles r ON r.user_id = u.id ORDER BY u.id, r.role";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+
+    public ExportServiceImpl(ProductRepository productRepository,
+                             CategoryRepository categoryRepository,
+                             JdbcTemplate jdbcTemplate,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void exportProducts(OutputStream output) throws IOException {
+        exportEntities("products", output, productRepository::streamAll);
+    }
+
+    @Override
+    public void exportCategories(OutputStream output) throws IOException {
+        exportEntities("categories", output, categoryRepository::streamAll);
+    }
+
+    @Override
+    public void exportUsers(OutputStream output) throws IOException {
+        export("users", output, lines -> {
+            UserRows rows = new UserRows(lines);
+            jdbcTemplate.query(this::selectUsers, rows);
+            rows.writeCurrent();
+        });
+    }
+
+    private <T> void exportEntities(String table, OutputStream output, Supplier<Stream<T>> query) throws IOException {
+        export(table, output, lines -> {
+            try (Stream<T> entities = query.get()) {
+                Iterator<T> iterator = entities.iterator();
+                while (iterator.hasNext()) {
+                    lines.write(iterator.next());
+                }
+            }
+        });
+    }
+
+    private void export(String table, OutputStream output, Export export) throws IOException {
+        long start = System.nanoTime();
+        output.flush();
+        Lines lines = new Lines(output);
+        try {
+            transaction.executeWithoutResult(status -> {
+                try {
+                    export.run(lines);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        output.flush();
+        log.info("Exported {} {} in {} ms", lines.count, table, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private PreparedStatement selectUsers(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(USERS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(FETCH_SIZE);
+        return statement;
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void run(Lines lines) throws IOException;
+    }
+
+    private final class Lines {
+
+        private final OutputStream output;
+        private long count;
+
+        private Lines(OutputStream output) {
+            this.output = output;
+        }
+
+        void write(Object value) throws IOException {
+            output.write(objectMapper.writeValueAsBytes(value));
+            output.write('\n');
+            if (++count % FETCH_SIZE == 0) {
+                // the written entities are only referenced by the persistence context from here on
+                entityManager.clear();
+                output.flush();
+            }
+        }
+    }
+
+    /**
+     * Folds the joined user and role rows, which arrive grouped by user id, into one line per user.
+     */
+    private static final class UserRows implements RowCallbackHandler {
+
+        private final Lines lines;
+        private UserExport current;
+
+        private UserRows(Lines lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || current.id() != id) {
+                writeCurrent();
+                current = new UserExport(id, rs.getString("username"), rs.getString("email"), new ArrayList<>(),
+                        rs.getObject("created_at", LocalDateTime.class), rs.getObject("updated_at", LocalDateTime.class));
+            }
+            String role = rs.getString("role");
+            if (role != null) {
+                current.roles().add(Role.valueOf(role));
+            }
+        }
+
+        void writeCurrent() {
+            if (current == null) {
+                return;
+            }
+            try {
+                lines.write(current);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package app.quantun.springaimcp.service.impl;
+
+/**
+ * Open-addressing map from {@code long} keys to {@code long} values.
+ * <p>
+ * Entries live in two parallel arrays probed linearly, so an entry costs two slots instead of a boxed
+ * {@code HashMap} node, and the capacity follows the number of entries, not the size of the keys.
+ * Removal shifts the following entries of the probe run back instead of leaving tombstones. Key 0
+ * marks a free slot and is therefore stored apart. Not thread-safe.
+ */
+final class LongLongHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /** returned by {@link #get} and {@link #remove} for a key that has no entry */
+    private final long missing;
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    LongLongHashMap(long missing) {
+        this(missing, MIN_CAPACITY);
+    }
+
+    LongLongHashMap(long missing, int expectedSize) {
+        this.missing = missing;
+        allocate(capacityFor(expectedSize));
+    }
+
+    long get(long key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : missing;
+        }
+        for (int at = slot(key); keys[at] != 0; at = (at + 1) & mask) {
+            if (keys[at] == key) {
+                return values[at];
+            }
+        }
+        return missing;
+    }
+
+    void put(long key, long value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int at = slot(key);
+        while (keys[at] != 0) {
+            if (keys[at] == key) {
+                values[at] = value;
+                return;
+            }
+            at = (at + 1) & mask;
+        }
+        keys[at] = key;
+        values[at] = value;
+        // keep the table at most half full, so probe runs stay short
+        if (++size > keys.length / 2) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Removes the entry of {@code key} and returns its value, or the missing value when there was none.
+     */
+    long remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return missing;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        for (int at = slot(key); keys[at] != 0; at = (at + 1) & mask) {
+            if (keys[at] == key) {
+                long value = values[at];
+                shiftBack(at);
+                size--;
+                return value;
+            }
+        }
+        return missing;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Fills the free slot {@code free} with the next entry of its probe run that may move there, and
+     * repeats from that entry's slot until the run ends.
+     */
+    private void shiftBack(int free) {
+        int at = free;
+        while (true) {
+            at = (at + 1) & mask;
+            long key = keys[at];
+            if (key == 0) {
+                keys[free] = 0;
+                return;
+            }
+            int home = slot(key);
+            // the entry may move unless its home lies cyclically in (free, at]
+            boolean stays = free <= at ? free < home && home <= at : free < home || home <= at;
+            if (!stays) {
+                keys[free] = key;
+                values[free] = values[at];
+                free = at;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int at = slot(oldKeys[i]);
+                while (keys[at] != 0) {
+                    at = (at + 1) & mask;
+                }
+                keys[at] = oldKeys[i];
+                values[at] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads sequential ids over the whole table
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,100 @@
+package app.quantun.springaimcp.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs the content and {@code COUNT(*)} queries of a {@link Page} either one after the other
+ * (the plain Spring Data query) or concurrently, so a page takes as long as the slower of the two.
+ * <p>
+ * In concurrent mode ({@code agent.paging.concurrent-count=true}) the count runs on one of
+ * {@code agent.paging.count-threads} threads, in its own read-only transaction and therefore on its
+ * own connection, while the caller reads the content as a {@link Slice}. The count may see a
+ * slightly newer snapshot than the content. When every count thread is busy the caller counts
+ * inline, so no more than {@code count-threads} callers ever wait for a second connection; keep it
+ * at most half the connection pool. The count result is not used when the content alone determines
+ * the total (first page not full, or a partial last page).
+ * <p>
+ * Concurrent mode is off by default. Unpaged requests and pages of {@code Integer.MAX_VALUE} rows
+ * always run the plain query: Spring Data reads a {@code Slice} as {@code pageSize + 1} rows, which
+ * overflows for such a page.
+ */
+@Component
+public class PageQueryExecutor {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean concurrent;
+    private final ThreadPoolExecutor executor;
+
+    public PageQueryExecutor(PlatformTransactionManager transactionManager,
+                             @Value("${agent.paging.concurrent-count:false}") boolean concurrent,
+                             @Value("${agent.paging.count-threads:4}") int countThreads) {
+        this.concurrent = concurrent;
+        if (concurrent) {
+            this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+            this.readOnlyTransaction.setReadOnly(true);
+            this.executor = new ThreadPoolExecutor(countThreads, countThreads, 60, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), new CustomizableThreadFactory("page-count-"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            this.executor.allowCoreThreadTimeOut(true);
+        } else {
+            this.readOnlyTransaction = null;
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Returns the page for {@code pageable}.
+     *
+     * @param sequential the plain {@code Page} query, used when concurrent mode is off or the request is unpaged
+     *                   or asks for {@code Integer.MAX_VALUE} rows
+     * @param content    the same query as a {@code Slice}
+     * @param count      the matching count query
+     */
+    public <T> Page<T> page(Pageable pageable, Supplier<Page<T>> sequential, Supplier<Slice<T>> content, LongSupplier count) {
+        if (!concurrent || pageable.isUnpaged() || pageable.getPageSize() == Integer.MAX_VALUE) {
+            return sequential.get();
+        }
+        CompletableFuture<Long> total = CompletableFuture.supplyAsync(
+                () -> readOnlyTransaction.execute(status -> count.getAsLong()), executor);
+        return PageableExecutionUtils.getPage(content.get().getContent(), pageable, () -> join(total));
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    private static long join(CompletableFuture<Long> total) {
+        try {
+            return total.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.contract.response.ProductSuggestion;
+import app.quantun.springaimcp.model.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Radix trie over product names and SKUs for autocomplete.
+ * <p>
+ * Chains of single-child nodes are collapsed into one edge labelled with their characters, so
+ * there is a node only where keys end or branch: at most two per key, however long the keys are.
+ * The trie is persistent: nodes are immutable, with edges sorted by first character, and every
+ * node caches its best {@link #MAX_SUGGESTIONS} completions. A lookup follows the edges matching
+ * the prefix from a single volatile read of the root and returns the cached list, so it takes no
+ * lock and costs no more than the prefix length. Writers are serialized; an insert or delete
+ * copies only the nodes on the key's path (splitting or merging an edge where needed) and then
+ * swaps the root, so readers always see a complete snapshot and are never blocked.
+ * <p>
+ * Keys are the lowercase name and SKU, matched from their first character. Completions are
+ * ranked shortest first, then alphabetically. Like {@link ProductSearchIndex} it applies
+ * {@link ProductChangedEvent}s after commit and is rebuilt by {@link ProductIndexRebuilder}.
+ */
+@Component
+@Slf4j
+public class ProductAutocompleteIndex implements ProductIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    static final String NAME = "name";
+    static final String SKU = "sku";
+
+    private static final Comparator<ProductSuggestion> RANKING = Comparator
+            .comparingInt((ProductSuggestion suggestion) -> suggestion.text().length())
+            .thenComparing(ProductSuggestion::text, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(ProductSuggestion::productId)
+            .thenComparing(ProductSuggestion::field);
+
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+    private volatile Node root = Node.EMPTY;
+    /** product id -> its completions in the trie; only used by writers */
+    private final Map<Long, List<ProductSuggestion>> entries = new HashMap<>();
+
+    /**
+     * Returns up to {@code limit} completions of {@code prefix}, best first.
+     */
+    public List<ProductSuggestion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        int depth = 0;
+        while (depth < key.length()) {
+            int index = node.indexOf(key.charAt(depth));
+            if (index < 0) {
+                return List.of();
+            }
+            // the prefix may end inside the edge
+            String edge = node.edges[index];
+            int length = Math.min(edge.length(), key.length() - depth);
+            if (!key.regionMatches(depth, edge, 0, length)) {
+                return List.of();
+            }
+            node = node.children[index];
+            depth += length;
+        }
+        return node.top.size() <= limit ? node.top : node.top.subList(0, limit);
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        changes.start();
+        return new Rebuild() {
+            private final List<Keyed> keyed = new ArrayList<>();
+            private final Map<Long, List<ProductSuggestion>> rebuiltEntries = new HashMap<>();
+
+            @Override
+            public void add(ProductIndexRow product) {
+                List<ProductSuggestion> suggestions = suggestions(product);
+                suggestions.forEach(suggestion -> keyed.add(new Keyed(normalize(suggestion.text()), suggestion)));
+                rebuiltEntries.put(product.id(), suggestions);
+            }
+
+            @Override
+            public void publish() {
+                // bottom-up from the sorted keys, so each node is built once instead of once per insert
+                keyed.sort(Comparator.comparing(Keyed::key));
+                Node rebuilt = build(keyed, 0, keyed.size(), 0);
+                synchronized (ProductAutocompleteIndex.this) {
+                    entries.clear();
+                    entries.putAll(rebuiltEntries);
+                    root = rebuilt;
+                    changes.finish().forEach(ProductAutocompleteIndex.this::apply);
+                }
+                log.info("Indexed {} products for autocomplete", rebuiltEntries.size());
+            }
+
+            @Override
+            public void discard() {
+                changes.finish();
+            }
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changes.record(event);
+        apply(event);
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.productId());
+        } else {
+            index(event.product());
+        }
+    }
+
+    /**
+     * Adds or replaces the completions of a product.
+     */
+    public synchronized void index(Product product) {
+        Node updated = without(root, product.getId());
+        List<ProductSuggestion> suggestions = suggestions(ProductIndexRow.of(product));
+        for (ProductSuggestion suggestion : suggestions) {
+            updated = insert(updated, normalize(suggestion.text()), 0, suggestion);
+        }
+        entries.put(product.getId(), suggestions);
+        root = updated;
+    }
+
+    public synchronized void remove(Long productId) {
+        root = without(root, productId);
+        entries.remove(productId);
+    }
+
+    private Node without(Node node, Long productId) {
+        for (ProductSuggestion suggestion : entries.getOrDefault(productId, List.of())) {
+            node = delete(node, normalize(suggestion.text()), 0, suggestion);
+        }
+        return node;
+    }
+
+    /**
+     * Builds the subtree of {@code keyed[from, to)}, which is sorted and shares its first {@code depth} characters.
+     */
+    private static Node build(List<Keyed> keyed, int from, int to, int depth) {
+        List<ProductSuggestion> terminals = new ArrayList<>();
+        int i = from;
+        while (i < to && keyed.get(i).key().length() == depth) {
+            terminals.add(keyed.get(i++).suggestion());
+        }
+        String[] edges = new String[to - i];
+        Node[] children = new Node[to - i];
+        int count = 0;
+        while (i < to) {
+            String first = keyed.get(i).key();
+            char label = first.charAt(depth);
+            int end = i;
+            while (end < to && keyed.get(end).key().charAt(depth) == label) {
+                end++;
+            }
+            // the keys are sorted, so the group's common prefix is that of its first and last key
+            int branch = depth + commonPrefix(first, depth, keyed.get(end - 1).key(), depth);
+            edges[count] = first.substring(depth, branch);
+            children[count++] = build(keyed, i, end, branch);
+            i = end;
+        }
+        return Node.of(Arrays.copyOf(edges, count), Arrays.copyOf(children, count), terminals);
+    }
+
+    private static Node insert(Node node, String key, int depth, ProductSuggestion suggestion) {
+        if (depth == key.length()) {
+            List<ProductSuggestion> terminals = new ArrayList<>(node.terminals);
+            terminals.add(suggestion);
+            return node.withTerminals(terminals);
+        }
+        int index = node.indexOf(key.charAt(depth));
+        if (index < 0) {
+            return node.withChild(key.substring(depth), Node.EMPTY.withTerminals(List.of(suggestion)));
+        }
+        String edge = node.edges[index];
+        Node child = node.children[index];
+        int common = commonPrefix(edge, 0, key, depth);
+        if (common < edge.length()) {
+            // the key leaves the edge part way: split it with a node where they diverge
+            child = Node.of(new String[]{edge.substring(common)}, new Node[]{child}, List.of());
+            edge = edge.substring(0, common);
+        }
+        return node.withChild(edge, insert(child, key, depth + common, suggestion));
+    }
+
+    private static Node delete(Node node, String key, int depth, ProductSuggestion suggestion) {
+        if (depth == key.length()) {
+            List<ProductSuggestion> terminals = new ArrayList<>(node.terminals);
+            terminals.remove(suggestion);
+            return node.withTerminals(terminals);
+        }
+        int index = node.indexOf(key.charAt(depth));
+        if (index < 0 || !key.startsWith(node.edges[index], depth)) {
+            return node;
+        }
+        String edge = node.edges[index];
+        Node updated = delete(node.children[index], key, depth + edge.length(), suggestion);
+        if (updated.isEmpty()) {
+            return node.withoutChild(edge.charAt(0));
+        }
+        if (updated.terminals.isEmpty() && updated.children.length == 1) {
+            // the child no longer ends or branches anything: merge it into the edge
+            return node.withChild(edge + updated.edges[0], updated.children[0]);
+        }
+        return node.withChild(edge, updated);
+    }
+
+    /**
+     * Length of the common prefix of {@code a} from {@code aFrom} and {@code b} from {@code bFrom}.
+     */
+    private static int commonPrefix(String a, int aFrom, String b, int bFrom) {
+        int length = 0;
+        while (aFrom + length < a.length() && bFrom + length < b.length()
+                && a.charAt(aFrom + length) == b.charAt(bFrom + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static List<ProductSuggestion> suggestions(ProductIndexRow product) {
+        List<ProductSuggestion> suggestions = new ArrayList<>(2);
+        if (product.name() != null && !product.name().isBlank()) {
+            suggestions.add(new ProductSuggestion(product.name(), NAME, product.id()));
+        }
+        if (product.sku() != null && !product.sku().isBlank()) {
+            suggestions.add(new ProductSuggestion(product.sku(), SKU, product.id()));
+        }
+        return suggestions;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Keyed(String key, ProductSuggestion suggestion) {
+    }
+
+    /**
+     * Immutable radix trie node; "modifying" one returns a copy.
+     */
+    private static final class Node {
+
+        static final Node EMPTY = new Node(new char[0], new String[0], new Node[0], List.of(), List.of());
+
+        /** first character of every edge, for the binary search */
+        final char[] firsts;
+        /** characters consumed on the way to each child, sorted by first character */
+        final String[] edges;
+        final Node[] children;
+        final List<ProductSuggestion> terminals;
+        /** best completions in this subtree */
+        final List<ProductSuggestion> top;
+
+        private Node(char[] firsts, String[] edges, Node[] children, List<ProductSuggestion> terminals,
+                     List<ProductSuggestion> top) {
+            this.firsts = firsts;
+            this.edges = edges;
+            this.children = children;
+            this.terminals = terminals;
+            this.top = top;
+        }
+
+        private static Node of(String[] edges, Node[] children, List<ProductSuggestion> terminals) {
+            char[] firsts = new char[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                firsts[i] = edges[i].charAt(0);
+            }
+            if (terminals.isEmpty() && children.length == 1) {
+                // a pass-through node (the root, or a split in progress) shares its only child's list
+                return new Node(firsts, edges, children, terminals, children[0].top);
+            }
+            List<ProductSuggestion> sortedTerminals = new ArrayList<>(terminals);
+            sortedTerminals.sort(RANKING);
+            if (children.length == 0) {
+                // a leaf's ranked terminals are its completions
+                List<ProductSuggestion> ranked = List.copyOf(sortedTerminals);
+                return new Node(firsts, edges, children, ranked,
+                        ranked.size() <= MAX_SUGGESTIONS ? ranked : ranked.subList(0, MAX_SUGGESTIONS));
+            }
+            return new Node(firsts, edges, children, List.copyOf(terminals), merge(sortedTerminals, children));
+        }
+
+        /**
+         * Merges the already ranked terminals and child lists, stopping after {@link #MAX_SUGGESTIONS}.
+         */
+        private static List<ProductSuggestion> merge(List<ProductSuggestion> terminals, Node[] children) {
+            List<ProductSuggestion> top = new ArrayList<>(MAX_SUGGESTIONS);
+            int[] positions = new int[children.length + 1];
+            while (top.size() < MAX_SUGGESTIONS) {
+                ProductSuggestion best = null;
+                int bestList = -1;
+                for (int list = 0; list < positions.length; list++) {
+                    List<ProductSuggestion> candidates = list == 0 ? terminals : children[list - 1].top;
+                    if (positions[list] < candidates.size()) {
+                        ProductSuggestion candidate = candidates.get(positions[list]);
+                        if (best == null || RANKING.compare(candidate, best) < 0) {
+                            best = candidate;
+                            bestList = list;
+                        }
+                    }
+                }
+                if (best == null) {
+                    break;
+                }
+                top.add(best);
+                positions[bestList]++;
+            }
+            return List.copyOf(top);
+        }
+
+        /**
+         * Position of the edge starting with {@code first}, negative when there is none.
+         */
+        int indexOf(char first) {
+            return Arrays.binarySearch(firsts, first);
+        }
+
+        /**
+         * Returns a copy with {@code child} under {@code edge}, replacing the edge with the same first character.
+         */
+        Node withChild(String edge, Node child) {
+            int index = indexOf(edge.charAt(0));
+            String[] newEdges;
+            Node[] newChildren;
+            if (index >= 0) {
+                newEdges = edges.clone();
+                newChildren = children.clone();
+                newEdges[index] = edge;
+                newChildren[index] = child;
+            } else {
+                int insertAt = -index - 1;
+                newEdges = new String[edges.length + 1];
+                newChildren = new Node[children.length + 1];
+                System.arraycopy(edges, 0, newEdges, 0, insertAt);
+                System.arraycopy(edges, insertAt, newEdges, insertAt + 1, edges.length - insertAt);
+                System.arraycopy(children, 0, newChildren, 0, insertAt);
+                System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+                newEdges[insertAt] = edge;
+                newChildren[insertAt] = child;
+            }
+            return of(newEdges, newChildren, terminals);
+        }
+
+        /**
+         * Returns a copy without the edge starting with {@code first}.
+         */
+        Node withoutChild(char first) {
+            int index = indexOf(first);
+            if (index < 0) {
+                return this;
+            }
+            String[] newEdges = new String[edges.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(edges, 0, newEdges, 0, index);
+            System.arraycopy(edges, index + 1, newEdges, index, edges.length - index - 1);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return of(newEdges, newChildren, terminals);
+        }
+
+        Node withTerminals(List<ProductSuggestion> newTerminals) {
+            return of(edges, children, newTerminals);
+        }
+
+        boolean isEmpty() {
+            return edges.length == 0 && terminals.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of products by id and by SKU, in front of {@link ProductRepository}.
+ * <p>
+ * Products are held once, by id, in a Caffeine cache bounded by an estimate of their size in bytes
+ * ({@code agent.cache.products.max-bytes}); Caffeine evicts with W-TinyLFU, so a burst of one-off
+ * lookups does not flush the frequently read products. A second, smaller cache maps SKUs to ids. Both
+ * load on a miss with the category fetched, so a cached product can be serialized after its session is
+ * gone. Entries older than {@code refresh-after} are reloaded in the background on their next read
+ * while the old value is still served, and dropped after {@code expire-after}. Missing products are not cached.
+ * <p>
+ * Writes go through {@link ProductChangedEvent}: once the transaction commits, the changed product and
+ * its SKU are invalidated, not overwritten, because the written entity may carry an unloaded category.
+ * Cached products are shared and must not be modified. Hit, miss, load and eviction counts are exported
+ * as the {@code cache.*} meters tagged {@code cache=products} and {@code cache=product-skus}, plus a
+ * {@code cache.hit.ratio} gauge.
+ */
+@Component
+public class ProductCache {
+
+    static final String PRODUCTS = "products";
+    static final String SKUS = "product-skus";
+
+    /** object headers, id, price, timestamps and references, without the strings */
+    private static final int PRODUCT_BASE_BYTES = 200;
+
+    private final ProductRepository productRepository;
+    private final LoadingCache<Long, Product> byId;
+    private final LoadingCache<String, Long> idsBySku;
+
+    public ProductCache(ProductRepository productRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${agent.cache.products.max-bytes:16777216}") long maxBytes,
+                        @Value("${agent.cache.products.max-skus:100000}") long maxSkus,
+                        @Value("${agent.cache.products.refresh-after:PT5M}") Duration refreshAfter,
+                        @Value("${agent.cache.products.expire-after:PT30M}") Duration expireAfter) {
+        this.productRepository = productRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Product product) -> weight(product))
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build(id -> productRepository.findWithCategoryById(id).orElse(null));
+        this.idsBySku = Caffeine.newBuilder()
+                .maximumSize(maxSkus)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build(this::loadIdBySku);
+        monitor(meterRegistry, byId, PRODUCTS);
+        monitor(meterRegistry, idsBySku, SKUS);
+    }
+
+    public Optional<Product> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<Product> findBySku(String sku) {
+        Long id = idsBySku.get(sku);
+        Product product = id == null ? null : byId.get(id);
+        if (product != null && !sku.equals(product.getSku())) {
+            // the SKU moved to another product since it was mapped
+            idsBySku.invalidate(sku);
+            id = idsBySku.get(sku);
+            product = id == null ? null : byId.get(id);
+        }
+        return Optional.ofNullable(product);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.product() != null && event.product().getSku() != null) {
+            idsBySku.invalidate(event.product().getSku());
+        }
+        invalidate(event.productId());
+    }
+
+    /**
+     * Drops a product and its SKU mapping. The SKU goes first: removing it waits for a SKU load in flight,
+     * which may put the product it read into the id cache.
+     */
+    public void invalidate(Long id) {
+        Product cached = byId.getIfPresent(id);
+        if (cached != null && cached.getSku() != null) {
+            idsBySku.invalidate(cached.getSku());
+        }
+        byId.invalidate(id);
+    }
+
+    private Long loadIdBySku(String sku) {
+        Product product = productRepository.findWithCategoryBySku(sku).orElse(null);
+        if (product == null) {
+            return null;
+        }
+        // one query serves both caches
+        byId.asMap().putIfAbsent(product.getId(), product);
+        return product.getId();
+    }
+
+    static int weight(Product product) {
+        return PRODUCT_BASE_BYTES + 2 * (length(product.getName()) + length(product.getDescription()) + length(product.getSku()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static <K, V> void monitor(MeterRegistry meterRegistry, LoadingCache<K, V> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of cache reads served from the cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the {@link ProductChangedEvent}s that arrive while an in-memory product index is rebuilt.
+ * <p>
+ * A rebuild reads the table without blocking writers and then swaps its snapshot in. A change
+ * committed while the table was being read may be missing from the snapshot, so the index replays
+ * the buffered changes on top of it under the same write lock as the swap. Replaying a change the
+ * snapshot already has is harmless, since index and remove are idempotent.
+ */
+final class ProductChangeBuffer {
+
+    private List<ProductChangedEvent> pending;
+
+    synchronized void start() {
+        pending = new ArrayList<>();
+    }
+
+    /**
+     * Buffers {@code event} when a rebuild is running; the caller applies it to the live index either way.
+     */
+    synchronized void record(ProductChangedEvent event) {
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    /**
+     * Ends the rebuild and returns the changes that arrived during it, in arrival order.
+     */
+    synchronized List<ProductChangedEvent> finish() {
+        List<ProductChangedEvent> changes = pending == null ? List.of() : pending;
+        pending = null;
+        return changes;
+    }
+}
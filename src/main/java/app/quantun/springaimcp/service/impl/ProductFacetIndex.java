@@ -0,0 +1,263 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.contract.response.ProductFacets.CategoryCount;
+import app.quantun.springaimcp.model.contract.response.ProductFacets.PriceRangeCount;
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet index of products by category and price range.
+ * <p>
+ * Every category and every price range has a {@link RoaringBitmap} of the ids of its products, so memory
+ * follows the number of products rather than the highest id. A query ORs the bitmaps of the selected
+ * categories and of the selected price ranges; the matches are the AND of both unions. The total and the
+ * disjunctive count of every category and price range (see
+ * {@link app.quantun.springaimcp.model.contract.response.ProductFacets}) are AND cardinalities, which
+ * Roaring computes container by container without materializing the intersection, and the page is read
+ * from the matches starting at the {@code offset}-th id.
+ * <p>
+ * Price ranges are bounded by {@code agent.facets.price-bounds}: with bounds {@code 10,25} they are
+ * {@code [0, 10)}, {@code [10, 25)} and {@code [25, ...)}. Like {@link ProductSearchIndex} it applies
+ * {@link ProductChangedEvent}s after commit and is rebuilt by {@link ProductIndexRebuilder}.
+ */
+@Component
+@Slf4j
+public class ProductFacetIndex implements ProductIndex {
+
+    private final BigDecimal[] priceBounds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+    private Facets facets;
+
+    public ProductFacetIndex(@Value("${agent.facets.price-bounds:10,25,50,100,250,500,1000}") BigDecimal[] priceBounds) {
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.facets = new Facets();
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        // rows go straight into a new set of bitmaps, which replaces the live one on publish
+        Facets rebuilt = new Facets();
+        changes.start();
+        return new Rebuild() {
+            @Override
+            public void add(ProductIndexRow product) {
+                rebuilt.put(product);
+            }
+
+            @Override
+            public void publish() {
+                rebuilt.runOptimize();
+                long indexed = rebuilt.all.getLongCardinality();
+                lock.writeLock().lock();
+                try {
+                    facets = rebuilt;
+                    changes.finish().forEach(ProductFacetIndex.this::apply);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Indexed {} products for facets", indexed);
+            }
+
+            @Override
+            public void discard() {
+                changes.finish();
+            }
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changes.record(event);
+        apply(event);
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.productId());
+        } else {
+            index(event.product());
+        }
+    }
+
+    /**
+     * Adds or replaces a product.
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            facets.delete(slot(product.getId()));
+            facets.put(ProductIndexRow.of(product));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            facets.delete(slot(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the matches ranked {@code offset} to {@code offset + limit - 1} by id, their total and
+     * the facet counts. A null or empty selection does not filter on that facet.
+     *
+     * @throws IllegalArgumentException for a price range outside {@code 0..priceRangeCount() - 1}
+     */
+    public FacetHits query(Collection<Long> categories, Collection<Integer> priceRanges, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap inCategories = facets.all;
+            if (categories != null && !categories.isEmpty()) {
+                inCategories = new RoaringBitmap();
+                for (Long categoryId : categories) {
+                    Integer slot = facets.categorySlots.get(categoryId);
+                    if (slot != null) {
+                        inCategories.or(facets.byCategory.get(slot));
+                    }
+                }
+            }
+            RoaringBitmap inPriceRanges = facets.all;
+            if (priceRanges != null && !priceRanges.isEmpty()) {
+                inPriceRanges = new RoaringBitmap();
+                for (Integer range : priceRanges) {
+                    if (range == null || range < 0 || range >= priceRangeCount()) {
+                        throw new IllegalArgumentException("Price range must be between 0 and " + (priceRangeCount() - 1) + ": " + range);
+                    }
+                    inPriceRanges.or(facets.byPriceRange[range]);
+                }
+            }
+            return count(inCategories, inPriceRanges, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int priceRangeCount() {
+        return priceBounds.length + 1;
+    }
+
+    private FacetHits count(RoaringBitmap inCategories, RoaringBitmap inPriceRanges, long offset, int limit) {
+        RoaringBitmap matches = RoaringBitmap.and(inCategories, inPriceRanges);
+        long total = matches.getLongCardinality();
+        List<Long> ids = new ArrayList<>(Math.max(0, limit));
+        if (offset < total) {
+            PeekableIntIterator iterator = matches.getIntIterator();
+            iterator.advanceIfNeeded(matches.select((int) offset));
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add((long) iterator.next());
+            }
+        }
+
+        List<CategoryCount> categories = new ArrayList<>();
+        for (int slot = 0; slot < facets.byCategory.size(); slot++) {
+            RoaringBitmap category = facets.byCategory.get(slot);
+            if (!category.isEmpty()) {
+                categories.add(new CategoryCount(facets.categoryIds.get(slot), RoaringBitmap.andCardinality(category, inPriceRanges)));
+            }
+        }
+        List<PriceRangeCount> ranges = new ArrayList<>(priceRangeCount());
+        for (int range = 0; range < priceRangeCount(); range++) {
+            ranges.add(new PriceRangeCount(range, range == 0 ? BigDecimal.ZERO : priceBounds[range - 1],
+                    range < priceBounds.length ? priceBounds[range] : null,
+                    RoaringBitmap.andCardinality(facets.byPriceRange[range], inCategories)));
+        }
+        return new FacetHits(ids, total, categories, ranges);
+    }
+
+    int priceRange(BigDecimal price) {
+        int index = Arrays.binarySearch(priceBounds, price, BigDecimal::compareTo);
+        // a price equal to a bound starts the next range
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Bitmap position of a product; database identities fit in an {@code int}.
+     */
+    private static int slot(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    /**
+     * The bitmaps of one generation of the index; a rebuild fills a new one and swaps it in.
+     */
+    private final class Facets {
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        /** category slot -> ids; slots are handed out on first use and never reused */
+        private final List<RoaringBitmap> byCategory = new ArrayList<>();
+        private final List<Long> categoryIds = new ArrayList<>();
+        private final Map<Long, Integer> categorySlots = new HashMap<>();
+        /** price range -> ids */
+        private final RoaringBitmap[] byPriceRange = new RoaringBitmap[priceRangeCount()];
+
+        private Facets() {
+            Arrays.setAll(byPriceRange, range -> new RoaringBitmap());
+        }
+
+        private void put(ProductIndexRow product) {
+            int id = slot(product.id());
+            all.add(id);
+            if (product.categoryId() != null) {
+                int slot = categorySlots.computeIfAbsent(product.categoryId(), categoryId -> {
+                    categoryIds.add(categoryId);
+                    byCategory.add(new RoaringBitmap());
+                    return byCategory.size() - 1;
+                });
+                byCategory.get(slot).add(id);
+            }
+            if (product.price() != null) {
+                byPriceRange[priceRange(product.price())].add(id);
+            }
+        }
+
+        private void delete(int id) {
+            if (!all.checkedRemove(id)) {
+                return;
+            }
+            // a product is in at most one category and one price range
+            for (RoaringBitmap category : byCategory) {
+                if (category.checkedRemove(id)) {
+                    break;
+                }
+            }
+            for (RoaringBitmap range : byPriceRange) {
+                if (range.checkedRemove(id)) {
+                    break;
+                }
+            }
+        }
+
+        private void runOptimize() {
+            all.runOptimize();
+            byCategory.forEach(RoaringBitmap::runOptimize);
+            Arrays.stream(byPriceRange).forEach(RoaringBitmap::runOptimize);
+        }
+    }
+
+    public record FacetHits(List<Long> ids, long total, List<CategoryCount> categories, List<PriceRangeCount> priceRanges) {
+    }
+}
@@ -0,0 +1,440 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductsImportedEvent;
+import app.quantun.springaimcp.model.contract.request.ProductImportRow;
+import app.quantun.springaimcp.model.contract.response.ProductImportResult;
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.repository.ProductRepository;
+import app.quantun.springaimcp.service.ProductImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk product import that bypasses the per-row JPA path.
+ * <p>
+ * Rows are parsed one at a time from the request stream, validated against the {@link Product}
+ * constraints and resolved to categories through {@link CategorySnapshot}, without a query.
+ * Valid rows are collected into chunks of {@code agent.import.chunk-size}. A chunk checks its SKUs
+ * in one query and is inserted with JDBC batches of {@code agent.import.batch-size} in its own
+ * transaction. Hibernate cannot batch inserts into the {@code IDENTITY} id column, but plain JDBC
+ * batches can, since no generated key is read back. If a batch fails (a SKU taken concurrently, a
+ * value too long for its column), its chunk is rolled back and retried row by row, so only the bad
+ * rows are rejected.
+ * <p>
+ * Imported rows publish no {@code ProductChangedEvent}. Once the last chunk has committed, a
+ * {@link ProductsImportedEvent} has {@link ProductIndexRebuilder} rebuild the in-memory product indexes
+ * in the background; the final line does not wait for it. The product cache holds no entries for new SKUs, so it needs no invalidation.
+ */
+@Service
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+
+    static final String INSERT = "INSERT INTO products (name, description, price, sku, created_at, updated_at, category_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ProductRepository productRepository;
+    private final CategorySnapshot categorySnapshot;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int batchSize;
+
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ProductRepository productRepository,
+                                    CategorySnapshot categorySnapshot,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${agent.import.chunk-size:2000}") int chunkSize,
+                                    @Value("${agent.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.productRepository = productRepository;
+        this.categorySnapshot = categorySnapshot;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void importProducts(InputStream input, Format format, OutputStream output) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Progress progress = new Progress(output, start);
+        RowReader rows = format == Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        Set<String> chunkSkus = new HashSet<>();
+
+        Row row;
+        while ((row = rows.next()) != null) {
+            progress.rows++;
+            try {
+                if (row.error() != null) {
+                    throw new IllegalArgumentException(row.error());
+                }
+                PendingRow pending = validate(row.line(), row.product());
+                if (!chunkSkus.add(pending.sku())) {
+                    throw new IllegalArgumentException("Duplicate SKU in the input: " + pending.sku());
+                }
+                chunk.add(pending);
+            } catch (IllegalArgumentException e) {
+                progress.reject(row.line(), row.product() == null ? null : row.product().sku(), e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                insertChunk(chunk, progress);
+                chunk.clear();
+                chunkSkus.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, progress);
+        }
+
+        if (progress.imported > 0) {
+            eventPublisher.publishEvent(new ProductsImportedEvent(progress.imported));
+        }
+        progress.write(ProductImportResult.done(progress.rows, progress.imported, progress.failed, progress.elapsedMs()));
+        log.info("Imported {} of {} products in {} ms ({} rejected)",
+                progress.imported, progress.rows, progress.elapsedMs(), progress.failed);
+    }
+
+    private PendingRow validate(long line, ProductImportRow row) {
+        Product product = new Product();
+        product.setName(strip(row.name()));
+        product.setDescription(strip(row.description()));
+        product.setPrice(row.price());
+        product.setSku(strip(row.sku()));
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new PendingRow(line, product.getName(), product.getDescription(), product.getPrice(), product.getSku(),
+                categoryId(row));
+    }
+
+    private Long categoryId(ProductImportRow row) {
+        if (row.categoryId() != null) {
+            return categorySnapshot.findById(row.categoryId())
+                    .map(Category::getId)
+                    .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + row.categoryId()));
+        }
+        String name = strip(row.category());
+        if (name == null) {
+            return null;
+        }
+        return categorySnapshot.findByName(name)
+                .map(Category::getId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found with name: " + name));
+    }
+
+    private void insertChunk(List<PendingRow> chunk, Progress progress) throws IOException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        List<PendingRow> taken = new ArrayList<>();
+        try {
+            transaction.executeWithoutResult(status -> {
+                Set<String> existing = new HashSet<>(productRepository.findExistingSkus(
+                        chunk.stream().map(PendingRow::sku).toList()));
+                for (PendingRow row : chunk) {
+                    (existing.contains(row.sku()) ? taken : accepted).add(row);
+                }
+                jdbcTemplate.batchUpdate(INSERT, accepted, batchSize, (statement, row) -> bind(statement, row, now));
+            });
+            progress.imported += accepted.size();
+        } catch (DataAccessException e) {
+            log.warn("Import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+            taken.clear();
+            insertRowByRow(chunk, now, progress);
+        }
+        for (PendingRow row : taken) {
+            progress.reject(row.line(), row.sku(), "SKU already exists: " + row.sku());
+        }
+        progress.write(ProductImportResult.progress(progress.rows, progress.imported, progress.failed, progress.elapsedMs()));
+    }
+
+    private void insertRowByRow(List<PendingRow> chunk, Timestamp now, Progress progress) throws IOException {
+        for (PendingRow row : chunk) {
+            try {
+                transaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT, statement -> bind(statement, row, now)));
+                progress.imported++;
+            } catch (DataAccessException e) {
+                String reason = e.getMostSpecificCause().getMessage();
+                progress.reject(row.line(), row.sku(), reason);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, PendingRow row, Timestamp now) throws SQLException {
+        statement.setString(1, row.name());
+        statement.setString(2, row.description());
+        statement.setBigDecimal(3, row.price());
+        statement.setString(4, row.sku());
+        statement.setTimestamp(5, now);
+        statement.setTimestamp(6, now);
+        if (row.categoryId() == null) {
+            statement.setNull(7, Types.BIGINT);
+        } else {
+            statement.setLong(7, row.categoryId());
+        }
+    }
+
+    private static String strip(String value) {
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    private record PendingRow(long line, String name, String description, BigDecimal price, String sku, Long categoryId) {
+    }
+
+    /**
+     * A parsed input row, or the reason it could not be parsed.
+     */
+    private record Row(long line, ProductImportRow product, String error) {
+    }
+
+    private interface RowReader {
+
+        /**
+         * The next non-blank row, or {@code null} at the end of the input.
+         */
+        Row next() throws IOException;
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private long lineNumber;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    ProductImportRow product = objectMapper.readValue(line, ProductImportRow.class);
+                    return product == null ? new Row(lineNumber, null, "Expected a JSON object")
+                            : new Row(lineNumber, product, null);
+                } catch (JsonProcessingException e) {
+                    return new Row(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * RFC 4180 records: comma-separated, fields optionally in double quotes, {@code ""} for a quote
+     * inside a quoted field, line breaks allowed in quoted fields. The first record names the
+     * columns ({@link ProductImportRow} components, any case and order); unknown columns are ignored.
+     */
+    private static final class CsvRowReader implements RowReader {
+
+        private static final String[] COLUMNS = {"name", "description", "price", "sku", "categoryid", "category"};
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long lineNumber;
+        private boolean headerRead;
+        private String headerError;
+
+        private CsvRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (!headerRead) {
+                readHeader();
+                if (headerError != null) {
+                    return new Row(1, null, headerError);
+                }
+            }
+            if (headerError != null) {
+                return null;
+            }
+            while (true) {
+                long line = lineNumber + 1;
+                List<String> fields;
+                try {
+                    fields = readRecord();
+                } catch (IllegalArgumentException e) {
+                    return new Row(line, null, e.getMessage());
+                }
+                if (fields == null) {
+                    return null;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Row(line, new ProductImportRow(field(fields, "name"), field(fields, "description"),
+                            decimal(field(fields, "price")), field(fields, "sku"),
+                            number(field(fields, "categoryid")), field(fields, "category")), null);
+                } catch (NumberFormatException e) {
+                    return new Row(line, null, "Malformed number: " + e.getMessage());
+                }
+            }
+        }
+
+        private void readHeader() throws IOException {
+            headerRead = true;
+            List<String> header = readRecord();
+            if (header == null) {
+                headerError = "Missing CSV header";
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                // a UTF-8 byte order mark ends up in front of the first column name
+                String name = header.get(i).replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT);
+                columns.putIfAbsent(name, i);
+            }
+            if (Arrays.stream(COLUMNS).noneMatch(columns::containsKey)) {
+                headerError = "CSV header names none of the columns " + String.join(", ", COLUMNS);
+            }
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).strip();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static BigDecimal decimal(String value) {
+            return value == null ? null : new BigDecimal(value);
+        }
+
+        private static Long number(String value) {
+            return value == null ? null : Long.valueOf(value);
+        }
+
+        private List<String> readRecord() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    line = reader.readLine();
+                    if (line == null) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    lineNumber++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Running totals, and the NDJSON writer of the response.
+     */
+    private final class Progress {
+
+        private final OutputStream output;
+        private final long start;
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private Progress(OutputStream output, long start) {
+            this.output = output;
+            this.start = start;
+        }
+
+        private void reject(long line, String sku, String error) throws IOException {
+            failed++;
+            write(ProductImportResult.error(line, sku, error));
+        }
+
+        private void write(ProductImportResult result) throws IOException {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+            output.flush();
+        }
+
+        private long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+}
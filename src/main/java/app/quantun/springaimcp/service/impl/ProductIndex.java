@@ -0,0 +1,33 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+
+/**
+ * An in-memory product index that {@link ProductIndexRebuilder} refills from the table.
+ */
+interface ProductIndex {
+
+    /**
+     * Starts buffering the changes that arrive during the rebuild ({@link ProductChangeBuffer})
+     * and returns the rebuild that receives the table's rows.
+     */
+    Rebuild startRebuild();
+
+    interface Rebuild {
+
+        /**
+         * Adds a row of the table; rows arrive in id order.
+         */
+        void add(ProductIndexRow product);
+
+        /**
+         * Swaps the rebuilt index in and replays the changes buffered since {@link #startRebuild()}.
+         */
+        void publish();
+
+        /**
+         * Stops buffering changes; called after {@link #publish()} or instead of it when reading the table failed.
+         */
+        void discard();
+    }
+}
@@ -0,0 +1,90 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductsImportedEvent;
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Refills the in-memory product indexes ({@link ProductSearchIndex}, {@link ProductAutocompleteIndex},
+ * {@link ProductFacetIndex} and {@link ProductPriceIndex}) from the table in a single pass.
+ * <p>
+ * Rows are read as {@link ProductIndexRow} projections, {@value #BATCH_SIZE} at a time after the last id
+ * of the previous batch, so every batch is an index seek however large the catalog, and each batch is
+ * handed to every index before the next one is read. Rebuilds run on one background thread, requested
+ * when the application is ready and after a bulk import ({@link ProductsImportedEvent}), so neither
+ * startup nor the import request waits for them; the indexes are empty until the first one finishes.
+ * A request made while another rebuild is still waiting to start is dropped, as that one reads the
+ * newer rows anyway.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductIndexRebuilder {
+
+    static final int BATCH_SIZE = 1_000;
+
+    private final ProductRepository productRepository;
+    private final List<ProductIndex> indexes;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("product-index-rebuild-"));
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    @EventListener({ApplicationReadyEvent.class, ProductsImportedEvent.class})
+    public void requestRebuild() {
+        if (!queued.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            queued.set(false);
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Product index rebuild failed", e);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds every index on the calling thread; rebuilds run one at a time.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<ProductIndex.Rebuild> rebuilds = indexes.stream().map(ProductIndex::startRebuild).toList();
+        long rows = 0;
+        try {
+            PageRequest pageable = PageRequest.ofSize(BATCH_SIZE);
+            List<ProductIndexRow> batch;
+            long after = Long.MIN_VALUE;
+            do {
+                batch = productRepository.findIndexRowsAfter(after, pageable);
+                for (ProductIndexRow product : batch) {
+                    rebuilds.forEach(rebuild -> rebuild.add(product));
+                }
+                rows += batch.size();
+                after = batch.isEmpty() ? after : batch.get(batch.size() - 1).id();
+            } while (batch.size() == BATCH_SIZE);
+            rebuilds.forEach(ProductIndex.Rebuild::publish);
+        } finally {
+            rebuilds.forEach(ProductIndex.Rebuild::discard);
+        }
+        log.info("Rebuilt {} product indexes from {} rows in {} ms", rebuilds.size(), rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,243 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of product prices for range queries ordered by price.
+ * <p>
+ * Prices are held as {@code long} cents in two parallel primitive arrays, {@code cents} and {@code ids},
+ * sorted by price and then id, the order of {@code Sort.by("price", "id")}. A range is two binary searches;
+ * its size is the total and a page is a slice of {@code ids}, so neither needs a count or a scan. Writes
+ * shift the arrays with {@link System#arraycopy}, which is cheap next to the transaction that produced
+ * them; a {@link LongLongHashMap} from id to cents locates the entry a product already has, so memory does
+ * not depend on how large the ids are. Prices with more than two decimals are rounded half-up to the cent.
+ * <p>
+ * Like {@link ProductSearchIndex} it applies {@link ProductChangedEvent}s after commit and is rebuilt
+ * by {@link ProductIndexRebuilder}.
+ */
+@Component
+@Slf4j
+public class ProductPriceIndex implements ProductIndex {
+
+    /** lowest representable cents, one above {@link #ABSENT} */
+    private static final long MIN_PRICE = Long.MIN_VALUE + 1;
+    /** no price indexed for an id; {@link #cents} never returns it */
+    private static final long ABSENT = Long.MIN_VALUE;
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(MIN_PRICE);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+    /** (cents[i], ids[i]) sorted by cents then id; only the first size entries are used */
+    private long[] cents = new long[16];
+    private long[] ids = new long[16];
+    private int size;
+    /** product id -> cents, ABSENT when not indexed; sized by the number of products, whatever their ids */
+    private LongLongHashMap centsById = new LongLongHashMap(ABSENT);
+
+    @Override
+    public Rebuild startRebuild() {
+        changes.start();
+        return new Rebuild() {
+            // in id order until publish sorts them by price
+            private long[] rebuiltCents = new long[16];
+            private long[] rebuiltIds = new long[16];
+            private int count;
+
+            @Override
+            public void add(ProductIndexRow product) {
+                if (product.price() == null) {
+                    return;
+                }
+                if (count == rebuiltCents.length) {
+                    rebuiltCents = Arrays.copyOf(rebuiltCents, count * 2);
+                    rebuiltIds = Arrays.copyOf(rebuiltIds, count * 2);
+                }
+                rebuiltCents[count] = cents(product.price(), RoundingMode.HALF_UP);
+                rebuiltIds[count++] = product.id();
+            }
+
+            @Override
+            public void publish() {
+                long[] byId = rebuiltCents;
+                Integer[] order = new Integer[count];
+                Arrays.setAll(order, i -> i);
+                // stable, so equal prices stay in id order
+                Arrays.sort(order, Comparator.comparingLong(i -> byId[i]));
+                long[] sortedCents = new long[Math.max(16, count)];
+                long[] sortedIds = new long[sortedCents.length];
+                LongLongHashMap rebuiltCentsById = new LongLongHashMap(ABSENT, count);
+                for (int i = 0; i < count; i++) {
+                    sortedCents[i] = rebuiltCents[order[i]];
+                    sortedIds[i] = rebuiltIds[order[i]];
+                    rebuiltCentsById.put(sortedIds[i], sortedCents[i]);
+                }
+
+                lock.writeLock().lock();
+                try {
+                    cents = sortedCents;
+                    ids = sortedIds;
+                    size = count;
+                    centsById = rebuiltCentsById;
+                    changes.finish().forEach(ProductPriceIndex.this::apply);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Indexed {} product prices", count);
+            }
+
+            @Override
+            public void discard() {
+                changes.finish();
+            }
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changes.record(event);
+        apply(event);
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.productId());
+        } else {
+            index(event.product());
+        }
+    }
+
+    /**
+     * Adds or replaces the price of a product.
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            delete(product.getId());
+            if (product.getPrice() != null) {
+                insert(cents(product.getPrice(), RoundingMode.HALF_UP), product.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the products priced from {@code minPrice} to {@code maxPrice} (both inclusive)
+     * ranked {@code offset} to {@code offset + limit - 1} by price and id, and the number of such products.
+     */
+    public PriceHits query(BigDecimal minPrice, BigDecimal maxPrice, long offset, int limit) {
+        long min = cents(minPrice, RoundingMode.CEILING);
+        long max = cents(maxPrice, RoundingMode.FLOOR);
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(min, Long.MIN_VALUE);
+            int to = max == Long.MAX_VALUE ? size : lowerBound(max + 1, Long.MIN_VALUE);
+            if (to <= from) {
+                return new PriceHits(List.of(), 0);
+            }
+            long first = from + Math.min(offset, to - from);
+            int last = (int) Math.min(to, first + Math.max(0, limit));
+            List<Long> page = new ArrayList<>(last - (int) first);
+            for (int i = (int) first; i < last; i++) {
+                page.add(ids[i]);
+            }
+            return new PriceHits(page, to - from);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(long price, long id) {
+        int at = lowerBound(price, id);
+        if (size == cents.length) {
+            cents = Arrays.copyOf(cents, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(cents, at, cents, at + 1, size - at);
+        System.arraycopy(ids, at, ids, at + 1, size - at);
+        cents[at] = price;
+        ids[at] = id;
+        size++;
+        centsById.put(id, price);
+    }
+
+    private void delete(long id) {
+        long price = centsById.remove(id);
+        if (price == ABSENT) {
+            return;
+        }
+        int at = lowerBound(price, id);
+        System.arraycopy(cents, at + 1, cents, at, size - at - 1);
+        System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+        size--;
+    }
+
+    /**
+     * First position whose (cents, id) is not less than the given pair.
+     */
+    private int lowerBound(long price, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cents[mid] < price || (cents[mid] == price && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Converts {@code price} to whole cents, clamped to {@code [Long.MIN_VALUE + 1, Long.MAX_VALUE]} so that
+     * an absurd bound such as {@code 1e20} selects everything instead of failing. The clamp is checked before
+     * rounding, which keeps a huge exponent from being expanded into digits.
+     */
+    static long cents(BigDecimal price, RoundingMode rounding) {
+        BigDecimal cents = price.movePointRight(2);
+        if (cents.compareTo(MAX_CENTS) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(MIN_CENTS) <= 0) {
+            return MIN_PRICE;
+        }
+        return cents.setScale(0, rounding).longValue();
+    }
+
+    public record PriceHits(List<Long> ids, long total) {
+    }
+}
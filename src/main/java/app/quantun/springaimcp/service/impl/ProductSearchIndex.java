@@ -0,0 +1,251 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over product name, description and SKU.
+ * <p>
+ * Name, description and SKU are split into lowercase letter/digit terms. Each posting
+ * holds the field-weighted term frequency of a product (name 3, SKU 2, description 1). A query
+ * matches products containing every query term, either exactly or, for terms of two characters or
+ * more, as a prefix of an indexed term at half weight. Matches are ranked by the sum of
+ * {@code weight * ln(1 + N / df)} over the query terms, ties by id.
+ * <p>
+ * The index applies the {@link ProductChangedEvent}s of {@link ProductServiceImpl} once their
+ * transaction commits, and is rebuilt from the table by {@link ProductIndexRebuilder}. A rebuild
+ * replays the changes that arrive while the table is read ({@link ProductChangeBuffer}), so a
+ * concurrent write is never undone by the swap. Rows changed without the service (raw SQL) are
+ * only picked up by the next rebuild.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex implements ProductIndex {
+
+    static final float NAME_WEIGHT = 3f;
+    static final float SKU_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+    static final float PREFIX_FACTOR = 0.5f;
+
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ProductChangeBuffer changes = new ProductChangeBuffer();
+    /** term -> product id -> weighted term frequency */
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    /** product id -> its indexed terms, to remove or replace a product */
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+
+    @Override
+    public Rebuild startRebuild() {
+        Map<Long, Map<String, Float>> rebuilt = new HashMap<>();
+        changes.start();
+        return new Rebuild() {
+            @Override
+            public void add(ProductIndexRow product) {
+                rebuilt.put(product.id(), terms(product));
+            }
+
+            @Override
+            public void publish() {
+                lock.writeLock().lock();
+                try {
+                    postings.clear();
+                    documents.clear();
+                    rebuilt.forEach(ProductSearchIndex.this::put);
+                    changes.finish().forEach(ProductSearchIndex.this::apply);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Indexed {} products for search", rebuilt.size());
+            }
+
+            @Override
+            public void discard() {
+                changes.finish();
+            }
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changes.record(event);
+        apply(event);
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.productId());
+        } else {
+            index(event.product());
+        }
+    }
+
+    /**
+     * Adds or replaces a product.
+     */
+    public void index(Product product) {
+        Map<String, Float> terms = terms(ProductIndexRow.of(product));
+        lock.writeLock().lock();
+        try {
+            delete(product.getId());
+            put(product.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the matches ranked {@code offset} to {@code offset + limit - 1}, best first,
+     * and the total number of matches.
+     */
+    public SearchHits search(String query, long offset, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Float> termScores = termScores(queryTerm);
+                scores = scores == null ? termScores : intersect(scores, termScores);
+                if (scores.isEmpty()) {
+                    return new SearchHits(List.of(), 0);
+                }
+            }
+            return new SearchHits(top(scores, offset, limit), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> termScores(String queryTerm) {
+        Map<Long, Float> scores = new HashMap<>();
+        addScores(scores, queryTerm, postings.get(queryTerm), 1f);
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false)
+                    .forEach((term, termPostings) -> addScores(scores, term, termPostings, PREFIX_FACTOR));
+        }
+        return scores;
+    }
+
+    private void addScores(Map<Long, Float> scores, String term, Map<Long, Float> termPostings, float factor) {
+        if (termPostings == null) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (double) documents.size() / termPostings.size());
+        // a product matching several expansions of a prefix keeps its best one
+        termPostings.forEach((id, weight) -> scores.merge(id, weight * idf * factor, Math::max));
+    }
+
+    private static Map<Long, Float> intersect(Map<Long, Float> left, Map<Long, Float> right) {
+        Map<Long, Float> both = new HashMap<>();
+        left.forEach((id, score) -> {
+            Float other = right.get(id);
+            if (other != null) {
+                both.put(id, score + other);
+            }
+        });
+        return both;
+    }
+
+    private static List<Long> top(Map<Long, Float> scores, long offset, int limit) {
+        if (offset >= scores.size() || limit <= 0) {
+            return List.of();
+        }
+        Comparator<Map.Entry<Long, Float>> ranking = Map.Entry.<Long, Float>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        int keep = (int) Math.min(scores.size(), offset + limit);
+        // min-heap of the best `keep` matches, worst on top
+        PriorityQueue<Map.Entry<Long, Float>> best = new PriorityQueue<>(keep, ranking.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > keep) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        return ranked.subList((int) offset, ranked.size()).stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void put(Long id, Map<String, Float> terms) {
+        documents.put(id, terms);
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+    }
+
+    private void delete(Long id) {
+        Map<String, Float> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Float> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    static Map<String, Float> terms(ProductIndexRow product) {
+        Map<String, Float> terms = new HashMap<>();
+        tokenize(product.name()).forEach(term -> terms.merge(term, NAME_WEIGHT, Float::sum));
+        tokenize(product.description()).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+        tokenize(product.sku()).forEach(term -> terms.merge(term, SKU_WEIGHT, Float::sum));
+        return terms;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TERM.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            terms.add(matcher.group());
+        }
+        return terms;
+    }
+
+    public record SearchHits(List<Long> ids, long total) {
+    }
+}
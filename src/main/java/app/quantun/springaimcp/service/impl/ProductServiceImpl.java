@@ -1,5 +1,12 @@
 package app.quantun.springaimcp.service.impl;
 
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.contract.request.KeysetCursor;
+import app.quantun.springaimcp.model.contract.response.CursorPage;
+import app.quantun.springaimcp.model.contract.response.ProductFacets;
+import app.quantun.springaimcp.model.contract.response.ProductSuggestion;
+import app.quantun.springaimcp.model.contract.response.ProductSummary;
+import app.quantun.springaimcp.model.contract.response.ResultSlice;
 import app.quantun.springaimcp.model.entity.Product;
 import app.quantun.springaimcp.repository.ProductRepository;
 import app.quantun.springaimcp.service.CategoryService;
@@ -8,39 +15,71 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    static final String BY_NAME = "name";
+    static final String BY_PRICE = "price";
+
+    private static final Sort NAME_ORDER = Sort.by(BY_NAME, "id");
+    private static final Sort PRICE_ORDER = Sort.by(BY_PRICE, "id");
+
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
+    private final PageQueryExecutor pageQueries;
+    private final ProductSearchIndex searchIndex;
+    private final ProductAutocompleteIndex autocompleteIndex;
+    private final ProductFacetIndex facetIndex;
+    private final ProductPriceIndex priceIndex;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Tool(description = "Find all products with pagination")
     public Page<Product> findAllProducts(@ToolParam(description = "Pagination settings") Pageable pageable) {
-        return productRepository.findAll(pageable);
+        return pageQueries.page(pageable,
+                () -> productRepository.findAll(pageable),
+                () -> productRepository.findAllBy(pageable),
+                () -> productRepository.count());
+    }
+
+    @Override
+    public Page<ProductSummary> findProductSummaries(boolean includeCategory, Pageable pageable) {
+        return includeCategory
+                ? productRepository.findSummariesWithCategory(pageable)
+                : productRepository.findSummaries(pageable);
     }
 
     @Override
     @Tool(description = "Find product by ID")
     public Product findProductById(@ToolParam(description = "Product Id") Long id) {
-        return productRepository.findById(id)
+        return productCache.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Product not found with id: " + id));
     }
 
     @Override
     @Tool(description = "Find product by SKU")
     public Product findProductBySku(@ToolParam(description = "Product sku") String sku) {
-        return productRepository.findBySku(sku)
+        return productCache.findBySku(sku)
                 .orElseThrow(() -> new NoSuchElementException("Product not found with SKU: " + sku));
     }
 
@@ -53,7 +92,7 @@ public class ProductServiceImpl implements ProductService {
         if (!categoryService.existsById(categoryId)) {
             throw new NoSuchElementException("Category not found with id: " + categoryId);
         }
-        return productRepository.findByCategoryId(categoryId, pageable);
+        return productsByCategory(categoryId, pageable);
     }
 
     @Override
@@ -65,7 +104,13 @@ public class ProductServiceImpl implements ProductService {
         if (minPrice.compareTo(maxPrice) > 0) {
             throw new IllegalArgumentException("Min price cannot be greater than max price");
         }
-        return productRepository.findByPriceBetween(minPrice, maxPrice, pageable);
+        if (isPriceOrder(pageable)) {
+            return productsByPriceFromIndex(minPrice, maxPrice, pageable);
+        }
+        return pageQueries.page(pageable,
+                () -> productRepository.findByPriceBetween(minPrice, maxPrice, pageable),
+                () -> productRepository.findSliceByPriceBetween(minPrice, maxPrice, pageable),
+                () -> productRepository.countByPriceBetween(minPrice, maxPrice));
     }
 
     @Override
@@ -73,7 +118,211 @@ public class ProductServiceImpl implements ProductService {
     public Page<Product> findProductsByNameContaining(
             @ToolParam(description = "Search keyword for product name") String keyword, 
             @ToolParam(description = "Pagination settings") Pageable pageable) {
-        return productRepository.findByNameContainingIgnoreCase(keyword, pageable);
+        return pageQueries.page(pageable,
+                () -> productRepository.findByNameContainingIgnoreCase(keyword, pageable),
+                () -> productRepository.findSliceByNameContainingIgnoreCase(keyword, pageable),
+                () -> productRepository.countByNameContainingIgnoreCase(keyword));
+    }
+
+    @Override
+    public Page<Product> searchProducts(String query, Pageable pageable) {
+        ProductSearchIndex.SearchHits hits = searchIndex.search(query, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total());
+    }
+
+    @Override
+    @Tool(description = "Filter products by categories and price ranges. Returns one page of matching products, "
+            + "the number of matches, and the number of products per category and per price range "
+            + "(each price range has an index to filter by)")
+    public ProductFacets findProductFacets(
+            @ToolParam(description = "Category IDs to include, all categories when empty", required = false) List<Long> categoryIds,
+            @ToolParam(description = "Price range indexes to include, all prices when empty", required = false) List<Integer> priceRanges,
+            @ToolParam(description = "Zero-based page number, 0 by default", required = false) Integer page,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        PageRequest pageable = ResultSlice.pageRequest(page, size, Sort.by("id"));
+        ProductFacetIndex.FacetHits hits = facetIndex.query(categoryIds, priceRanges, pageable.getOffset(), pageable.getPageSize());
+        return new ProductFacets(findAllInOrder(hits.ids()), pageable.getPageNumber(), pageable.getPageSize(),
+                hits.total(), hits.categories(), hits.priceRanges());
+    }
+
+    /**
+     * Loads products by id in the given order; a product deleted since the ids were read is skipped.
+     */
+    private List<Product> findAllInOrder(List<Long> ids) {
+        Map<Long, Product> products = new HashMap<>();
+        productRepository.findAllById(ids).forEach(product -> products.put(product.getId(), product));
+        return ids.stream().map(products::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<ProductSuggestion> autocompleteProducts(String prefix, Integer limit) {
+        int max = limit == null || limit < 1 ? ProductAutocompleteIndex.MAX_SUGGESTIONS
+                : Math.min(limit, ProductAutocompleteIndex.MAX_SUGGESTIONS);
+        return autocompleteIndex.complete(prefix, max);
+    }
+
+    @Override
+    @Tool(description = "Full-text search of products by name, description and SKU, best matches first. "
+            + "Every word must match, in full or as the start of a word")
+    public ResultSlice<Product> searchProducts(
+            @ToolParam(description = "Search words") String query,
+            @ToolParam(description = "Zero-based page number, 0 by default", required = false) Integer page,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        return ResultSlice.of(searchProducts(query, ResultSlice.pageRequest(page, size, Sort.unsorted())));
+    }
+
+    @Override
+    @Tool(description = "List products ordered by name, one page at a time. "
+            + "Tells whether more pages exist but does not count all matches unless includeTotal is set")
+    public ResultSlice<Product> findAllProductsSlice(
+            @ToolParam(description = "Zero-based page number, 0 by default", required = false) Integer page,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size,
+            @ToolParam(description = "Also count all matches; only set it when the total is needed", required = false) Boolean includeTotal) {
+        Pageable pageable = ResultSlice.pageRequest(page, size, NAME_ORDER);
+        return ResultSlice.of(Boolean.TRUE.equals(includeTotal)
+                ? findAllProducts(pageable)
+                : productRepository.findAllBy(pageable));
+    }
+
+    @Override
+    @Tool(description = "List products of a category ordered by name, one page at a time. "
+            + "Tells whether more pages exist but does not count all matches unless includeTotal is set")
+    public ResultSlice<Product> findProductsByCategorySlice(
+            @ToolParam(description = "Category ID to filter by") Long categoryId,
+            @ToolParam(description = "Zero-based page number, 0 by default", required = false) Integer page,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size,
+            @ToolParam(description = "Also count all matches; only set it when the total is needed", required = false) Boolean includeTotal) {
+        if (!categoryService.existsById(categoryId)) {
+            throw new NoSuchElementException("Category not found with id: " + categoryId);
+        }
+        Pageable pageable = ResultSlice.pageRequest(page, size, NAME_ORDER);
+        return ResultSlice.of(Boolean.TRUE.equals(includeTotal)
+                ? productsByCategory(categoryId, pageable)
+                : productRepository.findSliceByCategoryId(categoryId, pageable));
+    }
+
+    @Override
+    @Tool(description = "List products within a price range ordered by price, one page at a time. "
+            + "Tells whether more pages exist but does not count all matches unless includeTotal is set")
+    public ResultSlice<Product> findProductsByPriceRangeSlice(
+            @ToolParam(description = "Minimum price (inclusive)") BigDecimal minPrice,
+            @ToolParam(description = "Maximum price (inclusive)") BigDecimal maxPrice,
+            @ToolParam(description = "Zero-based page number, 0 by default", required = false) Integer page,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size,
+            @ToolParam(description = "Also count all matches; only set it when the total is needed", required = false) Boolean includeTotal) {
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("Min price cannot be greater than max price");
+        }
+        Pageable pageable = ResultSlice.pageRequest(page, size, PRICE_ORDER);
+        // the price index knows the total anyway; only report it when asked, like the other slices
+        Page<Product> products = productsByPriceFromIndex(minPrice, maxPrice, pageable);
+        return ResultSlice.of(Boolean.TRUE.equals(includeTotal)
+                ? products
+                : new SliceImpl<>(products.getContent(), pageable, products.hasNext()));
+    }
+
+    /**
+     * Whether a request is sorted the way the price index is: by ascending price, optionally then by ascending id.
+     */
+    private static boolean isPriceOrder(Pageable pageable) {
+        return pageable.isPaged() && (pageable.getSort().equals(Sort.by(BY_PRICE)) || pageable.getSort().equals(PRICE_ORDER));
+    }
+
+    private Page<Product> productsByPriceFromIndex(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        ProductPriceIndex.PriceHits hits = priceIndex.query(minPrice, maxPrice, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total());
+    }
+
+    @Override
+    @Tool(description = "Search products by name (case-insensitive) ordered by name, one page at a time. "
+            + "Tells whether more pages exist but does not count all matches unless includeTotal is set")
+    public ResultSlice<Product> findProductsByNameContainingSlice(
+            @ToolParam(description = "Search keyword for product name") String keyword,
+            @ToolParam(description = "Zero-based page number, 0 by default", required = false) Integer page,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size,
+            @ToolParam(description = "Also count all matches; only set it when the total is needed", required = false) Boolean includeTotal) {
+        Pageable pageable = ResultSlice.pageRequest(page, size, NAME_ORDER);
+        return ResultSlice.of(Boolean.TRUE.equals(includeTotal)
+                ? findProductsByNameContaining(keyword, pageable)
+                : productRepository.findSliceByNameContainingIgnoreCase(keyword, pageable));
+    }
+
+    @Override
+    @Tool(description = "List products ordered by name, one page at a time. Omit the cursor for the first page, "
+            + "then pass the nextCursor of the previous page until hasNext is false")
+    public CursorPage<Product> findAllProductsAfter(
+            @ToolParam(description = "nextCursor of the previous page", required = false) String cursor,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, BY_NAME);
+        List<Product> rows = after == null
+                ? productRepository.findByOrderByNameAscIdAsc(PageRequest.ofSize(pageSize + 1))
+                : productRepository.findAllAfter(after.key(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(rows, pageSize, ProductServiceImpl::nameCursor);
+    }
+
+    @Override
+    @Tool(description = "List products of a category ordered by name, one page at a time. Omit the cursor for the first page, "
+            + "then pass the nextCursor of the previous page until hasNext is false")
+    public CursorPage<Product> findProductsByCategoryAfter(
+            @ToolParam(description = "Category ID to filter by") Long categoryId,
+            @ToolParam(description = "nextCursor of the previous page", required = false) String cursor,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        if (!categoryService.existsById(categoryId)) {
+            throw new NoSuchElementException("Category not found with id: " + categoryId);
+        }
+        int pageSize = CursorPage.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, BY_NAME);
+        List<Product> rows = after == null
+                ? productRepository.findByCategoryIdOrderByNameAscIdAsc(categoryId, PageRequest.ofSize(pageSize + 1))
+                : productRepository.findByCategoryIdAfter(categoryId, after.key(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(rows, pageSize, ProductServiceImpl::nameCursor);
+    }
+
+    @Override
+    @Tool(description = "List products within a price range ordered by price, one page at a time. Omit the cursor for the first page, "
+            + "then pass the nextCursor of the previous page until hasNext is false")
+    public CursorPage<Product> findProductsByPriceRangeAfter(
+            @ToolParam(description = "Minimum price (inclusive)") BigDecimal minPrice,
+            @ToolParam(description = "Maximum price (inclusive)") BigDecimal maxPrice,
+            @ToolParam(description = "nextCursor of the previous page", required = false) String cursor,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("Min price cannot be greater than max price");
+        }
+        int pageSize = CursorPage.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, BY_PRICE);
+        List<Product> rows = after == null
+                ? productRepository.findByPriceBetweenOrderByPriceAscIdAsc(minPrice, maxPrice, PageRequest.ofSize(pageSize + 1))
+                : productRepository.findByPriceBetweenAfter(minPrice, maxPrice, after.decimalKey(), after.id(),
+                        PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(rows, pageSize, product -> new KeysetCursor(BY_PRICE, product.getPrice().toPlainString(), product.getId()));
+    }
+
+    @Override
+    @Tool(description = "Search products by name (case-insensitive) ordered by name, one page at a time. "
+            + "Omit the cursor for the first page, then pass the nextCursor of the previous page until hasNext is false")
+    public CursorPage<Product> findProductsByNameContainingAfter(
+            @ToolParam(description = "Search keyword for product name") String keyword,
+            @ToolParam(description = "nextCursor of the previous page", required = false) String cursor,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, BY_NAME);
+        List<Product> rows = after == null
+                ? productRepository.findByNameContainingIgnoreCaseOrderByNameAscIdAsc(keyword, PageRequest.ofSize(pageSize + 1))
+                : productRepository.findByNameContainingIgnoreCaseAfter(keyword, after.key(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(rows, pageSize, ProductServiceImpl::nameCursor);
+    }
+
+    private Page<Product> productsByCategory(Long categoryId, Pageable pageable) {
+        return pageQueries.page(pageable,
+                () -> productRepository.findByCategoryId(categoryId, pageable),
+                () -> productRepository.findSliceByCategoryId(categoryId, pageable),
+                () -> productRepository.countByCategoryId(categoryId));
+    }
+
+    private static KeysetCursor nameCursor(Product product) {
+        return new KeysetCursor(BY_NAME, product.getName(), product.getId());
     }
 
     @Override
@@ -84,7 +333,9 @@ public class ProductServiceImpl implements ProductService {
         if (product.getCategory() != null && product.getCategory().getId() != null) {
             categoryService.findCategoryById(product.getCategory().getId());
         }
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId(), saved));
+        return saved;
     }
 
     @Override
@@ -92,7 +343,9 @@ public class ProductServiceImpl implements ProductService {
     public Product updateProduct(
             @ToolParam(description = "ID of the product to update") Long id, 
             @ToolParam(description = "Product object with updated details") Product productDetails) {
-        Product product = findProductById(id);
+        // a managed copy to modify, never the shared cached one
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Product not found with id: " + id));
 
         product.setName(productDetails.getName());
         product.setDescription(productDetails.getDescription());
@@ -104,7 +357,9 @@ public class ProductServiceImpl implements ProductService {
             product.setCategory(productDetails.getCategory());
         }
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId(), saved));
+        return saved;
     }
 
     @Override
@@ -115,10 +370,11 @@ public class ProductServiceImpl implements ProductService {
             throw new NoSuchElementException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, null));
     }
 
     @Override
-    @Tool(description = "Check if a product exists by ID")
+    @Tool(name = "productExistsById", description = "Check if a product exists by ID")
     public boolean existsById(
             @ToolParam(description = "ID of the product to check") Long id) {
         return productRepository.existsById(id);
@@ -0,0 +1,112 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.config.ai.replay.InteractionRecorder;
+import app.quantun.springaimcp.model.contract.response.QuestionPlan;
+import app.quantun.springaimcp.service.QuestionPlanner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Splits compound questions with one call to the (cheaper) Gemini model.
+ * <p>
+ * A lexical pre-check skips the model call for questions that cannot be compound,
+ * so simple questions pay no planning latency. Planning is best effort: any failure
+ * falls back to answering the original question as a whole. The model call is recorded and
+ * replayed by the {@link InteractionRecorder} under the original question, so a replayed compound
+ * question is split into the recorded sub-questions.
+ */
+@Service
+@Slf4j
+public class QuestionPlannerImpl implements QuestionPlanner {
+
+    /**
+     * Two questions, two clauses separated by a semicolon, or a conjunction that starts a new
+     * question or request ("... and how many admins exist"). A bare "and" joins nouns far more often
+     * ("tables and columns", "between 10 and 50") and is not a hint.
+     */
+    private static final Pattern COMPOUND_HINT = Pattern.compile(
+            "\\?.*\\S.*\\?|;\\s*\\S"
+                    + "|\\b(and|also|as well as|plus)\\s+(also\\s+)?"
+                    + "(what|which|who|whose|when|where|why|how|list|show|count|give|tell|find)\\b");
+
+    private final ChatClient plannerChatClient;
+    private final InteractionRecorder interactionRecorder;
+
+    @Value("classpath:templates/ai/user/store/question-decomposition.st")
+    private Resource decompositionTemplate;
+
+    @Value("${agent.planner.enabled:true}")
+    private boolean enabled;
+
+    @Value("${agent.planner.max-sub-questions:4}")
+    private int maxSubQuestions;
+
+    public QuestionPlannerImpl(@Qualifier("geminiAiChatClient") ChatClient plannerChatClient,
+                               InteractionRecorder interactionRecorder) {
+        this.plannerChatClient = plannerChatClient;
+        this.interactionRecorder = interactionRecorder;
+    }
+
+    @Override
+    public List<String> decompose(String question) {
+        if (!enabled || !mayBeCompound(question)) {
+            return List.of(question);
+        }
+        try {
+            BeanOutputConverter<QuestionPlan> format = new BeanOutputConverter<>(QuestionPlan.class);
+            Prompt prompt = new Prompt(new UserMessage(new PromptTemplate(this.decompositionTemplate)
+                    .render(Map.of("question", question, "format", format.getFormat()))));
+
+            String response = plan(question, prompt);
+            if (response == null) {
+                return List.of(question);
+            }
+            List<String> subQuestions = format.convert(response).getSubQuestions().stream()
+                    .filter(StringUtils::hasText)
+                    .distinct()
+                    .toList();
+            if (subQuestions.size() <= 1 || subQuestions.size() > maxSubQuestions) {
+                return List.of(question);
+            }
+            log.debug("Decomposed question into {} sub-questions: {}", subQuestions.size(), subQuestions);
+            return subQuestions;
+        } catch (RuntimeException e) {
+            log.warn("Question planning failed, answering as a whole: {}", e.getMessage());
+            return List.of(question);
+        }
+    }
+
+    static boolean mayBeCompound(String question) {
+        return COMPOUND_HINT.matcher(question.toLowerCase(Locale.ROOT)).find();
+    }
+
+    private String plan(String question, Prompt prompt) {
+        interactionRecorder.beginPlanning(question);
+        try {
+            long start = System.nanoTime();
+            ChatResponse response = plannerChatClient.prompt(prompt).call().chatResponse();
+            if (response == null) {
+                return null;
+            }
+            interactionRecorder.recordModelTurn(prompt, response, System.nanoTime() - start);
+            return response.getResult() == null ? null : response.getResult().getOutput().getText();
+        } finally {
+            interactionRecorder.endPlanning();
+        }
+    }
+}
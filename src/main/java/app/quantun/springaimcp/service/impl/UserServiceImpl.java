@@ -1,5 +1,8 @@
 package app.quantun.springaimcp.service.impl;
 
+import app.quantun.springaimcp.model.contract.request.KeysetCursor;
+import app.quantun.springaimcp.model.contract.response.CursorPage;
+import app.quantun.springaimcp.model.contract.response.ResultSlice;
 import app.quantun.springaimcp.model.entity.Role;
 import app.quantun.springaimcp.model.entity.User;
 import app.quantun.springaimcp.repository.UserRepository;
@@ -8,11 +11,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 
 @Service
@@ -20,7 +26,12 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    static final String BY_USERNAME = "username";
+
+    private static final Sort USERNAME_ORDER = Sort.by(BY_USERNAME, "id");
+
     private final UserRepository userRepository;
+    private final PageQueryExecutor pageQueries;
 
 
     @Override
@@ -55,7 +66,53 @@ public class UserServiceImpl implements UserService {
     @Override
     @Tool(description = "Find user by role")
     public Page<User> findUsersByRole(@ToolParam(description = "Role Name")  Role role, @ToolParam(description = "Pagination settings pageable")  Pageable pageable) {
-        return userRepository.findByRole(role, pageable);
+        return pageQueries.page(pageable,
+                () -> userRepository.findByRole(role, pageable),
+                () -> userRepository.findSliceByRole(role, pageable),
+                () -> userRepository.countByRole(role));
+    }
+
+    @Override
+    @Tool(description = "List users with a role ordered by username, one page at a time. "
+            + "Tells whether more pages exist but does not count all matches unless includeTotal is set")
+    public ResultSlice<User> findUsersByRoleSlice(
+            @ToolParam(description = "Role Name") Role role,
+            @ToolParam(description = "Zero-based page number, 0 by default", required = false) Integer page,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size,
+            @ToolParam(description = "Also count all matches; only set it when the total is needed", required = false) Boolean includeTotal) {
+        Pageable pageable = ResultSlice.pageRequest(page, size, USERNAME_ORDER);
+        return ResultSlice.of(Boolean.TRUE.equals(includeTotal)
+                ? findUsersByRole(role, pageable)
+                : userRepository.findSliceByRole(role, pageable));
+    }
+
+    @Override
+    @Tool(description = "List users ordered by username, one page at a time. Omit the cursor for the first page, "
+            + "then pass the nextCursor of the previous page until hasNext is false")
+    public CursorPage<User> findAllUsersAfter(
+            @ToolParam(description = "nextCursor of the previous page", required = false) String cursor,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, BY_USERNAME);
+        List<User> rows = after == null
+                ? userRepository.findByOrderByUsernameAscIdAsc(PageRequest.ofSize(pageSize + 1))
+                : userRepository.findAllAfter(after.key(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(rows, pageSize, UserServiceImpl::usernameCursor);
+    }
+
+    @Override
+    @Tool(description = "List users with a role ordered by username, one page at a time. Omit the cursor for the first page, "
+            + "then pass the nextCursor of the previous page until hasNext is false")
+    public CursorPage<User> findUsersByRoleAfter(
+            @ToolParam(description = "Role Name") Role role,
+            @ToolParam(description = "nextCursor of the previous page", required = false) String cursor,
+            @ToolParam(description = "Page size, 20 by default and at most 100", required = false) Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, BY_USERNAME);
+        List<User> rows = after == null
+                ? userRepository.findByRoleOrderByUsernameAscIdAsc(role, PageRequest.ofSize(pageSize + 1))
+                : userRepository.findByRoleAfter(role, after.key(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(rows, pageSize, UserServiceImpl::usernameCursor);
     }
 
 
@@ -150,7 +207,7 @@ public class UserServiceImpl implements UserService {
         return userRepository.save(user);
     }
 
-    @Tool(description = "Check if a user exists by ID")
+    @Tool(name = "userExistsById", description = "Check if a user exists by ID")
     @Override
     public boolean existsById(@ToolParam(description = "ID of the user to check") Long id) {
         return userRepository.existsById(id);
@@ -167,4 +224,8 @@ public class UserServiceImpl implements UserService {
     public boolean existsByUsername(@ToolParam(description = "Username to check") String username) {
         return userRepository.findByUsername(username).isPresent();
     }
+
+    private static KeysetCursor usernameCursor(User user) {
+        return new KeysetCursor(BY_USERNAME, user.getUsername(), user.getId());
+    }
 }
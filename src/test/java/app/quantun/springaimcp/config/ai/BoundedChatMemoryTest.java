@@ -0,0 +1,145 @@
+package app.quantun.springaimcp.config.ai;
+
+import app.quantun.springaimcp.config.ai.tool.ToolCallCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedChatMemoryTest {
+
+    @Test
+    void should_ReturnLastMessages_WhenGetConversation() {
+        // Arrange
+        BoundedChatMemory memory = new BoundedChatMemory(10_000, 10, 4, 50);
+        memory.add("c1", List.of(new UserMessage("How many products?"), new AssistantMessage("There are 6 products.")));
+
+        // Act
+        List<Message> result = memory.get("c1", 1);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("There are 6 products.", result.get(0).getText());
+        assertTrue(memory.get("unknown", 10).isEmpty());
+    }
+
+    @Test
+    void should_EvictLeastRecentlyUsedConversation_WhenByteBudgetExceeded() {
+        // Arrange
+        BoundedChatMemory memory = new BoundedChatMemory(100, 10, 4, 50);
+        memory.add("old", List.of(new UserMessage("a".repeat(40))));
+        memory.add("recent", List.of(new UserMessage("b".repeat(40))));
+        memory.get("old", 10); // touch "old" so "recent" becomes the eldest
+
+        // Act
+        memory.add("new", List.of(new UserMessage("c".repeat(40))));
+
+        // Assert
+        assertEquals(2, memory.conversationCount());
+        assertFalse(memory.get("old", 10).isEmpty());
+        assertTrue(memory.get("recent", 10).isEmpty());
+        assertFalse(memory.get("new", 10).isEmpty());
+        assertTrue(memory.totalBytes() <= 100);
+    }
+
+    @Test
+    void should_CompactOldTurnsIntoSummary_WhenConversationTooLong() {
+        // Arrange
+        BoundedChatMemory memory = new BoundedChatMemory(100_000, 4, 2, 20);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            memory.add("c1", List.of(new UserMessage("question " + i)));
+        }
+
+        // Assert
+        List<Message> history = memory.get("c1", 10);
+        assertEquals(3, history.size());
+        assertEquals(MessageType.SYSTEM, history.get(0).getMessageType());
+        assertTrue(history.get(0).getText().contains("question 0"));
+        assertTrue(history.get(0).getText().contains("question 2"));
+        assertEquals("question 4", history.get(2).getText());
+    }
+
+    @Test
+    void should_ReleaseBytes_WhenClearConversation() {
+        // Arrange
+        BoundedChatMemory memory = new BoundedChatMemory(10_000, 10, 4, 50);
+        memory.add("c1", List.of(new UserMessage("hello")));
+
+        // Act
+        memory.clear("c1");
+
+        // Assert
+        assertEquals(0, memory.totalBytes());
+        assertEquals(0, memory.conversationCount());
+    }
+
+    @Test
+    void should_ReuseToolResults_WhenConversationContinues() {
+        // Arrange
+        BoundedChatMemory memory = new BoundedChatMemory(10_000, 10, 4, 50);
+        memory.toolResults("c1").put("sql", "queryToJsonStructure", "{\"sql\":\"SELECT 1\"}", "[1]");
+        memory.add("c1", List.of(new UserMessage("hello")));
+
+        // Act
+        String result = memory.toolResults("c1").get("sql", "queryToJsonStructure", "{ \"sql\" : \"SELECT 1\" }");
+
+        // Assert
+        assertEquals("[1]", result);
+        assertNull(memory.toolResults("c2").get("sql", "queryToJsonStructure", "{\"sql\":\"SELECT 1\"}"));
+    }
+
+    @Test
+    void should_CountToolResultsAgainstBudget_WhenStoredAndInvalidated() {
+        // Arrange
+        BoundedChatMemory memory = new BoundedChatMemory(10_000, 10, 4, 50);
+        ToolCallCache toolResults = memory.toolResults("c1");
+
+        // Act
+        toolResults.put("product", "findAll", "{}", "x".repeat(100));
+
+        // Assert
+        assertEquals(100 + "findAll:{}".length(), memory.totalBytes());
+        toolResults.invalidate(Set.of("product"));
+        assertEquals(0, memory.totalBytes());
+    }
+
+    @Test
+    void should_DropToolResultsBeforeMessages_WhenConversationAloneExceedsBudget() {
+        // Arrange
+        BoundedChatMemory memory = new BoundedChatMemory(100, 10, 4, 50);
+        memory.add("c1", List.of(new UserMessage("a".repeat(40))));
+        ToolCallCache toolResults = memory.toolResults("c1");
+
+        // Act
+        toolResults.put("product", "findAll", "{}", "x".repeat(80));
+        toolResults.put("product", "findById", "{}", "y".repeat(80));
+
+        // Assert
+        assertEquals(40, memory.totalBytes());
+        assertEquals(1, memory.get("c1", 10).size());
+        assertNotSame(toolResults, memory.toolResults("c1"));
+    }
+
+    @Test
+    void should_NotServeToolResult_WhenOlderThanMaxAge() throws InterruptedException {
+        // Arrange
+        BoundedChatMemory memory = new BoundedChatMemory(10_000, 10, 4, 50, Duration.ofMillis(1));
+        memory.toolResults("c1").put("user", "findAll", "{}", "[]");
+        Thread.sleep(5);
+
+        // Act
+        String result = memory.toolResults("c1").get("user", "findAll", "{}");
+
+        // Assert
+        assertNull(result);
+    }
+}
@@ -0,0 +1,94 @@
+package app.quantun.springaimcp.config.ai.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InteractionLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_ReadRecordsInAppendOrder_WhenLogClosed() throws Exception {
+        // Arrange
+        Path path = tempDir.resolve("interactions.log");
+        try (InteractionLog log = new InteractionLog(path, 1024)) {
+            log.append(bytes("first"));
+            log.append(bytes("second"));
+        }
+
+        // Act
+        List<String> records = readAll(path);
+
+        // Assert
+        assertEquals(List.of("first", "second"), records);
+        assertEquals(2 * Integer.BYTES + "firstsecond".length(), Files.size(path));
+    }
+
+    @Test
+    void should_MapNewSegment_WhenRecordDoesNotFit() throws Exception {
+        // Arrange
+        Path path = tempDir.resolve("interactions.log");
+        String large = "x".repeat(100);
+
+        // Act
+        try (InteractionLog log = new InteractionLog(path, 64)) {
+            log.append(bytes("small"));
+            log.append(bytes(large));
+            log.append(bytes("after"));
+        }
+
+        // Assert
+        assertEquals(List.of("small", large, "after"), readAll(path));
+    }
+
+    @Test
+    void should_ContinueAfterLastRecord_WhenExistingLogReopened() throws Exception {
+        // Arrange
+        Path path = tempDir.resolve("interactions.log");
+        try (InteractionLog log = new InteractionLog(path, 1024)) {
+            log.append(bytes("first"));
+        }
+
+        // Act
+        try (InteractionLog log = new InteractionLog(path, 1024)) {
+            log.append(bytes("second"));
+        }
+
+        // Assert
+        assertEquals(List.of("first", "second"), readAll(path));
+    }
+
+    @Test
+    void should_ReadCompleteRecords_WhenLogNotClosed() throws Exception {
+        // Arrange
+        Path path = tempDir.resolve("interactions.log");
+        InteractionLog log = new InteractionLog(path, 1024);
+        log.append(bytes("first"));
+
+        // Act
+        List<String> records = readAll(path);
+
+        // Assert
+        assertEquals(List.of("first"), records);
+        log.close();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readAll(Path path) throws Exception {
+        List<String> records = new ArrayList<>();
+        InteractionLog.read(path, payload -> records.add(new String(payload, StandardCharsets.UTF_8)));
+        return records;
+    }
+}
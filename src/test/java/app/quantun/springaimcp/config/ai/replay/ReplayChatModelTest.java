@@ -0,0 +1,71 @@
+package app.quantun.springaimcp.config.ai.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplayChatModelTest {
+
+    private static final String COMPOUND = "How many products and how many users?";
+
+    @Mock
+    private InteractionRecorder recorder;
+
+    private final List<InteractionRecord> records = List.of(
+            entry("plan-1", InteractionRecord.Type.PLAN, COMPOUND, null),
+            entry("plan-1", InteractionRecord.Type.MODEL_TURN, "gemini", "{\"subQuestions\":[\"How many products?\",\"How many users?\"]}"),
+            entry("question-1", InteractionRecord.Type.QUESTION, "How many products?", null),
+            entry("question-1", InteractionRecord.Type.MODEL_TURN, "claude", "{\"answer\":\"42\"}"));
+
+    @Test
+    void should_ReturnRecordedPlan_WhenPlanning() {
+        // Arrange
+        when(recorder.currentQuestion()).thenReturn(COMPOUND);
+        when(recorder.isPlanning()).thenReturn(true);
+        ReplayChatModel model = new ReplayChatModel(records, recorder, false);
+
+        // Act
+        String output = model.call(new Prompt(new UserMessage("Split this question: " + COMPOUND)))
+                .getResult().getOutput().getText();
+
+        // Assert
+        assertTrue(output.contains("How many users?"));
+    }
+
+    @Test
+    void should_ReturnRecordedTurn_WhenAnsweringSubQuestion() {
+        // Arrange
+        when(recorder.currentQuestion()).thenReturn("How many products?");
+        ReplayChatModel model = new ReplayChatModel(records, recorder, false);
+
+        // Act
+        String output = model.call(new Prompt(new UserMessage("How many products?"))).getResult().getOutput().getText();
+
+        // Assert
+        assertEquals("{\"answer\":\"42\"}", output);
+    }
+
+    @Test
+    void should_Fail_WhenQuestionWasOnlyPlanned() {
+        // Arrange
+        when(recorder.currentQuestion()).thenReturn(COMPOUND);
+        ReplayChatModel model = new ReplayChatModel(records, recorder, false);
+
+        // Act & Assert
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> model.call(new Prompt(new UserMessage(COMPOUND))));
+        assertTrue(e.getMessage().startsWith("No recorded interaction for question"));
+    }
+
+    private static InteractionRecord entry(String requestId, InteractionRecord.Type type, String name, String output) {
+        return new InteractionRecord(requestId, type, 0, 0, name, null, output, null, null, null);
+    }
+}
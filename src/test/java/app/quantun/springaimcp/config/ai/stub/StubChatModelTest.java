@@ -0,0 +1,117 @@
+package app.quantun.springaimcp.config.ai.stub;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StubChatModelTest {
+
+    private static final String QUESTION = "Which tables does the database have?";
+    private static final String ANSWER = "The database has three tables.";
+
+    @Mock
+    private ToolCallingManager toolCallingManager;
+
+    @Mock
+    private ToolExecutionResult toolExecutionResult;
+
+    private final StubScript script = new StubScript(List.of(new StubScript.Scenario(Pattern.compile("tables"), List.of(
+            new StubScript.Turn(List.of(
+                    new StubScript.ToolCall("getAllTables", null),
+                    new StubScript.ToolCall("getColumnsFromTables", "{\"tableName\":\"PRODUCTS\"}")), null),
+            new StubScript.Turn(null, ANSWER)))), "I do not know.");
+
+    @Test
+    void should_EmitScriptedToolCalls_WhenToolExecutionIsExternal() {
+        // Arrange
+        StubChatModel model = model();
+        ToolCallingChatOptions options = ToolCallingChatOptions.builder().internalToolExecutionEnabled(false).build();
+
+        // Act
+        ChatResponse response = model.call(new Prompt(List.of(new UserMessage(QUESTION)), options));
+
+        // Assert
+        List<AssistantMessage.ToolCall> toolCalls = response.getResult().getOutput().getToolCalls();
+        assertEquals(List.of("getAllTables", "getColumnsFromTables"), toolCalls.stream().map(AssistantMessage.ToolCall::name).toList());
+        assertEquals("{}", toolCalls.get(0).arguments());
+        assertEquals("{\"tableName\":\"PRODUCTS\"}", toolCalls.get(1).arguments());
+        assertEquals(List.of("stub-1", "stub-2"), toolCalls.stream().map(AssistantMessage.ToolCall::id).toList());
+        verifyNoInteractions(toolCallingManager);
+    }
+
+    @Test
+    void should_ExecuteToolsAndAnswer_WhenToolExecutionIsInternal() {
+        // Arrange
+        StubChatModel model = model();
+        AssistantMessage toolRound = new AssistantMessage("", Map.of(),
+                List.of(new AssistantMessage.ToolCall("stub-1", "function", "getAllTables", "{}")));
+        List<Message> history = List.of(new UserMessage(QUESTION), toolRound);
+        when(toolExecutionResult.conversationHistory()).thenReturn(history);
+        when(toolCallingManager.executeToolCalls(any(), any())).thenReturn(toolExecutionResult);
+
+        // Act
+        ChatResponse response = model.call(new Prompt(List.of(new UserMessage(QUESTION)), ToolCallingChatOptions.builder().build()));
+
+        // Assert
+        assertEquals(ANSWER, response.getResult().getOutput().getText());
+        ArgumentCaptor<ChatResponse> requested = ArgumentCaptor.forClass(ChatResponse.class);
+        verify(toolCallingManager).executeToolCalls(any(), requested.capture());
+        assertTrue(requested.getValue().hasToolCalls());
+        assertEquals(2, requested.getValue().getResult().getOutput().getToolCalls().size());
+    }
+
+    @Test
+    void should_ReturnDefaultContent_WhenNoScenarioMatches() {
+        // Arrange
+        StubChatModel model = model();
+
+        // Act
+        ChatResponse response = model.call(new Prompt(List.of(new UserMessage("Hello")), ToolCallingChatOptions.builder().build()));
+
+        // Assert
+        assertEquals("I do not know.", response.getResult().getOutput().getText());
+        assertEquals(2, response.getMetadata().getUsage().getPromptTokens().longValue());
+        verifyNoInteractions(toolCallingManager);
+    }
+
+    @Test
+    void should_StreamAnswerTokenByToken_WhenStreaming() {
+        // Arrange
+        StubChatModel model = model();
+        List<Message> history = List.of(new UserMessage(QUESTION), new AssistantMessage("", Map.of(),
+                List.of(new AssistantMessage.ToolCall("stub-1", "function", "getAllTables", "{}"))));
+
+        // Act
+        List<String> chunks = model.stream(new Prompt(history, ToolCallingChatOptions.builder().build()))
+                .map(response -> response.getResult().getOutput().getText())
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(List.of("The ", "database ", "has ", "three ", "tables."), chunks);
+    }
+
+    private StubChatModel model() {
+        return new StubChatModel(script, new StubLatency("fixed", 0, 0, 0, 0), Duration.ZERO, toolCallingManager);
+    }
+}
@@ -0,0 +1,68 @@
+package app.quantun.springaimcp.config.ai.stub;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubLatencyTest {
+
+    @Test
+    void should_ReturnMedian_WhenDistributionIsFixed() {
+        // Arrange
+        StubLatency latency = new StubLatency("fixed", 10, 400, 5000, 0.5);
+
+        // Act & Assert
+        assertEquals(400, latency.sampleMillis());
+    }
+
+    @RepeatedTest(5)
+    void should_StayWithinBounds_WhenDistributionIsUniform() {
+        // Arrange
+        StubLatency latency = new StubLatency("uniform", 50, 100, 150, 0);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            long millis = latency.sampleMillis();
+            assertTrue(millis >= 50 && millis <= 150, "sample " + millis);
+        }
+    }
+
+    @Test
+    void should_ReturnMin_WhenUniformBoundsAreEqual() {
+        // Arrange
+        StubLatency latency = new StubLatency("UNIFORM", 75, 75, 75, 0);
+
+        // Act & Assert
+        assertEquals(75, latency.sampleMillis());
+    }
+
+    @RepeatedTest(5)
+    void should_ClampToBounds_WhenDistributionIsLogNormal() {
+        // Arrange
+        StubLatency latency = new StubLatency("log-normal", 300, 400, 500, 3.0);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            long millis = latency.sampleMillis();
+            assertTrue(millis >= 300 && millis <= 500, "sample " + millis);
+        }
+    }
+
+    @Test
+    void should_ReturnMedian_WhenLogNormalHasNoSpread() {
+        // Arrange
+        StubLatency latency = new StubLatency("log_normal", 0, 400, 5000, 0);
+
+        // Act & Assert
+        assertEquals(400, latency.sampleMillis());
+    }
+
+    @Test
+    void should_Reject_WhenBoundsAreInvalid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new StubLatency("fixed", -1, 0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new StubLatency("fixed", 20, 0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new StubLatency("gaussian", 0, 0, 10, 0));
+    }
+}
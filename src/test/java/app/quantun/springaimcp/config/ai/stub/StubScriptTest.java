@@ -0,0 +1,84 @@
+package app.quantun.springaimcp.config.ai.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubScriptTest {
+
+    private static final StubScript.Turn TABLES = new StubScript.Turn(
+            List.of(new StubScript.ToolCall("getAllTables", "{}")), null);
+    private static final StubScript.Turn ANSWER = new StubScript.Turn(null, "{\"text\":\"done\"}");
+
+    @Test
+    void should_PlayFirstMatchingScenario_WhenSeveralMatch() {
+        // Arrange
+        StubScript script = new StubScript(List.of(
+                new StubScript.Scenario(Pattern.compile("(?i)\\btables?\\b"), List.of(TABLES, ANSWER)),
+                new StubScript.Scenario(null, List.of(ANSWER))), "fallback");
+
+        // Act
+        StubScript.Scenario tables = script.scenarioFor("Which TABLES exist?");
+        StubScript.Scenario other = script.scenarioFor("Hello");
+
+        // Assert
+        assertSame(TABLES, tables.turn(0));
+        assertSame(ANSWER, other.turn(0));
+    }
+
+    @Test
+    void should_ReturnNull_WhenNoScenarioMatches() {
+        // Arrange
+        StubScript script = new StubScript(List.of(
+                new StubScript.Scenario(Pattern.compile("products"), List.of(ANSWER))), "fallback");
+
+        // Act & Assert
+        assertNull(script.scenarioFor("How many users?"));
+        assertNull(new StubScript(null, "fallback").scenarioFor("products"));
+    }
+
+    @Test
+    void should_SkipScenario_WhenItHasNoTurns() {
+        // Arrange
+        StubScript.Scenario answer = new StubScript.Scenario(null, List.of(ANSWER));
+        StubScript script = new StubScript(List.of(
+                new StubScript.Scenario(null, List.of()), answer), "fallback");
+
+        // Act & Assert
+        assertSame(answer, script.scenarioFor("anything"));
+    }
+
+    @Test
+    void should_RepeatLastTurn_WhenRoundsExceedTurns() {
+        // Arrange
+        StubScript.Scenario scenario = new StubScript.Scenario(null, List.of(TABLES, ANSWER));
+
+        // Act & Assert
+        assertTrue(scenario.turn(0).requestsTools());
+        assertFalse(scenario.turn(1).requestsTools());
+        assertSame(ANSWER, scenario.turn(5));
+    }
+
+    @Test
+    void should_CompilePatterns_WhenScriptIsLoaded() throws IOException {
+        // Arrange
+        StubScript script;
+        try (InputStream input = getClass().getResourceAsStream("/stub/agent-script.json")) {
+            script = new ObjectMapper().readValue(input, StubScript.class);
+        }
+
+        // Act
+        StubScript.Scenario scenario = script.scenarioFor("{\"text\":\"Which tables does the database have?\"}");
+
+        // Assert
+        assertTrue(script.scenarios().stream().allMatch(s -> s.match() instanceof Pattern));
+        assertEquals("getAllTables", scenario.turn(0).toolCalls().get(0).name());
+        assertNull(script.scenarioFor("{\"text\":\"Hello\"}"));
+    }
+}
@@ -0,0 +1,74 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import app.quantun.springaimcp.config.jfr.ToolInvocationEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JfrToolCallbackTest {
+
+    @Mock
+    private ToolCallback findProducts;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_EmitEventWithRowCount_WhenRecordingEnabled() throws Exception {
+        // Arrange
+        when(findProducts.getToolDefinition()).thenReturn(ToolDefinition.builder()
+                .name("findAllProducts").description("Find all products").inputSchema("{}").build());
+        when(findProducts.call(anyString(), any())).thenReturn("[{\"id\":1},{\"id\":2},{\"id\":3}]");
+        JfrToolCallback callback = new JfrToolCallback(findProducts, "product");
+        Path file = tempDir.resolve("tools.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(ToolInvocationEvent.class);
+            recording.start();
+            callback.call("{}");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("app.quantun.ToolInvocation"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("findAllProducts", events.get(0).getString("toolName"));
+        assertEquals("product", events.get(0).getString("domain"));
+        assertEquals(3, events.get(0).getInt("rowCount"));
+        assertTrue(events.get(0).getBoolean("succeeded"));
+    }
+
+    @Test
+    void should_OnlyDelegate_WhenNoRecordingRunning() {
+        // Arrange
+        when(findProducts.call(anyString(), any())).thenReturn("[]");
+        JfrToolCallback callback = new JfrToolCallback(findProducts, "product");
+
+        // Act
+        String result = callback.call("{}");
+
+        // Assert
+        assertEquals("[]", result);
+        verify(findProducts, never()).getToolDefinition();
+    }
+}
@@ -0,0 +1,83 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemoizingToolCallbackTest {
+
+    @Mock
+    private ToolCallback findCategory;
+
+    @Mock
+    private ToolCallback saveCategory;
+
+    private ToolCallCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ToolCallCache();
+        lenient().when(findCategory.getToolDefinition()).thenReturn(ToolDefinition.builder()
+                .name("findCategoryById").description("Find category by ID").inputSchema("{}").build());
+        lenient().when(saveCategory.getToolDefinition()).thenReturn(ToolDefinition.builder()
+                .name("saveCategory").description("Create a new category").inputSchema("{}").build());
+    }
+
+    @Test
+    void should_CallDelegateOnce_WhenSameArgumentsRepeated() {
+        // Arrange
+        when(findCategory.call(anyString(), any())).thenReturn("{\"id\":1}");
+        MemoizingToolCallback callback = new MemoizingToolCallback(findCategory, "category", input -> true,
+                Set.of("category"), cache);
+
+        // Act
+        String first = callback.call("{\"id\": 1, \"verbose\": true}");
+        String second = callback.call("{\"verbose\":true,\"id\":1}");
+
+        // Assert
+        assertEquals(first, second);
+        verify(findCategory, times(1)).call(anyString(), any());
+        assertEquals(2, cache.getCalls());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void should_InvalidateAffectedDomain_WhenWriteToolCalled() {
+        // Arrange
+        when(findCategory.call(anyString(), any())).thenReturn("{\"id\":1}");
+        when(saveCategory.call(anyString(), any())).thenReturn("{\"id\":2}");
+        MemoizingToolCallback read = new MemoizingToolCallback(findCategory, "category", input -> true,
+                Set.of("category"), cache);
+        MemoizingToolCallback write = new MemoizingToolCallback(saveCategory, "category", input -> false,
+                Set.of("category", "product"), cache);
+
+        // Act
+        read.call("{\"id\":1}");
+        write.call("{\"name\":\"Toys\"}");
+        read.call("{\"id\":1}");
+
+        // Assert
+        verify(findCategory, times(2)).call(anyString(), any());
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    void should_CanonicalizeArguments_WhenKeysReordered() {
+        assertEquals(ToolCallCache.key("t", "{\"b\":{\"y\":1,\"x\":2},\"a\":[1,2]}"),
+                ToolCallCache.key("t", "{ \"a\": [1, 2], \"b\": {\"x\": 2, \"y\": 1} }"));
+        assertNotEquals(ToolCallCache.key("t", "{\"a\":[1,2]}"), ToolCallCache.key("t", "{\"a\":[2,1]}"));
+    }
+}
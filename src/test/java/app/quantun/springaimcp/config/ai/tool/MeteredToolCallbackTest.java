@@ -0,0 +1,86 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredToolCallbackTest {
+
+    @Mock
+    private ToolCallback findProducts;
+
+    @Mock
+    private ToolCallback querySql;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ToolMetrics toolMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        toolMetrics = new ToolMetrics(meterRegistry);
+        lenient().when(findProducts.getToolDefinition()).thenReturn(ToolDefinition.builder()
+                .name("findAllProducts").description("Find all products").inputSchema("{}").build());
+        lenient().when(querySql.getToolDefinition()).thenReturn(ToolDefinition.builder()
+                .name("queryToJsonStructure").description("Run SQL").inputSchema("{}").build());
+    }
+
+    @Test
+    void should_RecordInvocationAndResultSize_WhenToolSucceeds() {
+        // Arrange
+        when(findProducts.call(anyString(), any())).thenReturn("[{\"id\":1}]");
+        MeteredToolCallback callback = new MeteredToolCallback(findProducts, "product", toolMetrics);
+
+        // Act
+        callback.call("{}");
+        callback.call("{}");
+
+        // Assert
+        assertEquals(2, meterRegistry.get(ToolMetrics.INVOCATIONS)
+                .tags("tool", "findAllProducts", "outcome", "success").timer().count());
+        assertEquals(20, meterRegistry.get(ToolMetrics.RESULT_SIZE).tag("tool", "findAllProducts").summary().totalAmount());
+    }
+
+    @Test
+    void should_RecordErrorAndRethrow_WhenToolFails() {
+        // Arrange
+        when(querySql.call(anyString(), any())).thenThrow(new IllegalStateException("bad SQL"));
+        MeteredToolCallback callback = new MeteredToolCallback(querySql, "sql", toolMetrics);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> callback.call("{\"sql\":\"SELEC\"}"));
+
+        // Assert
+        ToolMetrics.ToolUsage usage = toolMetrics.usage().get(0);
+        assertEquals(1, usage.invocations());
+        assertEquals(1, usage.errors());
+        assertEquals(1.0, usage.errorRate());
+    }
+
+    @Test
+    void should_RankToolsByTotalTime_WhenUsageRequested() {
+        // Arrange
+        toolMetrics.recordSuccess("fast", "product", 1_000_000, 10);
+        toolMetrics.recordSuccess("slow", "sql", 50_000_000, 5);
+
+        // Act
+        List<ToolMetrics.ToolUsage> usage = toolMetrics.usage();
+
+        // Assert
+        assertEquals(List.of("slow", "fast"), usage.stream().map(ToolMetrics.ToolUsage::tool).toList());
+        assertEquals(50.0, usage.get(0).totalTimeMs(), 0.001);
+    }
+}
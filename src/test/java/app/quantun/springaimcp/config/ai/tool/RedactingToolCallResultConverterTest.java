@@ -0,0 +1,58 @@
+package app.quantun.springaimcp.config.ai.tool;
+
+import app.quantun.springaimcp.model.entity.Role;
+import app.quantun.springaimcp.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedactingToolCallResultConverterTest {
+
+    private final RedactingToolCallResultConverter converter = new RedactingToolCallResultConverter();
+
+    @Test
+    void should_OmitPasswordHash_WhenResultContainsUsers() {
+        // Arrange
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("admin");
+        user.setEmail("admin@example.com");
+        user.setPassword("$2a$10$hash");
+        user.addRole(Role.ADMIN);
+
+        // Act
+        String single = converter.convert(user, User.class);
+        String nested = converter.convert(List.of(user), List.class);
+
+        // Assert
+        assertTrue(single.contains("\"username\":\"admin\""));
+        assertFalse(single.contains("password"));
+        assertFalse(single.contains("$2a$10$hash"));
+        assertFalse(nested.contains("$2a$10$hash"));
+    }
+
+    @Test
+    void should_DropPasswordColumn_WhenSqlRowsContainIt() {
+        // Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("ID", 1);
+        row.put("USERNAME", "admin");
+        row.put("PASSWORD", "$2a$10$hash");
+
+        // Act
+        String result = converter.convert(List.of(row), List.class);
+
+        // Assert
+        assertEquals("[{\"ID\":1,\"USERNAME\":\"admin\"}]", result);
+    }
+
+    @Test
+    void should_ReturnDone_WhenToolReturnsVoid() {
+        // Act & Assert
+        assertEquals("\"Done\"", converter.convert(null, void.class));
+    }
+}
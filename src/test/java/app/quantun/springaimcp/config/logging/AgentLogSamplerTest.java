@@ -0,0 +1,88 @@
+package app.quantun.springaimcp.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgentLogSamplerTest {
+
+    private Logger sqlLogger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        sqlLogger = (Logger) LoggerFactory.getLogger("agent.sql");
+        appender = new ListAppender<>();
+        appender.start();
+        sqlLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.detachAppender(appender);
+    }
+
+    @Test
+    void should_SkipStatement_WhenSamplingRateIsZero() {
+        // Arrange
+        AgentLogSampler sampler = new AgentLogSampler(0, 0, 0, 500, 100);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            sampler.logSql("SELECT * FROM products", TimeUnit.MILLISECONDS.toNanos(2), false);
+        }
+
+        // Assert
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void should_LogEveryStatement_WhenSamplingRateIsOne() {
+        // Arrange
+        AgentLogSampler sampler = new AgentLogSampler(0, 0, 1, 500, 100);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            sampler.logSql("SELECT * FROM products", TimeUnit.MILLISECONDS.toNanos(2), false);
+        }
+
+        // Assert
+        assertEquals(10, appender.list.size());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    void should_AlwaysLogAsWarning_WhenStatementIsSlowOrFailed() {
+        // Arrange
+        AgentLogSampler sampler = new AgentLogSampler(0, 0, 0, 500, 100);
+
+        // Act
+        sampler.logSql("SELECT * FROM products", TimeUnit.MILLISECONDS.toNanos(900), false);
+        sampler.logSql("SELEC * FROM products", TimeUnit.MILLISECONDS.toNanos(1), true);
+
+        // Assert
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.stream().allMatch(event -> event.getLevel() == Level.WARN));
+    }
+
+    @Test
+    void should_TruncateStatement_WhenLongerThanMaxChars() {
+        // Arrange
+        AgentLogSampler sampler = new AgentLogSampler(0, 0, 1, 500, 10);
+
+        // Act
+        sampler.logSql("SELECT NAME, PRICE FROM products", 0, false);
+
+        // Assert
+        assertEquals("SELECT NAM... (32 chars)", appender.list.get(0).getFormattedMessage());
+    }
+}
@@ -0,0 +1,82 @@
+package app.quantun.springaimcp.config.observation;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointQueryStatisticsTest {
+
+    private EndpointQueryStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new EndpointQueryStatistics();
+    }
+
+    @Test
+    void should_AddUpCountsPerPattern_WhenRequestsAreHandled() throws Exception {
+        // Act
+        handle("/api/products/1", "/api/products/{id}", 3);
+        handle("/api/products/2", "/api/products/{id}", 5);
+        handle("/api/categories", "/api/categories", 1);
+
+        // Assert
+        List<EndpointQueryStatistics.EndpointQueries> usage = statistics.usage();
+        assertEquals(2, usage.size());
+        EndpointQueryStatistics.EndpointQueries products = usage.get(0);
+        assertEquals("GET /api/products/{id}", products.endpoint());
+        assertEquals(2, products.requests());
+        assertEquals(8, products.statements());
+        assertEquals(4.0, products.meanStatements());
+        assertEquals(5, products.maxStatements());
+        assertEquals(2, products.entityFetches());
+        assertNull(QueryCounts.current());
+    }
+
+    @Test
+    void should_SkipRequest_WhenNoHandlerMatched() throws Exception {
+        // Act
+        handle("/missing", null, 1);
+
+        // Assert
+        assertTrue(statistics.usage().isEmpty());
+    }
+
+    @Test
+    void should_AddNestedScopeToEnclosingScope_WhenClosed() {
+        // Act
+        try (QueryCounts outer = QueryCounts.open()) {
+            try (QueryCounts inner = QueryCounts.open()) {
+                QueryCounts.current().statement();
+                QueryCounts.current().flush();
+                assertEquals(1, inner.statements());
+            }
+            QueryCounts.current().statement();
+
+            // Assert
+            assertEquals(2, outer.statements());
+            assertEquals(1, outer.flushes());
+        }
+    }
+
+    private void handle(String uri, String pattern, int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        FilterChain chain = (req, res) -> {
+            if (pattern != null) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            }
+            for (int i = 0; i < statements; i++) {
+                QueryCounts.current().statement();
+            }
+            QueryCounts.current().entityFetch();
+        };
+        statistics.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+}
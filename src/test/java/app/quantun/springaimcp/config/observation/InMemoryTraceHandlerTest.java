@@ -0,0 +1,124 @@
+package app.quantun.springaimcp.config.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTraceHandlerTest {
+
+    private InMemoryTraceHandler handler;
+    private ObservationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        handler = new InMemoryTraceHandler(2, 3);
+        registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(handler);
+    }
+
+    @Test
+    void should_BuildSpanTree_WhenObservationsAreNested() {
+        // Arrange
+        Observation question = Observation.createNotStarted("agent.question", registry).start();
+
+        // Act
+        try (Observation.Scope scope = question.openScope()) {
+            Observation.createNotStarted("agent.model.turn", registry)
+                    .highCardinalityKeyValue("gen_ai.usage.input_tokens", "120")
+                    .observe(() -> Observation.createNotStarted("jdbc.query", registry).observe(() -> { }));
+        } finally {
+            question.stop();
+        }
+
+        // Assert
+        List<InMemoryTraceHandler.SpanNode> traces = handler.getTraces();
+        assertEquals(1, traces.size());
+        InMemoryTraceHandler.SpanNode root = traces.get(0);
+        assertEquals("agent.question", root.getName());
+        InMemoryTraceHandler.SpanNode turn = root.getChildren().get(0);
+        assertEquals("agent.model.turn", turn.getName());
+        assertEquals("120", turn.getTags().get("gen_ai.usage.input_tokens"));
+        assertEquals("jdbc.query", turn.getChildren().get(0).getName());
+        assertTrue(root.getDurationMillis() >= turn.getDurationMillis());
+    }
+
+    @Test
+    void should_IgnoreTrace_WhenItHasNoAgentSpan() {
+        // Act
+        Observation.createNotStarted("jdbc.query", registry).observe(() -> { });
+
+        // Assert
+        assertTrue(handler.getTraces().isEmpty());
+    }
+
+    @Test
+    void should_StartTraceAtAgentSpan_WhenParentIsNotAnAgentObservation() {
+        // Arrange
+        Observation request = Observation.createNotStarted("http.server.requests", registry).start();
+
+        // Act
+        try (Observation.Scope scope = request.openScope()) {
+            Observation.createNotStarted("agent.question", registry).observe(() -> { });
+        } finally {
+            request.stop();
+        }
+
+        // Assert
+        List<InMemoryTraceHandler.SpanNode> traces = handler.getTraces();
+        assertEquals(1, traces.size());
+        assertEquals("agent.question", traces.get(0).getName());
+    }
+
+    @Test
+    void should_DropSpans_WhenTraceReachesMaxSpans() {
+        // Arrange
+        Observation question = Observation.createNotStarted("agent.question", registry).start();
+
+        // Act
+        try (Observation.Scope scope = question.openScope()) {
+            for (int i = 0; i < 4; i++) {
+                Observation.createNotStarted("jdbc.query", registry).observe(() -> { });
+            }
+        } finally {
+            question.stop();
+        }
+
+        // Assert
+        InMemoryTraceHandler.SpanNode root = handler.getTraces().get(0);
+        assertEquals(2, root.getChildren().size());
+        assertEquals(2, root.getDroppedSpans());
+    }
+
+    @Test
+    void should_KeepMostRecentTraces_WhenCapacityExceeded() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            Observation.createNotStarted("agent.question", registry)
+                    .lowCardinalityKeyValue("index", String.valueOf(i))
+                    .observe(() -> { });
+        }
+
+        // Assert
+        List<InMemoryTraceHandler.SpanNode> traces = handler.getTraces();
+        assertEquals(2, traces.size());
+        assertEquals("2", traces.get(0).getTags().get("index"));
+        assertEquals("1", traces.get(1).getTags().get("index"));
+    }
+
+    @Test
+    void should_RecordError_WhenObservationFails() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> Observation.createNotStarted("agent.tool", registry)
+                .observe((Runnable) () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        // Assert
+        assertEquals("java.lang.IllegalStateException: boom", handler.getTraces().get(0).getError());
+    }
+}
@@ -0,0 +1,48 @@
+package app.quantun.springaimcp.config.observation;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query budgets for tests.
+ * <p>
+ * {@code assertMaxStatements} counts the statements Hibernate prepares during a call through a
+ * {@link QueryCounts} scope; it needs a real persistence context ({@code @DataJpaTest} or
+ * {@code @SpringBootTest}, see {@code EndpointQueryBudgetTest}). The scope is thread-local: statements
+ * run on other threads, such as concurrent page counts or {@code StreamingResponseBody} exports and
+ * imports, are not counted.
+ */
+public final class QueryAssertions {
+
+    private QueryAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(long max, ThrowingSupplier<T> call) {
+        try (QueryCounts counts = QueryCounts.open()) {
+            T result = get(call);
+            assertTrue(counts.statements() <= max,
+                    () -> "Expected at most " + max + " statements but got " + counts.statements() + " (" + counts + ")");
+            return result;
+        }
+    }
+
+    public static void assertMaxStatements(long max, Executable call) {
+        assertMaxStatements(max, () -> {
+            call.execute();
+            return null;
+        });
+    }
+
+    private static <T> T get(ThrowingSupplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            return fail(e);
+        }
+    }
+}
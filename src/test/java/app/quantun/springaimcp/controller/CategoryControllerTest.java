@@ -2,6 +2,7 @@ package app.quantun.springaimcp.controller;
 
 import app.quantun.springaimcp.model.entity.Category;
 import app.quantun.springaimcp.service.CategoryService;
+import app.quantun.springaimcp.service.ExportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +42,9 @@ class CategoryControllerTest {
     @MockitoBean
     private CategoryService categoryService;
 
+    @MockitoBean
+    private ExportService exportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,148 @@
+package app.quantun.springaimcp.controller;
+
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.service.CategoryService;
+import app.quantun.springaimcp.service.ProductService;
+import app.quantun.springaimcp.service.impl.ProductIndexRebuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static app.quantun.springaimcp.config.observation.QueryAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the real controllers and services against the seeded in-memory catalog
+ * (3 categories, 6 products). Every page serializes product categories, so a lazy load per row would
+ * push a listing over its budget. Exports and imports are not covered: their bodies are written on an
+ * async thread, outside the {@code QueryCounts} scope of the calling test.
+ */
+@SpringBootTest(properties = "agent.paging.concurrent-count=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("stub")
+class EndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductIndexRebuilder productIndexRebuilder;
+
+    @BeforeEach
+    void setUp() {
+        // the startup rebuild runs in the background
+        productIndexRebuilder.rebuild();
+    }
+
+    @Test
+    void should_StayWithinContentAndCount_WhenListingProducts() {
+        // Act & Assert
+        assertMaxStatements(2, () -> mockMvc.perform(get("/api/products").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].category.name").exists()));
+    }
+
+    @Test
+    void should_LoadOnlyThePage_WhenProductsComeFromAnIndex() {
+        // Act & Assert
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/products/search").param("keyword", "laptop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].category.name").exists()));
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/products/facets"))
+                .andExpect(status().isOk()));
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/products/price-range")
+                        .param("minPrice", "0").param("maxPrice", "1e20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(6)));
+    }
+
+    @Test
+    void should_ReadProductAtMostOnce_WhenFetchingItByIdOrSku() {
+        // Arrange
+        Product product = productService.findAllProducts(PageRequest.of(0, 1)).getContent().get(0);
+
+        // Act & Assert
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category.name").exists()));
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/products/sku/{sku}", product.getSku()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category.name").exists()));
+    }
+
+    @Test
+    void should_StayWithinContentAndCount_WhenListingProductsOfACategory() {
+        // Arrange
+        Category category = categoryService.findAllCategories(PageRequest.of(0, 1)).getContent().get(0);
+
+        // Act & Assert
+        // content and count; the existence check is served by the category snapshot
+        assertMaxStatements(2, () -> mockMvc.perform(get("/api/products/category/{id}", category.getId()).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].category.name").exists()));
+    }
+
+    @Test
+    void should_RunNoStatements_WhenCategoriesComeFromTheSnapshot() {
+        // Arrange
+        Category category = categoryService.findAllCategories(PageRequest.of(0, 1)).getContent().get(0);
+
+        // Act & Assert
+        assertMaxStatements(0, () -> mockMvc.perform(get("/api/categories/{id}", category.getId()))
+                .andExpect(status().isOk()));
+        assertMaxStatements(0, () -> mockMvc.perform(get("/api/categories/name/{name}", category.getName()))
+                .andExpect(status().isOk()));
+        assertMaxStatements(0, () -> categoryService.existsById(category.getId()));
+    }
+
+    @Test
+    void should_StayWithinContentAndCount_WhenListingCategories() {
+        // Act & Assert
+        assertMaxStatements(2, () -> mockMvc.perform(get("/api/categories").param("size", "2"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void should_ReadProductOnce_WhenItIsCached() {
+        // Arrange
+        Long id = productService.findAllProducts(PageRequest.of(0, 1)).getContent().get(0).getId();
+
+        // Act
+        Product first = assertMaxStatements(1, () -> productService.findProductById(id));
+        Product second = assertMaxStatements(0, () -> productService.findProductById(id));
+
+        // Assert
+        assertEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void should_StayWithinContentAndCount_WhenServiceListsProductsByCategory() {
+        // Arrange
+        Category category = categoryService.findAllCategories(PageRequest.of(0, 1)).getContent().get(0);
+
+        // Act
+        // existence check, content and count
+        Page<Product> products = assertMaxStatements(3,
+                () -> productService.findProductsByCategory(category.getId(), PageRequest.of(0, 1)));
+
+        // Assert
+        assertEquals(1, products.getNumberOfElements());
+        assertNotNull(products.getContent().get(0).getCategory().getName());
+    }
+}
@@ -2,6 +2,8 @@ package app.quantun.springaimcp.controller;
 
 import app.quantun.springaimcp.model.entity.Category;
 import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.service.ExportService;
+import app.quantun.springaimcp.service.ProductImportService;
 import app.quantun.springaimcp.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -43,6 +45,12 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductImportService productImportService;
+
+    @MockitoBean
+    private ExportService exportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -223,7 +231,7 @@ class ProductControllerTest {
     @Test
     void should_ReturnProductsBySearch_WhenSearchProducts() throws Exception {
         // Arrange
-        when(productService.findProductsByNameContaining(eq("Test"), any(Pageable.class)))
+        when(productService.searchProducts(eq("Test"), any(Pageable.class)))
                 .thenReturn(productPage);
 
         // Act & Assert
@@ -235,7 +243,7 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.content[0].name", is("Test Product")))
                 .andDo(print());
 
-        verify(productService).findProductsByNameContaining(eq("Test"), any(Pageable.class));
+        verify(productService).searchProducts(eq("Test"), any(Pageable.class));
     }
 
     @Test
@@ -0,0 +1,116 @@
+package app.quantun.springaimcp.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-loop load generator for {@code POST /api/agent/question}.
+ * <p>
+ * Requests are fired at a fixed target rate regardless of how fast responses come back,
+ * so queueing inside the application shows up as latency instead of being hidden by a
+ * slower client. Run it against an instance started with the {@code stub} profile to
+ * measure the application's own overhead:
+ * <pre>
+ * ./gradlew bootRun --args='--spring.profiles.active=stub'
+ * ./gradlew agentLoadTest -Pload.rate=20 -Pload.durationSeconds=60
+ * </pre>
+ * Settings are read from system properties: {@code load.url}, {@code load.rate} (requests per second),
+ * {@code load.durationSeconds}, {@code load.questions} ({@code |}-separated, used round-robin)
+ * and {@code load.timeoutSeconds}.
+ */
+public final class AgentLoadTest {
+
+    private AgentLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI url = URI.create(System.getProperty("load.url", "http://localhost:8080/api/agent/question"));
+        double rate = Double.parseDouble(System.getProperty("load.rate", "10"));
+        long durationSeconds = Long.parseLong(System.getProperty("load.durationSeconds", "30"));
+        long timeoutSeconds = Long.parseLong(System.getProperty("load.timeoutSeconds", "120"));
+        String[] questions = System.getProperty("load.questions",
+                "Which tables exist?|List the products by price|How many admins exist?").split("\\|");
+
+        ExecutorService clientExecutor = Executors.newCachedThreadPool();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        List<CompletableFuture<?>> inFlight = Collections.synchronizedList(new ArrayList<>());
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long totalRequests = (long) (rate * durationSeconds);
+        System.out.printf("Sending %d requests to %s at %.1f req/s%n", totalRequests, url, rate);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < totalRequests; i++) {
+            long scheduledAt = start + i * intervalNanos;
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            String form = "text=" + URLEncoder.encode(questions[(int) (i % questions.length)], StandardCharsets.UTF_8);
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .build();
+            // latency is measured from the scheduled send time to avoid coordinated omission
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        } else {
+                            latenciesNanos.add(System.nanoTime() - scheduledAt);
+                        }
+                    }));
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.out.println("Not all requests completed: " + e);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        clientExecutor.shutdownNow();
+
+        report(new ArrayList<>(latenciesNanos), errors.get(), totalRequests, elapsedSeconds);
+    }
+
+    private static void report(List<Long> latenciesNanos, long errors, long sent, double elapsedSeconds) {
+        Collections.sort(latenciesNanos);
+        System.out.printf("Sent:       %d%n", sent);
+        System.out.printf("Succeeded:  %d%n", latenciesNanos.size());
+        System.out.printf("Errors:     %d%n", errors);
+        System.out.printf("Throughput: %.2f req/s%n", latenciesNanos.size() / elapsedSeconds);
+        System.out.printf("p50:        %.1f ms%n", percentileMillis(latenciesNanos, 50));
+        System.out.printf("p90:        %.1f ms%n", percentileMillis(latenciesNanos, 90));
+        System.out.printf("p99:        %.1f ms%n", percentileMillis(latenciesNanos, 99));
+        System.out.printf("max:        %.1f ms%n", percentileMillis(latenciesNanos, 100));
+    }
+
+    private static double percentileMillis(List<Long> sortedNanos, double percentile) {
+        if (sortedNanos.isEmpty()) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, Math.min(index, sortedNanos.size() - 1))) / 1e6;
+    }
+}
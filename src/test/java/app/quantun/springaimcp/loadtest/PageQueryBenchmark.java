@@ -0,0 +1,128 @@
+package app.quantun.springaimcp.loadtest;
+
+import app.quantun.springaimcp.SpringAiMcpApplication;
+import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.repository.ProductRepository;
+import app.quantun.springaimcp.service.impl.PageQueryExecutor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sequential and concurrent content/count execution of {@code Page} queries
+ * on a large seeded product table.
+ * <p>
+ * Boots the application offline (stub profile, in-memory H2, no web server), inserts
+ * {@code bench.products} products and then times {@code findByPriceBetween(.., Pageable)} pages
+ * at several depths through a {@link PageQueryExecutor} in each mode:
+ * <pre>
+ * ./gradlew pageQueryBenchmark -Pbench.products=1000000 -Pbench.iterations=50
+ * </pre>
+ * Settings are read from system properties: {@code bench.products}, {@code bench.iterations},
+ * {@code bench.pageSize}, {@code bench.pages} (comma-separated page numbers) and {@code bench.countThreads}.
+ */
+public final class PageQueryBenchmark {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private PageQueryBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int products = Integer.parseInt(System.getProperty("bench.products", "500000"));
+        int iterations = Integer.parseInt(System.getProperty("bench.iterations", "30"));
+        int pageSize = Integer.parseInt(System.getProperty("bench.pageSize", "20"));
+        int countThreads = Integer.parseInt(System.getProperty("bench.countThreads", "4"));
+        int[] pages = Arrays.stream(System.getProperty("bench.pages", "0,100,5000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringAiMcpApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("stub")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:page-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "agent.jobs.workers=1",
+                        "logging.level.app.quantun.springaimcp=WARN")
+                .run()) {
+            seed(context.getBean(JdbcTemplate.class), products);
+
+            ProductRepository repository = context.getBean(ProductRepository.class);
+            PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            PageQueryExecutor sequential = new PageQueryExecutor(transactionManager, false, 0);
+            PageQueryExecutor concurrent = new PageQueryExecutor(transactionManager, true, countThreads);
+
+            BigDecimal minPrice = new BigDecimal("10.00");
+            BigDecimal maxPrice = new BigDecimal("900.00");
+            System.out.printf("%n%-10s %-6s %10s %10s %10s%n", "mode", "page", "p50 ms", "p90 ms", "mean ms");
+            for (int page : pages) {
+                PageRequest pageable = PageRequest.of(page, pageSize, Sort.by("price", "id"));
+                for (PageQueryExecutor executor : List.of(sequential, concurrent)) {
+                    List<Long> nanos = new ArrayList<>(iterations);
+                    // first iterations warm up the JIT and H2's page cache
+                    for (int i = -Math.max(3, iterations / 10); i < iterations; i++) {
+                        long start = System.nanoTime();
+                        Page<Product> result = transaction.execute(status -> executor.page(pageable,
+                                () -> repository.findByPriceBetween(minPrice, maxPrice, pageable),
+                                () -> repository.findSliceByPriceBetween(minPrice, maxPrice, pageable),
+                                () -> repository.countByPriceBetween(minPrice, maxPrice)));
+                        long elapsed = System.nanoTime() - start;
+                        if (i >= 0) {
+                            nanos.add(elapsed);
+                        }
+                        if (result == null || result.getTotalElements() == 0) {
+                            throw new IllegalStateException("Benchmark query returned no rows");
+                        }
+                    }
+                    report(executor.isConcurrent() ? "concurrent" : "sequential", page, nanos);
+                }
+            }
+            concurrent.stop();
+        }
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int products) {
+        long start = System.nanoTime();
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories", Long.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < products; from += BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(products, from + BATCH_SIZE); i++) {
+                rows.add(new Object[]{"Bench product " + i, "Seeded for the page benchmark",
+                        BigDecimal.valueOf(100 + (i * 7919L) % 99_900, 2), "BENCH-" + i, now, categoryId});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO products (name, description, price, sku, created_at, category_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        }
+        System.out.printf("Seeded %d products in %d ms%n", products, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static void report(String mode, int page, List<Long> nanos) {
+        List<Long> sorted = nanos.stream().sorted().toList();
+        double mean = sorted.stream().mapToLong(Long::longValue).average().orElse(0);
+        System.out.printf("%-10s %-6d %10.2f %10.2f %10.2f%n", mode, page,
+                millis(sorted.get((int) (sorted.size() * 0.5))),
+                millis(sorted.get(Math.min(sorted.size() - 1, (int) (sorted.size() * 0.9)))),
+                mean / 1_000_000.0);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,134 @@
+package app.quantun.springaimcp.loadtest;
+
+import app.quantun.springaimcp.SpringAiMcpApplication;
+import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.repository.ProductRepository;
+import app.quantun.springaimcp.service.impl.ProductIndexRebuilder;
+import app.quantun.springaimcp.service.impl.ProductPriceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of a price-range page read from the database with the same page read through
+ * {@link ProductPriceIndex}.
+ * <p>
+ * Each fork boots the application offline (stub profile, in-memory H2, no web server), seeds
+ * {@code products} rows like {@link PageQueryBenchmark} and rebuilds the price index. Then it measures:
+ * <ul>
+ *     <li>{@code repositoryPage}: {@code findByPriceBetween(.., Pageable)}, the content query plus {@code COUNT(*)}</li>
+ *     <li>{@code indexPage}: the index's binary searches plus {@code findAllById} for the page, as the service does</li>
+ *     <li>{@code indexIds}: the index lookup alone</li>
+ * </ul>
+ * <pre>
+ * ./gradlew priceIndexBenchmark -Pbench.products=1000000 -Pbench.pages=0,5000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceRangeBenchmark {
+
+    private static final BigDecimal MIN_PRICE = new BigDecimal("10.00");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("900.00");
+
+    @Param("500000")
+    public int products;
+
+    @Param({"0", "5000"})
+    public int page;
+
+    @Param("20")
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository repository;
+    private ProductPriceIndex priceIndex;
+    private TransactionTemplate transaction;
+    private PageRequest pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringAiMcpApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("stub")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:price-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "agent.jobs.workers=1",
+                        "logging.level.app.quantun.springaimcp=WARN")
+                .run();
+        PageQueryBenchmark.seed(context.getBean(JdbcTemplate.class), products);
+        repository = context.getBean(ProductRepository.class);
+        priceIndex = context.getBean(ProductPriceIndex.class);
+        context.getBean(ProductIndexRebuilder.class).rebuild();
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(true);
+        pageable = PageRequest.of(page, pageSize, Sort.by("price", "id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Product> repositoryPage() {
+        return transaction.execute(status -> repository.findByPriceBetween(MIN_PRICE, MAX_PRICE, pageable));
+    }
+
+    @Benchmark
+    public List<Product> indexPage() {
+        return transaction.execute(status -> repository.findAllById(
+                priceIndex.query(MIN_PRICE, MAX_PRICE, pageable.getOffset(), pageSize).ids()));
+    }
+
+    @Benchmark
+    public ProductPriceIndex.PriceHits indexIds() {
+        return priceIndex.query(MIN_PRICE, MAX_PRICE, pageable.getOffset(), pageSize);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(PriceRangeBenchmark.class.getSimpleName());
+        String products = System.getProperty("bench.products");
+        if (products != null) {
+            options.param("products", products);
+        }
+        String pages = System.getProperty("bench.pages");
+        if (pages != null) {
+            options.param("page", pages.split(","));
+        }
+        new Runner(options.build()).run();
+    }
+}
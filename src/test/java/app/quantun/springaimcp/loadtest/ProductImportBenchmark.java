@@ -0,0 +1,91 @@
+package app.quantun.springaimcp.loadtest;
+
+import app.quantun.springaimcp.SpringAiMcpApplication;
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.service.ProductImportService;
+import app.quantun.springaimcp.service.ProductService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compares the throughput of per-row {@code saveProduct} calls, the path of {@code POST /api/products},
+ * with a CSV bulk import through {@link ProductImportService}.
+ * <p>
+ * Boots the application offline (stub profile, in-memory H2, no web server), saves
+ * {@code bench.perRowRows} products one by one, then imports {@code bench.rows} products from an
+ * in-memory CSV and prints rows per second for both:
+ * <pre>
+ * ./gradlew productImportBenchmark -Pbench.rows=200000 -Pbench.perRowRows=5000
+ * </pre>
+ * Both runs include the in-memory index maintenance: per-row saves update the indexes after every
+ * commit, the import rebuilds them once at the end.
+ */
+public final class ProductImportBenchmark {
+
+    private ProductImportBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rows = Integer.parseInt(System.getProperty("bench.rows", "100000"));
+        int perRowRows = Integer.parseInt(System.getProperty("bench.perRowRows", "5000"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringAiMcpApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("stub")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:import-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "agent.jobs.workers=1",
+                        "logging.level.app.quantun.springaimcp=WARN")
+                .run()) {
+            Long categoryId = context.getBean(JdbcTemplate.class).queryForObject("SELECT MIN(id) FROM categories", Long.class);
+
+            ProductService productService = context.getBean(ProductService.class);
+            long start = System.nanoTime();
+            for (int i = 0; i < perRowRows; i++) {
+                Category category = new Category();
+                category.setId(categoryId);
+                Product product = new Product();
+                product.setName("Row product " + i);
+                product.setDescription("Saved one by one");
+                product.setPrice(price(i));
+                product.setSku("ROW-" + i);
+                product.setCategory(category);
+                productService.saveProduct(product);
+            }
+            long perRowNanos = System.nanoTime() - start;
+            report("per-row save", perRowRows, perRowNanos);
+
+            StringBuilder csv = new StringBuilder("name,description,price,sku,categoryId\n");
+            for (int i = 0; i < rows; i++) {
+                csv.append("Imported product ").append(i).append(",Imported in bulk,")
+                        .append(price(i)).append(",IMP-").append(i).append(',').append(categoryId).append('\n');
+            }
+            byte[] input = csv.toString().getBytes(StandardCharsets.UTF_8);
+            ProductImportService importService = context.getBean(ProductImportService.class);
+            start = System.nanoTime();
+            importService.importProducts(new ByteArrayInputStream(input), ProductImportService.Format.CSV,
+                    OutputStream.nullOutputStream());
+            long importNanos = System.nanoTime() - start;
+            report("bulk import", rows, importNanos);
+            System.out.printf("speed-up: %.1fx%n", ((double) rows / importNanos) / ((double) perRowRows / perRowNanos));
+        }
+    }
+
+    private static BigDecimal price(int i) {
+        return BigDecimal.valueOf(100 + (i * 7919L) % 99_900, 2);
+    }
+
+    private static void report(String mode, int rows, long nanos) {
+        System.out.printf("%-13s %8d rows %10.0f ms %10.0f rows/s%n", mode, rows, nanos / 1e6, rows / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,123 @@
+package app.quantun.springaimcp.repository;
+
+import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.model.entity.AgentJob;
+import app.quantun.springaimcp.model.entity.AgentJobStatus;
+import app.quantun.springaimcp.service.AgentJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Queue semantics against the real database. Each claim runs in its own committed transaction,
+ * so this is a {@code @SpringBootTest} rather than a rolled-back {@code @DataJpaTest}; no workers run in tests.
+ */
+@SpringBootTest
+@ActiveProfiles("stub")
+class AgentJobRepositoryTest {
+
+    private static final int WORKERS = 4;
+
+    @Autowired
+    private AgentJobRepository agentJobRepository;
+
+    @Autowired
+    private AgentJobService agentJobService;
+
+    @BeforeEach
+    void setUp() {
+        agentJobRepository.deleteAll();
+    }
+
+    @Test
+    void should_LetOneWorkerWin_WhenWorkersRaceForTheSameJob() {
+        // Arrange
+        Question question = new Question();
+        question.setText("How many products?");
+        Long id = agentJobService.submitJob(question, 0).getId();
+        CyclicBarrier start = new CyclicBarrier(WORKERS);
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS);
+
+        // Act
+        List<CompletableFuture<Optional<AgentJob>>> claims;
+        try {
+            claims = IntStream.range(0, WORKERS)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        try {
+                            start.await();
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                        return agentJobService.claimNextJob();
+                    }, executor))
+                    .toList();
+            CompletableFuture.allOf(claims.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertEquals(1, claims.stream().filter(claim -> claim.join().isPresent()).count());
+        AgentJob job = agentJobRepository.findById(id).orElseThrow();
+        assertEquals(AgentJobStatus.RUNNING, job.getStatus());
+        assertEquals(1, job.getAttempts());
+    }
+
+    @Test
+    void should_NotClaimJob_WhenItHasNoAttemptsLeft() {
+        // Arrange
+        AgentJob job = agentJobRepository.save(job(AgentJobStatus.QUEUED, 3, 3));
+
+        // Act
+        Optional<AgentJob> claimed = agentJobService.claimNextJob();
+
+        // Assert
+        assertTrue(claimed.isEmpty());
+        AgentJob unchanged = agentJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(AgentJobStatus.QUEUED, unchanged.getStatus());
+        assertEquals(3, unchanged.getAttempts());
+    }
+
+    @Test
+    void should_RequeueOrFailRunningJobs_WhenRecovering() {
+        // Arrange
+        AgentJob interrupted = agentJobRepository.save(job(AgentJobStatus.RUNNING, 1, 3));
+        AgentJob exhausted = agentJobRepository.save(job(AgentJobStatus.RUNNING, 3, 3));
+        AgentJob finished = agentJobRepository.save(job(AgentJobStatus.SUCCEEDED, 1, 3));
+
+        // Act
+        int recovered = agentJobService.recoverInterruptedJobs();
+
+        // Assert
+        assertEquals(1, recovered);
+        assertEquals(AgentJobStatus.QUEUED, agentJobRepository.findById(interrupted.getId()).orElseThrow().getStatus());
+        AgentJob failed = agentJobRepository.findById(exhausted.getId()).orElseThrow();
+        assertEquals(AgentJobStatus.FAILED, failed.getStatus());
+        assertEquals(3, failed.getAttempts());
+        assertNotNull(failed.getFinishedAt());
+        assertEquals(AgentJobStatus.SUCCEEDED, agentJobRepository.findById(finished.getId()).orElseThrow().getStatus());
+    }
+
+    private static AgentJob job(AgentJobStatus status, int attempts, int maxAttempts) {
+        AgentJob job = new AgentJob();
+        job.setQuestionText("How many users?");
+        job.setStatus(status);
+        job.setAttempts(attempts);
+        job.setMaxAttempts(maxAttempts);
+        job.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        return job;
+    }
+}
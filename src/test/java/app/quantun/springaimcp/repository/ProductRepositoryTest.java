@@ -0,0 +1,120 @@
+package app.quantun.springaimcp.repository;
+
+import app.quantun.springaimcp.config.observation.QueryCounts;
+import app.quantun.springaimcp.model.contract.response.ProductSummary;
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.model.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+import static app.quantun.springaimcp.config.observation.QueryAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements per product page must not grow with the page size: each product has its own category,
+ * so loading categories lazily would cost one statement per row.
+ */
+@DataJpaTest
+class ProductRepositoryTest {
+
+    private static final int PRODUCTS = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCTS; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            entityManager.persist(category);
+
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setSku("SKU-" + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            product.setCategory(category);
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void should_UseConstantStatementsPerPage_WhenCategoriesAreSerialized() {
+        // Act
+        long small = statementsFor(PageRequest.of(0, 5), productRepository::findAll);
+        long large = statementsFor(PageRequest.of(0, 25), productRepository::findAll);
+
+        // Assert
+        assertEquals(small, large);
+        assertEquals(2, large, "content and count");
+    }
+
+    @Test
+    void should_UseConstantStatementsPerPage_WhenListingByCategoryAndPrice() {
+        // Act
+        long byPrice = statementsFor(PageRequest.of(0, 25, Sort.by("price")),
+                pageable -> productRepository.findByPriceBetween(BigDecimal.ZERO, BigDecimal.valueOf(1000), pageable));
+        long slice = statementsFor(PageRequest.of(0, 25), pageable -> productRepository.findAllBy(pageable).getContent());
+
+        // Assert
+        assertEquals(2, byPrice, "content and count");
+        assertEquals(1, slice);
+    }
+
+    @Test
+    void should_ReadSummariesInOneQuery_WhenCategoryIsIncluded() {
+        // Act
+        try (QueryCounts counts = QueryCounts.open()) {
+            Page<ProductSummary> page = productRepository.findSummariesWithCategory(PageRequest.of(0, 25, Sort.by("name")));
+
+            // Assert
+            assertEquals(25, page.getContent().size());
+            assertNotNull(page.getContent().get(0).categoryName());
+            assertEquals(2, counts.statements(), "content and count");
+            assertEquals(0, counts.entityLoads());
+        }
+    }
+
+    @Test
+    void should_SkipCategoryJoin_WhenCategoryIsNotIncluded() {
+        // Act
+        Page<ProductSummary> page = assertMaxStatements(2,
+                () -> productRepository.findSummaries(PageRequest.of(0, 10, Sort.by("name"))));
+
+        // Assert
+        ProductSummary first = page.getContent().get(0);
+        assertNotNull(first.categoryId());
+        assertNull(first.categoryName());
+        assertEquals(PRODUCTS, page.getTotalElements());
+    }
+
+    /**
+     * Runs a listing on an empty persistence context, reads every product's category name as JSON
+     * serialization would, and returns the number of statements prepared.
+     */
+    private long statementsFor(Pageable pageable, Function<Pageable, Iterable<Product>> listing) {
+        entityManager.clear();
+        try (QueryCounts counts = QueryCounts.open()) {
+            for (Product product : listing.apply(pageable)) {
+                assertNotNull(product.getCategory().getName());
+            }
+            assertEquals(0, counts.entityFetches(), "categories loaded lazily");
+            return counts.statements();
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package app.quantun.springaimcp.service;
 
+import app.quantun.springaimcp.event.CategoryChangedEvent;
 import app.quantun.springaimcp.model.entity.Category;
 import app.quantun.springaimcp.repository.CategoryRepository;
 import app.quantun.springaimcp.service.impl.CategoryServiceImpl;
+import app.quantun.springaimcp.service.impl.CategorySnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -31,6 +34,12 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CategorySnapshot categorySnapshot;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -59,7 +68,7 @@ class CategoryServiceTest {
     @Test
     void should_ReturnAllCategories_WhenFindAllCategories() {
         // Arrange
-        when(categoryRepository.findAll(any(Pageable.class))).thenReturn(categoryPage);
+        when(categorySnapshot.findAll(any(Pageable.class))).thenReturn(categoryPage);
 
         // Act
         Page<Category> result = categoryService.findAllCategories(pageable);
@@ -68,13 +77,13 @@ class CategoryServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(category.getName(), result.getContent().get(0).getName());
-        verify(categoryRepository).findAll(pageable);
+        verify(categorySnapshot).findAll(pageable);
     }
 
     @Test
     void should_ReturnCategory_WhenFindCategoryById() {
         // Arrange
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categorySnapshot.findById(1L)).thenReturn(Optional.of(category));
 
         // Act
         Category result = categoryService.findCategoryById(1L);
@@ -83,25 +92,25 @@ class CategoryServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("Electronics", result.getName());
-        verify(categoryRepository).findById(1L);
+        verify(categorySnapshot).findById(1L);
     }
 
     @Test
     void should_ThrowException_WhenFindCategoryByIdNotFound() {
         // Arrange
-        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+        when(categorySnapshot.findById(99L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NoSuchElementException.class, () -> {
             categoryService.findCategoryById(99L);
         });
-        verify(categoryRepository).findById(99L);
+        verify(categorySnapshot).findById(99L);
     }
 
     @Test
     void should_ReturnCategory_WhenFindCategoryByName() {
         // Arrange
-        when(categoryRepository.findByName("Electronics")).thenReturn(Optional.of(category));
+        when(categorySnapshot.findByName("Electronics")).thenReturn(Optional.of(category));
 
         // Act
         Category result = categoryService.findCategoryByName("Electronics");
@@ -109,25 +118,25 @@ class CategoryServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("Electronics", result.getName());
-        verify(categoryRepository).findByName("Electronics");
+        verify(categorySnapshot).findByName("Electronics");
     }
 
     @Test
     void should_ThrowException_WhenFindCategoryByNameNotFound() {
         // Arrange
-        when(categoryRepository.findByName("Nonexistent")).thenReturn(Optional.empty());
+        when(categorySnapshot.findByName("Nonexistent")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NoSuchElementException.class, () -> {
             categoryService.findCategoryByName("Nonexistent");
         });
-        verify(categoryRepository).findByName("Nonexistent");
+        verify(categorySnapshot).findByName("Nonexistent");
     }
 
     @Test
     void should_ReturnCategoriesByNameContaining_WhenFindCategoriesByNameContaining() {
         // Arrange
-        when(categoryRepository.findByNameContainingIgnoreCase("Elec", pageable)).thenReturn(categoryPage);
+        when(categorySnapshot.findByNameContaining("Elec", pageable)).thenReturn(categoryPage);
 
         // Act
         Page<Category> result = categoryService.findCategoriesByNameContaining("Elec", pageable);
@@ -136,7 +145,7 @@ class CategoryServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals("Electronics", result.getContent().get(0).getName());
-        verify(categoryRepository).findByNameContainingIgnoreCase("Elec", pageable);
+        verify(categorySnapshot).findByNameContaining("Elec", pageable);
     }
 
     @Test
@@ -151,6 +160,7 @@ class CategoryServiceTest {
         assertNotNull(result);
         assertEquals("Electronics", result.getName());
         verify(categoryRepository).save(category);
+        verify(eventPublisher).publishEvent(new CategoryChangedEvent(1L));
     }
 
     @Test
@@ -198,6 +208,7 @@ class CategoryServiceTest {
         // Assert
         verify(categoryRepository).existsById(1L);
         verify(categoryRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new CategoryChangedEvent(1L));
     }
 
     @Test
@@ -216,26 +227,26 @@ class CategoryServiceTest {
     @Test
     void should_ReturnTrue_WhenCategoryExists() {
         // Arrange
-        when(categoryRepository.existsById(1L)).thenReturn(true);
+        when(categorySnapshot.existsById(1L)).thenReturn(true);
 
         // Act
         boolean result = categoryService.existsById(1L);
 
         // Assert
         assertTrue(result);
-        verify(categoryRepository).existsById(1L);
+        verify(categorySnapshot).existsById(1L);
     }
 
     @Test
     void should_ReturnFalse_WhenCategoryDoesNotExist() {
         // Arrange
-        when(categoryRepository.existsById(99L)).thenReturn(false);
+        when(categorySnapshot.existsById(99L)).thenReturn(false);
 
         // Act
         boolean result = categoryService.existsById(99L);
 
         // Assert
         assertFalse(result);
-        verify(categoryRepository).existsById(99L);
+        verify(categorySnapshot).existsById(99L);
     }
 } 
\ No newline at end of file
@@ -1,19 +1,34 @@
 package app.quantun.springaimcp.service;
 
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.contract.request.KeysetCursor;
+import app.quantun.springaimcp.model.contract.response.CursorPage;
+import app.quantun.springaimcp.model.contract.response.ProductFacets;
+import app.quantun.springaimcp.model.contract.response.ResultSlice;
 import app.quantun.springaimcp.model.entity.Category;
 import app.quantun.springaimcp.model.entity.Product;
 import app.quantun.springaimcp.repository.ProductRepository;
+import app.quantun.springaimcp.service.impl.PageQueryExecutor;
+import app.quantun.springaimcp.service.impl.ProductAutocompleteIndex;
+import app.quantun.springaimcp.service.impl.ProductCache;
+import app.quantun.springaimcp.service.impl.ProductFacetIndex;
+import app.quantun.springaimcp.service.impl.ProductPriceIndex;
+import app.quantun.springaimcp.service.impl.ProductSearchIndex;
 import app.quantun.springaimcp.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -36,6 +51,27 @@ class ProductServiceTest {
     @Mock
     private CategoryService categoryService;
 
+    @Spy
+    private PageQueryExecutor pageQueries = new PageQueryExecutor(null, false, 0);
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private ProductAutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private ProductFacetIndex facetIndex;
+
+    @Mock
+    private ProductPriceIndex priceIndex;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -87,7 +123,7 @@ class ProductServiceTest {
     @Test
     void should_ReturnProduct_WhenFindProductById() {
         // Arrange
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productCache.findById(1L)).thenReturn(Optional.of(product));
 
         // Act
         Product result = productService.findProductById(1L);
@@ -96,25 +132,25 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("Test Product", result.getName());
-        verify(productRepository).findById(1L);
+        verify(productCache).findById(1L);
     }
 
     @Test
     void should_ThrowException_WhenFindProductByIdNotFound() {
         // Arrange
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productCache.findById(99L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NoSuchElementException.class, () -> {
             productService.findProductById(99L);
         });
-        verify(productRepository).findById(99L);
+        verify(productCache).findById(99L);
     }
 
     @Test
     void should_ReturnProduct_WhenFindProductBySku() {
         // Arrange
-        when(productRepository.findBySku("TEST-SKU-123")).thenReturn(Optional.of(product));
+        when(productCache.findBySku("TEST-SKU-123")).thenReturn(Optional.of(product));
 
         // Act
         Product result = productService.findProductBySku("TEST-SKU-123");
@@ -122,19 +158,19 @@ class ProductServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("TEST-SKU-123", result.getSku());
-        verify(productRepository).findBySku("TEST-SKU-123");
+        verify(productCache).findBySku("TEST-SKU-123");
     }
 
     @Test
     void should_ThrowException_WhenFindProductBySkuNotFound() {
         // Arrange
-        when(productRepository.findBySku("INVALID-SKU")).thenReturn(Optional.empty());
+        when(productCache.findBySku("INVALID-SKU")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NoSuchElementException.class, () -> {
             productService.findProductBySku("INVALID-SKU");
         });
-        verify(productRepository).findBySku("INVALID-SKU");
+        verify(productCache).findBySku("INVALID-SKU");
     }
 
     @Test
@@ -182,6 +218,24 @@ class ProductServiceTest {
         verify(productRepository).findByPriceBetween(minPrice, maxPrice, pageable);
     }
 
+    @Test
+    void should_UsePriceIndex_WhenFindProductsByPriceRangeSortedByPrice() {
+        // Arrange
+        BigDecimal minPrice = new BigDecimal("10.00");
+        BigDecimal maxPrice = new BigDecimal("100.00");
+        Pageable byPrice = PageRequest.of(1, 10, Sort.by("price", "id"));
+        when(priceIndex.query(minPrice, maxPrice, 10, 10)).thenReturn(new ProductPriceIndex.PriceHits(List.of(1L), 11));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(productList);
+
+        // Act
+        Page<Product> result = productService.findProductsByPriceRange(minPrice, maxPrice, byPrice);
+
+        // Assert
+        assertEquals(productList, result.getContent());
+        assertEquals(11, result.getTotalElements());
+        verify(productRepository, never()).findByPriceBetween(any(), any(), any(Pageable.class));
+    }
+
     @Test
     void should_ThrowException_WhenFindProductsByPriceRangeInvalidRange() {
         // Arrange
@@ -209,6 +263,127 @@ class ProductServiceTest {
         verify(productRepository).findByNameContainingIgnoreCase("Test", pageable);
     }
 
+    @Test
+    void should_ReturnSliceWithoutTotal_WhenFindAllProductsSlice() {
+        // Arrange
+        PageRequest request = PageRequest.of(0, 20, Sort.by("name", "id"));
+        when(productRepository.findAllBy(request)).thenReturn(new SliceImpl<>(productList, request, true));
+
+        // Act
+        ResultSlice<Product> result = productService.findAllProductsSlice(null, null, null);
+
+        // Assert
+        assertEquals(productList, result.getContent());
+        assertTrue(result.isHasNext());
+        assertNull(result.getTotalElements());
+        verify(productRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void should_ReturnTotal_WhenFindProductsByPriceRangeSliceWithIncludeTotal() {
+        // Arrange
+        BigDecimal minPrice = new BigDecimal("50.00");
+        BigDecimal maxPrice = new BigDecimal("150.00");
+        when(priceIndex.query(minPrice, maxPrice, 200, 100)).thenReturn(new ProductPriceIndex.PriceHits(List.of(1L), 201));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(productList);
+
+        // Act
+        ResultSlice<Product> result = productService.findProductsByPriceRangeSlice(minPrice, maxPrice, 2, 500, true);
+
+        // Assert
+        assertEquals(201L, result.getTotalElements());
+        assertFalse(result.isHasNext());
+        assertEquals(2, result.getPage());
+        verify(productRepository, never()).findSliceByPriceBetween(any(), any(), any());
+        verify(productRepository, never()).countByPriceBetween(any(), any());
+    }
+
+    @Test
+    void should_ReturnFirstPageWithCursor_WhenFindAllProductsAfterWithoutCursor() {
+        // Arrange
+        Product next = new Product();
+        next.setId(2L);
+        next.setName("Z Product");
+        when(productRepository.findByOrderByNameAscIdAsc(PageRequest.ofSize(2))).thenReturn(List.of(product, next));
+
+        // Act
+        CursorPage<Product> result = productService.findAllProductsAfter(null, 1);
+
+        // Assert
+        assertEquals(List.of(product), result.getContent());
+        assertTrue(result.isHasNext());
+        assertEquals(new KeysetCursor("name", "Test Product", 1L), KeysetCursor.decode(result.getNextCursor(), "name"));
+        verify(productRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void should_SeekPastCursor_WhenFindAllProductsAfterWithCursor() {
+        // Arrange
+        String cursor = new KeysetCursor("name", "Test Product", 1L).encode();
+        when(productRepository.findAllAfter("Test Product", 1L, PageRequest.ofSize(21))).thenReturn(List.of());
+
+        // Act
+        CursorPage<Product> result = productService.findAllProductsAfter(cursor, null);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void should_ThrowException_WhenFindProductsByPriceRangeAfterWithNameCursor() {
+        // Arrange
+        String cursor = new KeysetCursor("name", "Test Product", 1L).encode();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                productService.findProductsByPriceRangeAfter(BigDecimal.ONE, BigDecimal.TEN, cursor, 10));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void should_ThrowException_WhenFindAllProductsAfterWithMalformedCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productService.findAllProductsAfter("not a cursor!", 10));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void should_ReturnRankedProducts_WhenSearchProducts() {
+        // Arrange
+        Product other = new Product();
+        other.setId(2L);
+        when(searchIndex.search("test", 0, 10)).thenReturn(new ProductSearchIndex.SearchHits(List.of(2L, 1L), 12));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(product, other));
+
+        // Act
+        Page<Product> result = productService.searchProducts("test", pageable);
+
+        // Assert
+        assertEquals(List.of(other, product), result.getContent());
+        assertEquals(12, result.getTotalElements());
+    }
+
+    @Test
+    void should_ReturnFacetPage_WhenFindProductFacets() {
+        // Arrange
+        List<ProductFacets.CategoryCount> categories = List.of(new ProductFacets.CategoryCount(1L, 3));
+        List<ProductFacets.PriceRangeCount> priceRanges = List.of(new ProductFacets.PriceRangeCount(0, BigDecimal.ZERO, null, 3));
+        when(facetIndex.query(List.of(1L), List.of(0), 20, 20))
+                .thenReturn(new ProductFacetIndex.FacetHits(List.of(1L), 21, categories, priceRanges));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+
+        // Act
+        ProductFacets result = productService.findProductFacets(List.of(1L), List.of(0), 1, null);
+
+        // Assert
+        assertEquals(List.of(product), result.content());
+        assertEquals(21, result.totalElements());
+        assertEquals(categories, result.categories());
+        assertEquals(priceRanges, result.priceRanges());
+    }
+
     @Test
     void should_SaveProduct_WhenSaveProduct() {
         // Arrange
@@ -223,6 +398,7 @@ class ProductServiceTest {
         assertEquals("Test Product", result.getName());
         verify(categoryService).findCategoryById(1L);
         verify(productRepository).save(product);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(1L, product));
     }
 
     @Test
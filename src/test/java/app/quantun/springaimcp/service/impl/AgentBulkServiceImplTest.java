@@ -0,0 +1,99 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.model.contract.response.Answer;
+import app.quantun.springaimcp.service.AgentService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgentBulkServiceImplTest {
+
+    @Mock
+    private AgentService agentService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AgentBulkServiceImpl bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new AgentBulkServiceImpl(agentService, objectMapper);
+        ReflectionTestUtils.setField(bulkService, "parallelism", 2);
+        bulkService.startExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkService.stopExecutor();
+    }
+
+    @Test
+    void should_WriteAnswersInInputOrder_WhenOrdered() throws Exception {
+        // Arrange
+        when(agentService.getAnswer(any(Question.class))).thenAnswer(invocation -> {
+            Question question = invocation.getArgument(0);
+            // make earlier questions finish last
+            Thread.sleep(question.getText().equals("q0") ? 100 : 10);
+            Answer answer = new Answer();
+            answer.setText("answer to " + question.getText());
+            return answer;
+        });
+        String input = "{\"text\":\"q0\"}\n\n{\"text\":\"q1\"}\n{\"text\":\"q2\"}\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        bulkService.answerAll(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output, true);
+
+        // Assert
+        List<JsonNode> lines = readLines(output);
+        assertEquals(3, lines.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, lines.get(i).get("index").asInt());
+            assertEquals("answer to q" + i, lines.get(i).get("answer").get("text").asText());
+        }
+    }
+
+    @Test
+    void should_ReportError_WhenLineIsNotAQuestion() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        bulkService.answerAll(new ByteArrayInputStream("not json\n".getBytes(StandardCharsets.UTF_8)), output, false);
+
+        // Assert
+        List<JsonNode> lines = readLines(output);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).has("error"));
+        assertFalse(lines.get(0).has("answer"));
+        verifyNoInteractions(agentService);
+    }
+
+    private List<JsonNode> readLines(ByteArrayOutputStream output) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
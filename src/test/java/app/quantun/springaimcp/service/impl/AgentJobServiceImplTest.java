@@ -0,0 +1,101 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.entity.AgentJob;
+import app.quantun.springaimcp.model.entity.AgentJobStatus;
+import app.quantun.springaimcp.repository.AgentJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgentJobServiceImplTest {
+
+    @Mock
+    private AgentJobRepository agentJobRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AgentJobServiceImpl agentJobService;
+
+    @BeforeEach
+    void setUp() {
+        agentJobService = new AgentJobServiceImpl(agentJobRepository, new ObjectMapper(), eventPublisher);
+        ReflectionTestUtils.setField(agentJobService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(agentJobService, "retryBackoffSeconds", 10L);
+    }
+
+    @Test
+    void should_RequeueWithBackoff_WhenAttemptsAreLeft() {
+        // Arrange
+        AgentJob job = runningJob(2, 3);
+        when(agentJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        agentJobService.failJob(1L, "IllegalStateException: boom");
+
+        // Assert
+        assertEquals(AgentJobStatus.QUEUED, job.getStatus());
+        assertEquals("IllegalStateException: boom", job.getError());
+        // linear backoff: attempt 2 waits twice the base delay
+        assertFalse(job.getAvailableAt().isBefore(before.plusSeconds(20)));
+        assertTrue(job.getAvailableAt().isBefore(LocalDateTime.now().plusSeconds(21)));
+        assertNull(job.getFinishedAt());
+    }
+
+    @Test
+    void should_FailJob_WhenAttemptsReachMaximum() {
+        // Arrange
+        AgentJob job = runningJob(3, 3);
+        when(agentJobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        // Act
+        agentJobService.failJob(1L, "IllegalStateException: boom");
+
+        // Assert
+        assertEquals(AgentJobStatus.FAILED, job.getStatus());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void should_FailExhaustedJobsBeforeRequeueing_WhenRecovering() {
+        // Arrange
+        when(agentJobRepository.failExhaustedRunningJobs(anyString(), any(LocalDateTime.class))).thenReturn(1);
+        when(agentJobRepository.requeueRunningJobs()).thenReturn(2);
+
+        // Act
+        int recovered = agentJobService.recoverInterruptedJobs();
+
+        // Assert
+        assertEquals(2, recovered);
+        InOrder inOrder = inOrder(agentJobRepository);
+        inOrder.verify(agentJobRepository).failExhaustedRunningJobs(anyString(), any(LocalDateTime.class));
+        inOrder.verify(agentJobRepository).requeueRunningJobs();
+    }
+
+    private static AgentJob runningJob(int attempts, int maxAttempts) {
+        AgentJob job = new AgentJob();
+        job.setId(1L);
+        job.setQuestionText("How many products?");
+        job.setStatus(AgentJobStatus.RUNNING);
+        job.setAttempts(attempts);
+        job.setMaxAttempts(maxAttempts);
+        job.setAvailableAt(LocalDateTime.now());
+        return job;
+    }
+}
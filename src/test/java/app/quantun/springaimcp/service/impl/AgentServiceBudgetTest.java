@@ -0,0 +1,104 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.AgentInteractionCompletedEvent;
+import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.model.contract.response.Answer;
+import app.quantun.springaimcp.service.AgentService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Golden-question budget suite: answers each question of {@code agent/golden-questions.json}
+ * with the offline stub model and fails the build when a prompt, template or tool change
+ * pushes a question over its tool-call, token or SQL budget.
+ */
+@SpringBootTest(properties = {
+        "agent.stub.latency.distribution=fixed",
+        "agent.stub.latency.min-ms=0",
+        "agent.stub.latency.median-ms=0",
+        "agent.stub.token-delay-ms=0",
+        "agent.planner.enabled=false"
+})
+@ActiveProfiles("stub")
+@RecordApplicationEvents
+class AgentServiceBudgetTest {
+
+    @Autowired
+    private AgentService agentService;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> goldenQuestions() throws IOException {
+        try (InputStream input = new ClassPathResource("agent/golden-questions.json").getInputStream()) {
+            List<GoldenQuestion> questions = new ObjectMapper().readValue(input, new TypeReference<>() {
+            });
+            return questions.stream().map(golden -> Arguments.of(golden.question(), golden));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("goldenQuestions")
+    void should_StayWithinBudget_WhenAnsweringGoldenQuestion(String text, GoldenQuestion golden) {
+        // Arrange
+        Question question = new Question();
+        question.setText(text);
+        clearInvocations(jdbcTemplate);
+
+        // Act
+        Answer answer = agentService.getAnswer(question);
+
+        // Assert
+        assertNotNull(answer.getText());
+        AgentInteractionCompletedEvent usage = applicationEvents.stream(AgentInteractionCompletedEvent.class)
+                .filter(event -> text.equals(event.question()))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        assertAll(
+                () -> assertTrue(usage.answered(), "question was not answered"),
+                () -> assertTrue(usage.toolCalls() <= golden.maxToolCalls(),
+                        "tool calls " + usage.toolCalls() + " > budget " + golden.maxToolCalls()),
+                () -> assertTrue(usage.promptTokens() <= golden.maxPromptTokens(),
+                        "prompt tokens " + usage.promptTokens() + " > budget " + golden.maxPromptTokens()),
+                () -> assertTrue(usage.completionTokens() <= golden.maxCompletionTokens(),
+                        "completion tokens " + usage.completionTokens() + " > budget " + golden.maxCompletionTokens()),
+                () -> assertTrue(sqlStatements() <= golden.maxSqlStatements(),
+                        "SQL statements " + sqlStatements() + " > budget " + golden.maxSqlStatements()));
+    }
+
+    /**
+     * Statements run by {@code AgentUtilImpl}, which issues each of them through {@code queryForList}.
+     */
+    private long sqlStatements() {
+        return mockingDetails(jdbcTemplate).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("queryForList"))
+                .count();
+    }
+
+    record GoldenQuestion(String question, int maxToolCalls, long maxPromptTokens,
+                          long maxCompletionTokens, int maxSqlStatements) {
+    }
+}
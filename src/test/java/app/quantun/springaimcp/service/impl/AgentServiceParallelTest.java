@@ -0,0 +1,88 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.contract.request.Question;
+import app.quantun.springaimcp.model.contract.response.Answer;
+import app.quantun.springaimcp.service.AgentService;
+import app.quantun.springaimcp.service.QuestionPlanner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fan-out and merge of planned questions against the offline stub model. The tool-round limit is
+ * lowered to one, so the scripted schema scenario, which needs two tool rounds, fails on purpose.
+ */
+@SpringBootTest(properties = {
+        "agent.stub.latency.distribution=fixed",
+        "agent.stub.latency.min-ms=0",
+        "agent.stub.latency.median-ms=0",
+        "agent.stub.token-delay-ms=0",
+        "agent.max-tool-rounds=1"
+})
+@ActiveProfiles("stub")
+class AgentServiceParallelTest {
+
+    private static final String PRODUCTS = "Which products are the most expensive?";
+    private static final String USERS = "How many users have each role?";
+    private static final String TABLES = "Which tables does the database have?";
+
+    @Autowired
+    private AgentService agentService;
+
+    @MockitoBean
+    private QuestionPlanner questionPlanner;
+
+    @Test
+    void should_MergeAnswersInPlannedOrder_WhenEverySubQuestionSucceeds() {
+        // Arrange
+        when(questionPlanner.decompose(anyString())).thenReturn(List.of(USERS, PRODUCTS));
+
+        // Act
+        Answer answer = agentService.getAnswer(question());
+
+        // Assert
+        assertEquals(USERS + " Here is the number of users per role." + System.lineSeparator()
+                + PRODUCTS + " Here are the products ordered by price.", answer.getText());
+        assertNull(answer.getFailedQuestions());
+        assertNotNull(answer.getConversationId());
+    }
+
+    @Test
+    void should_ListFailedSubQuestionWithoutItsError_WhenOneSubQuestionFails() {
+        // Arrange
+        when(questionPlanner.decompose(anyString())).thenReturn(List.of(PRODUCTS, TABLES, USERS));
+
+        // Act
+        Answer answer = agentService.getAnswer(question());
+
+        // Assert
+        assertEquals(PRODUCTS + " Here are the products ordered by price." + System.lineSeparator()
+                + USERS + " Here is the number of users per role.", answer.getText());
+        assertEquals(List.of(TABLES), answer.getFailedQuestions());
+        assertFalse(answer.getText().contains("tool rounds"));
+    }
+
+    @Test
+    void should_Throw_WhenEverySubQuestionFails() {
+        // Arrange
+        when(questionPlanner.decompose(anyString())).thenReturn(List.of(TABLES, "Which columns does PRODUCTS have?"));
+
+        // Act & Assert
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> agentService.getAnswer(question()));
+        assertEquals("Agent exceeded 1 tool rounds.", e.getMessage());
+    }
+
+    private static Question question() {
+        Question question = new Question();
+        question.setText("Compare the most expensive products with the users per role.");
+        return question;
+    }
+}
@@ -0,0 +1,106 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.CategoryChangedEvent;
+import app.quantun.springaimcp.model.contract.request.KeysetCursor;
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CategorySnapshotTest {
+
+    private CategoryRepository categoryRepository;
+    private CategorySnapshot snapshot;
+    private Category books;
+    private Category electronics;
+    private Category clothing;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = mock(CategoryRepository.class);
+        snapshot = new CategorySnapshot(categoryRepository);
+        electronics = category(1L, "Electronics");
+        clothing = category(2L, "Clothing");
+        books = category(3L, "Books");
+        when(categoryRepository.findAll()).thenReturn(List.of(electronics, clothing, books));
+    }
+
+    @Test
+    void should_ServeReadsFromOneLoad_WhenReadRepeatedly() {
+        // Act
+        boolean exists = snapshot.existsById(2L);
+        Category byName = snapshot.findByName("Books").orElseThrow();
+        List<Category> all = snapshot.findAll();
+
+        // Assert
+        assertTrue(exists);
+        assertSame(books, byName);
+        assertEquals(List.of(electronics, clothing, books), all);
+        assertFalse(snapshot.findById(99L).isPresent());
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void should_SortAndPage_WhenPageableIsSorted() {
+        // Act
+        Page<Category> page = snapshot.findAll(PageRequest.of(0, 2, Sort.by("name")));
+
+        // Assert
+        assertEquals(List.of(books, clothing), page.getContent());
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void should_MatchIgnoringCase_WhenFindByNameContaining() {
+        // Act
+        Page<Category> page = snapshot.findByNameContaining("CL", PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(clothing), page.getContent());
+    }
+
+    @Test
+    void should_ReturnRowsAfterCursor_WhenFindAfter() {
+        // Act
+        List<Category> rows = snapshot.findAfter(null, new KeysetCursor("name", "Books", 3L), 10);
+
+        // Assert
+        assertEquals(List.of(clothing, electronics), rows);
+    }
+
+    @Test
+    void should_Throw_WhenSortPropertyIsUnknown() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> snapshot.findAll(PageRequest.of(0, 10, Sort.by("products"))));
+    }
+
+    @Test
+    void should_SwapSnapshot_WhenCategoryChanged() {
+        // Arrange
+        snapshot.findAll();
+        Category toys = category(4L, "Toys");
+        when(categoryRepository.findAll()).thenReturn(List.of(electronics, clothing, books, toys));
+
+        // Act
+        snapshot.onCategoryChanged(new CategoryChangedEvent(4L));
+
+        // Assert
+        assertSame(toys, snapshot.findById(4L).orElseThrow());
+        assertEquals(4, snapshot.findAll().size());
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
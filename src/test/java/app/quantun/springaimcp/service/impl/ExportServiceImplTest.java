@@ -0,0 +1,181 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.repository.CategoryRepository;
+import app.quantun.springaimcp.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportServiceImpl(productRepository, categoryRepository, jdbcTemplate, entityManager,
+                transactionManager, objectMapper);
+    }
+
+    @Test
+    void should_WriteOneLinePerProduct_WhenExportingProducts() throws Exception {
+        // Arrange
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Electronics");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(productRepository.streamAll()).thenReturn(LongStream.rangeClosed(1, ExportServiceImpl.FETCH_SIZE + 1)
+                .mapToObj(id -> product(id, category))
+                .onClose(() -> closed.set(true)));
+
+        // Act
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportProducts(output);
+
+        // Assert
+        List<JsonNode> lines = lines(output);
+        assertEquals(ExportServiceImpl.FETCH_SIZE + 1, lines.size());
+        assertEquals(1, lines.get(0).get("id").asLong());
+        assertEquals("Electronics", lines.get(0).get("category").get("name").asText());
+        assertTrue(closed.get());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void should_FlushBeforeFirstRow_WhenExportStarts() throws Exception {
+        // Arrange
+        List<String> events = new ArrayList<>();
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void flush() {
+                events.add("flush");
+            }
+        };
+        when(categoryRepository.streamAll()).thenAnswer(invocation -> {
+            events.add("query");
+            return Stream.of(new Category());
+        });
+
+        // Act
+        exportService.exportCategories(output);
+
+        // Assert
+        assertEquals(List.of("flush", "query", "flush"), events);
+    }
+
+    @Test
+    void should_GroupRolesAndOmitPassword_WhenExportingUsers() throws Exception {
+        // Arrange
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(1L, 1L, 2L);
+        when(rs.getString("username")).thenReturn("alice", "bob");
+        when(rs.getString("email")).thenReturn("alice@example.com", "bob@example.com");
+        when(rs.getObject("created_at", LocalDateTime.class)).thenReturn(LocalDateTime.of(2025, 1, 1, 0, 0));
+        when(rs.getString("role")).thenReturn("ADMIN", "USER", null);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int row = 0; row < 3; row++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // Act
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportUsers(output);
+
+        // Assert
+        List<JsonNode> lines = lines(output);
+        assertEquals(2, lines.size());
+        assertEquals("alice", lines.get(0).get("username").asText());
+        assertEquals("[\"ADMIN\",\"USER\"]", lines.get(0).get("roles").toString());
+        assertEquals("bob", lines.get(1).get("username").asText());
+        assertEquals(0, lines.get(1).get("roles").size());
+        assertFalse(lines.get(0).has("password"));
+    }
+
+    @Test
+    void should_PropagateIOException_WhenClientDisconnects() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(categoryRepository.streamAll()).thenReturn(Stream.of(new Category()).onClose(() -> closed.set(true)));
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> exportService.exportCategories(output));
+        assertTrue(closed.get());
+    }
+
+    private static Product product(long id, Category category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setPrice(BigDecimal.TEN);
+        product.setSku("SKU-" + id);
+        product.setCategory(category);
+        return product;
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream output) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,54 @@
+package app.quantun.springaimcp.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongHashMapTest {
+
+    private static final long MISSING = Long.MIN_VALUE;
+
+    @Test
+    void should_ReturnMissing_WhenKeyHasNoEntry() {
+        // Arrange
+        LongLongHashMap map = new LongLongHashMap(MISSING);
+        map.put(0L, 7L);
+        map.put(3_000_000_000L, 8L);
+
+        // Act & Assert
+        assertEquals(7L, map.get(0L));
+        assertEquals(8L, map.get(3_000_000_000L));
+        assertEquals(MISSING, map.get(1L));
+        assertEquals(MISSING, map.remove(1L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void should_MatchHashMap_WhenKeysArePutAndRemovedAtRandom() {
+        // Arrange
+        Random random = new Random(42);
+        LongLongHashMap map = new LongLongHashMap(MISSING);
+        Map<Long, Long> expected = new HashMap<>();
+
+        // Act & Assert
+        for (int i = 0; i < 100_000; i++) {
+            // a small, clustered key space makes long probe runs and many shifts on removal
+            long key = (random.nextInt(2_000) - 100) * 1_024L;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    long value = random.nextLong();
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 1 -> assertEquals(expected.containsKey(key) ? expected.remove(key) : MISSING, map.remove(key));
+                default -> assertEquals(expected.getOrDefault(key, MISSING).longValue(), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        expected.forEach((key, value) -> assertEquals(value.longValue(), map.get(key)));
+    }
+}
@@ -0,0 +1,113 @@
+package app.quantun.springaimcp.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PageQueryExecutorTest {
+
+    private final PageRequest pageable = PageRequest.of(0, 2);
+    private PageQueryExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    void should_RunCountWhileContentRuns_WhenConcurrent() {
+        // Arrange
+        executor = new PageQueryExecutor(mock(PlatformTransactionManager.class), true, 2);
+        CountDownLatch countStarted = new CountDownLatch(1);
+
+        // Act
+        Page<String> page = executor.page(pageable,
+                () -> fail("sequential query must not run"),
+                () -> {
+                    // only returns once the count is running on another thread
+                    await(countStarted);
+                    return new SliceImpl<>(List.of("a", "b"), pageable, true);
+                },
+                () -> {
+                    countStarted.countDown();
+                    return 7;
+                });
+
+        // Assert
+        assertEquals(List.of("a", "b"), page.getContent());
+        assertEquals(7, page.getTotalElements());
+    }
+
+    @Test
+    void should_TakeTotalFromContent_WhenFirstPageIsNotFull() {
+        // Arrange
+        executor = new PageQueryExecutor(mock(PlatformTransactionManager.class), true, 2);
+
+        // Act
+        Page<String> page = executor.page(pageable,
+                () -> fail("sequential query must not run"),
+                () -> new SliceImpl<>(List.of("a"), pageable, false),
+                () -> 99);
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void should_RunPlainPageQuery_WhenSequential() {
+        // Arrange
+        executor = new PageQueryExecutor(null, false, 0);
+        AtomicInteger counts = new AtomicInteger();
+        Page<String> expected = new PageImpl<>(List.of("a", "b"), pageable, 3);
+
+        // Act
+        Page<String> page = executor.page(pageable,
+                () -> expected,
+                () -> fail("slice query must not run"),
+                counts::incrementAndGet);
+
+        // Assert
+        assertSame(expected, page);
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void should_RunPlainPageQuery_WhenPageSizeIsMaxValue() {
+        // Arrange
+        executor = new PageQueryExecutor(mock(PlatformTransactionManager.class), true, 2);
+        PageRequest everything = PageRequest.of(0, Integer.MAX_VALUE);
+        Page<String> expected = new PageImpl<>(List.of("a"), everything, 1);
+
+        // Act
+        Page<String> page = executor.page(everything,
+                () -> expected,
+                () -> fail("slice query must not run, it would ask for Integer.MAX_VALUE + 1 rows"),
+                () -> {
+                    throw new AssertionError("count query must not run");
+                });
+
+        // Assert
+        assertSame(expected, page);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "count query did not start concurrently");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
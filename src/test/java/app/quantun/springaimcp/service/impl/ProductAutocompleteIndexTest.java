@@ -0,0 +1,136 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.contract.response.ProductSuggestion;
+import app.quantun.springaimcp.model.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductAutocompleteIndexTest {
+
+    private ProductAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductAutocompleteIndex();
+        index.index(product(1L, "Laptop Pro", "ELEC-001"));
+        index.index(product(2L, "Laptop", "ELEC-002"));
+        index.index(product(3L, "Lamp", "HOME-001"));
+    }
+
+    @Test
+    void should_ReturnShortestCompletionsFirst_WhenComplete() {
+        // Act
+        List<ProductSuggestion> suggestions = index.complete("La", 10);
+
+        // Assert
+        assertEquals(List.of("Lamp", "Laptop", "Laptop Pro"), suggestions.stream().map(ProductSuggestion::text).toList());
+    }
+
+    @Test
+    void should_CompleteSkus_WhenPrefixMatchesSku() {
+        // Act
+        List<ProductSuggestion> suggestions = index.complete("elec-00", 10);
+
+        // Assert
+        assertEquals(List.of(new ProductSuggestion("ELEC-001", "sku", 1L), new ProductSuggestion("ELEC-002", "sku", 2L)),
+                suggestions);
+    }
+
+    @Test
+    void should_LimitCompletions_WhenLimitIsSmaller() {
+        // Act
+        List<ProductSuggestion> suggestions = index.complete("l", 2);
+
+        // Assert
+        assertEquals(List.of("Lamp", "Laptop"), suggestions.stream().map(ProductSuggestion::text).toList());
+    }
+
+    @Test
+    void should_ReturnNothing_WhenNoKeyHasThePrefix() {
+        // Act & Assert
+        assertTrue(index.complete("phone", 10).isEmpty());
+    }
+
+    @Test
+    void should_ReplaceCompletions_WhenProductIsRenamed() {
+        // Act
+        index.index(product(2L, "Notebook", "ELEC-002"));
+
+        // Assert
+        assertEquals(List.of("Lamp", "Laptop Pro"), index.complete("la", 10).stream().map(ProductSuggestion::text).toList());
+        assertEquals(List.of(new ProductSuggestion("Notebook", "name", 2L)), index.complete("note", 10));
+    }
+
+    @Test
+    void should_DropCompletions_WhenProductIsRemoved() {
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of("Laptop"), index.complete("lapt", 10).stream().map(ProductSuggestion::text).toList());
+        assertTrue(index.complete("elec-001", 10).isEmpty());
+    }
+
+    @Test
+    void should_KeepEarlierResults_WhenIndexChangesAfterLookup() {
+        // Arrange
+        List<ProductSuggestion> before = index.complete("lap", 10);
+
+        // Act
+        index.remove(2L);
+
+        // Assert
+        assertEquals(2, before.size());
+        assertEquals(1, index.complete("lap", 10).size());
+    }
+
+    @Test
+    void should_SplitAndMergeEdges_WhenKeysShareAPrefix() {
+        // Act
+        // "lapel" leaves the "laptop" edge after "lap", then removing both laptops leaves it alone there
+        index.index(product(4L, "Lapel", null));
+        index.remove(1L);
+        index.remove(2L);
+
+        // Assert
+        assertEquals(List.of("Lamp", "Lapel"), texts("la"));
+        assertEquals(List.of("Lapel"), texts("lap"));
+        assertEquals(List.of("Lapel"), texts("lape"));
+        assertTrue(index.complete("lapt", 10).isEmpty());
+    }
+
+    @Test
+    void should_CompleteSharedPrefixes_WhenRebuiltFromTable() {
+        // Arrange
+        ProductIndex.Rebuild rebuild = index.startRebuild();
+        rebuild.add(ProductIndexRow.of(product(1L, "Laptop Pro", "ELEC-001")));
+        rebuild.add(ProductIndexRow.of(product(2L, "Laptop", "ELEC-002")));
+        rebuild.add(ProductIndexRow.of(product(4L, "Lapel", null)));
+
+        // Act
+        rebuild.publish();
+        rebuild.discard();
+
+        // Assert
+        assertEquals(List.of("Lapel", "Laptop", "Laptop Pro"), texts("lap"));
+        assertEquals(List.of("Laptop Pro"), texts("laptop "));
+        assertTrue(index.complete("lam", 10).isEmpty());
+    }
+
+    private List<String> texts(String prefix) {
+        return index.complete(prefix, 10).stream().map(ProductSuggestion::text).toList();
+    }
+
+    private static Product product(Long id, String name, String sku) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setSku(sku);
+        return product;
+    }
+}
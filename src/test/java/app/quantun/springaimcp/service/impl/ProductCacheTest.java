@@ -0,0 +1,111 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.entity.Product;
+import app.quantun.springaimcp.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductCacheTest {
+
+    private ProductRepository productRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCache cache;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProductCache(productRepository, meterRegistry, 1_000_000, 1_000, Duration.ofMinutes(5), Duration.ofMinutes(30));
+        product = new Product();
+        product.setId(1L);
+        product.setName("Laptop");
+        product.setSku("ELEC-001");
+    }
+
+    @Test
+    void should_LoadOnce_WhenFindByIdIsRepeated() {
+        // Arrange
+        when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        cache.findById(1L);
+        Optional<Product> result = cache.findById(1L);
+
+        // Assert
+        assertEquals(Optional.of(product), result);
+        verify(productRepository, times(1)).findWithCategoryById(1L);
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", ProductCache.PRODUCTS).gauge().value());
+    }
+
+    @Test
+    void should_ServeIdLookup_WhenLoadedBySku() {
+        // Arrange
+        when(productRepository.findWithCategoryBySku("ELEC-001")).thenReturn(Optional.of(product));
+
+        // Act
+        Optional<Product> bySku = cache.findBySku("ELEC-001");
+        Optional<Product> byId = cache.findById(1L);
+
+        // Assert
+        assertEquals(Optional.of(product), bySku);
+        assertEquals(Optional.of(product), byId);
+        verify(productRepository, never()).findWithCategoryById(anyLong());
+    }
+
+    @Test
+    void should_NotCacheMissingProducts_WhenNotFound() {
+        // Arrange
+        when(productRepository.findWithCategoryById(2L)).thenReturn(Optional.empty());
+
+        // Act
+        cache.findById(2L);
+        Optional<Product> result = cache.findById(2L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(productRepository, times(2)).findWithCategoryById(2L);
+    }
+
+    @Test
+    void should_ReloadProductAndSku_WhenProductChanged() {
+        // Arrange
+        Product renamed = new Product();
+        renamed.setId(1L);
+        renamed.setName("Laptop Pro");
+        renamed.setSku("ELEC-001");
+        when(productRepository.findWithCategoryBySku("ELEC-001")).thenReturn(Optional.of(product), Optional.of(renamed));
+        cache.findBySku("ELEC-001");
+
+        // Act
+        cache.onProductChanged(new ProductChangedEvent(1L, renamed));
+        Optional<Product> result = cache.findBySku("ELEC-001");
+
+        // Assert
+        assertEquals("Laptop Pro", result.orElseThrow().getName());
+        verify(productRepository, times(2)).findWithCategoryBySku("ELEC-001");
+    }
+
+    @Test
+    void should_ForgetProduct_WhenDeleted() {
+        // Arrange
+        when(productRepository.findWithCategoryById(1L)).thenReturn(Optional.of(product), Optional.empty());
+        when(productRepository.findWithCategoryBySku("ELEC-001")).thenReturn(Optional.empty());
+        cache.findById(1L);
+
+        // Act
+        cache.onProductChanged(new ProductChangedEvent(1L, null));
+
+        // Assert
+        assertTrue(cache.findById(1L).isEmpty());
+        assertTrue(cache.findBySku("ELEC-001").isEmpty());
+    }
+}
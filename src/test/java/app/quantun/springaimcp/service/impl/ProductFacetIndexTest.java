@@ -0,0 +1,144 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.contract.response.ProductFacets.CategoryCount;
+import app.quantun.springaimcp.model.contract.response.ProductFacets.PriceRangeCount;
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.model.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFacetIndexTest {
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex(new BigDecimal[]{new BigDecimal("100"), new BigDecimal("10")});
+        index.index(product(1L, 1L, "5.00"));
+        index.index(product(2L, 1L, "50.00"));
+        index.index(product(3L, 2L, "10.00"));
+        index.index(product(4L, 2L, "500.00"));
+        index.index(product(5L, 3L, "75.00"));
+    }
+
+    @Test
+    void should_CountEveryFacet_WhenNothingIsSelected() {
+        // Act
+        ProductFacetIndex.FacetHits hits = index.query(null, null, 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), hits.ids());
+        assertEquals(5, hits.total());
+        assertEquals(List.of(new CategoryCount(1L, 2), new CategoryCount(2L, 2), new CategoryCount(3L, 1)), hits.categories());
+        assertEquals(List.of(
+                new PriceRangeCount(0, BigDecimal.ZERO, new BigDecimal("10"), 1),
+                new PriceRangeCount(1, new BigDecimal("10"), new BigDecimal("100"), 3),
+                new PriceRangeCount(2, new BigDecimal("100"), null, 1)), hits.priceRanges());
+    }
+
+    @Test
+    void should_IntersectFacetsAndCountDisjunctively_WhenBothAreSelected() {
+        // Act
+        ProductFacetIndex.FacetHits hits = index.query(List.of(1L, 2L), List.of(1), 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), hits.ids());
+        assertEquals(2, hits.total());
+        // category counts ignore the category selection, price counts ignore the price selection
+        assertEquals(List.of(new CategoryCount(1L, 1), new CategoryCount(2L, 1), new CategoryCount(3L, 1)), hits.categories());
+        assertEquals(List.of(1L, 2L, 1L), hits.priceRanges().stream().map(PriceRangeCount::count).toList());
+    }
+
+    @Test
+    void should_ReturnRequestedPage_WhenOffsetIsGiven() {
+        // Act
+        ProductFacetIndex.FacetHits hits = index.query(null, List.of(1, 2), 1, 2);
+
+        // Assert
+        assertEquals(List.of(3L, 4L), hits.ids());
+        assertEquals(4, hits.total());
+    }
+
+    @Test
+    void should_MoveProduct_WhenIndexedAgain() {
+        // Act
+        index.index(product(1L, 3L, "150.00"));
+
+        // Assert
+        ProductFacetIndex.FacetHits hits = index.query(List.of(3L), List.of(2), 0, 10);
+        assertEquals(List.of(1L), hits.ids());
+        assertEquals(List.of(new CategoryCount(1L, 0), new CategoryCount(2L, 1), new CategoryCount(3L, 1)), hits.categories());
+    }
+
+    @Test
+    void should_DropProduct_WhenRemoved() {
+        // Act
+        index.remove(2L);
+
+        // Assert
+        ProductFacetIndex.FacetHits hits = index.query(List.of(1L), null, 0, 10);
+        assertEquals(List.of(1L), hits.ids());
+        assertEquals(1, hits.total());
+    }
+
+    @Test
+    void should_IndexSparseIds_WhenIdIsLarge() {
+        // Act
+        index.index(product(2_000_000_000L, 3L, "75.00"));
+
+        // Assert
+        ProductFacetIndex.FacetHits hits = index.query(List.of(3L), null, 1, 10);
+        assertEquals(List.of(2_000_000_000L), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void should_ReplaceIndexedProducts_WhenRebuilt() {
+        // Arrange
+        ProductIndex.Rebuild rebuild = index.startRebuild();
+        rebuild.add(new ProductIndexRow(7L, "Lamp", null, "LAMP-1", 2L, new BigDecimal("20.00")));
+        rebuild.add(new ProductIndexRow(9L, "Desk", null, "DESK-1", 4L, new BigDecimal("200.00")));
+
+        // Act
+        rebuild.publish();
+        rebuild.discard();
+
+        // Assert
+        ProductFacetIndex.FacetHits hits = index.query(null, null, 0, 10);
+        assertEquals(List.of(7L, 9L), hits.ids());
+        assertEquals(List.of(new CategoryCount(2L, 1), new CategoryCount(4L, 1)), hits.categories());
+        assertEquals(List.of(0L, 1L, 1L), hits.priceRanges().stream().map(PriceRangeCount::count).toList());
+    }
+
+    @Test
+    void should_MatchNothing_WhenCategoryIsUnknown() {
+        // Act
+        ProductFacetIndex.FacetHits hits = index.query(List.of(99L), null, 0, 10);
+
+        // Assert
+        assertTrue(hits.ids().isEmpty());
+        assertEquals(0, hits.total());
+    }
+
+    @Test
+    void should_Throw_WhenPriceRangeIsOutOfBounds() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> index.query(null, List.of(3), 0, 10));
+    }
+
+    private static Product product(Long id, Long categoryId, String price) {
+        Category category = new Category();
+        category.setId(categoryId);
+        Product product = new Product();
+        product.setId(id);
+        product.setCategory(category);
+        product.setPrice(new BigDecimal(price));
+        return product;
+    }
+}
@@ -0,0 +1,194 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductsImportedEvent;
+import app.quantun.springaimcp.model.entity.Category;
+import app.quantun.springaimcp.repository.ProductRepository;
+import app.quantun.springaimcp.service.ProductImportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategorySnapshot categorySnapshot;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductImportServiceImpl importService;
+    private List<List<Object>> batches;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportServiceImpl(jdbcTemplate, transactionManager, productRepository, categorySnapshot,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, eventPublisher, 2, 500);
+        batches = new ArrayList<>();
+        category = new Category();
+        category.setId(1L);
+        category.setName("Electronics");
+    }
+
+    @Test
+    void should_InsertInChunks_WhenCsvRowsAreValid() throws Exception {
+        // Arrange
+        recordBatches();
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(List.of());
+        when(categorySnapshot.findByName("Electronics")).thenReturn(Optional.of(category));
+        String csv = "name,price,sku,category,description\n"
+                + "Laptop,999.99,LAP-1,Electronics,\"Fast, light\"\n"
+                + "\n"
+                + "Phone,499,PHN-1,,\"Says \"\"hi\"\"\nover two lines\"\n"
+                + "Cable,9.5,CBL-1,Electronics,\n";
+
+        // Act
+        List<JsonNode> lines = importAll(csv, ProductImportService.Format.CSV);
+
+        // Assert
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        assertEquals(List.of("progress", "progress", "done"), lines.stream().map(line -> line.get("status").asText()).toList());
+        JsonNode done = lines.get(2);
+        assertEquals(3, done.get("rows").asLong());
+        assertEquals(3, done.get("imported").asLong());
+        assertEquals(0, done.get("failed").asLong());
+        verify(eventPublisher).publishEvent(new ProductsImportedEvent(3));
+    }
+
+    @Test
+    void should_ReportRowErrors_WhenRowsAreInvalid() throws Exception {
+        // Arrange
+        recordBatches();
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(List.of("OLD-1"));
+        when(categorySnapshot.findById(99L)).thenReturn(Optional.empty());
+        String csv = "name,price,sku,categoryId\n"
+                + "Bad price,abc,BAD-1,\n"
+                + ",10,NONAME-1,\n"
+                + "Orphan,10,ORP-1,99\n"
+                + "Taken,10,OLD-1,\n"
+                + "Fresh,10,NEW-1,\n";
+
+        // Act
+        List<JsonNode> lines = importAll(csv, ProductImportService.Format.CSV);
+
+        // Assert
+        List<JsonNode> errors = lines.stream().filter(line -> line.get("status").asText().equals("error")).toList();
+        assertEquals(List.of(2L, 3L, 4L, 5L), errors.stream().map(line -> line.get("line").asLong()).toList());
+        assertTrue(errors.get(0).get("error").asText().startsWith("Malformed number"));
+        assertEquals("Product name is required", errors.get(1).get("error").asText());
+        assertEquals("Category not found with id: 99", errors.get(2).get("error").asText());
+        assertEquals("OLD-1", errors.get(3).get("sku").asText());
+        assertEquals(List.of(1), batches.stream().map(List::size).toList());
+        JsonNode done = lines.get(lines.size() - 1);
+        assertEquals(1, done.get("imported").asLong());
+        assertEquals(4, done.get("failed").asLong());
+    }
+
+    @Test
+    void should_SkipMalformedLine_WhenNdjsonLineIsInvalid() throws Exception {
+        // Arrange
+        recordBatches();
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(List.of());
+        String ndjson = "{\"name\":\"Laptop\",\"price\":999.99,\"sku\":\"LAP-1\"}\n"
+                + "{not json\n"
+                + "{\"name\":\"Laptop\",\"price\":5,\"sku\":\"LAP-1\"}\n";
+
+        // Act
+        List<JsonNode> lines = importAll(ndjson, ProductImportService.Format.NDJSON);
+
+        // Assert
+        assertEquals("error", lines.get(0).get("status").asText());
+        assertEquals(2, lines.get(0).get("line").asLong());
+        assertEquals("Duplicate SKU in the input: LAP-1", lines.get(1).get("error").asText());
+        assertEquals(1, lines.get(lines.size() - 1).get("imported").asLong());
+    }
+
+    @Test
+    void should_RetryRowByRow_WhenBatchFails() throws Exception {
+        // Arrange
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(eq(ProductImportServiceImpl.INSERT), anyList(), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("unique"));
+        when(jdbcTemplate.update(eq(ProductImportServiceImpl.INSERT), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("Value too long for column"));
+        String csv = "name,price,sku\nShort,1,S-1\nLong,1,L-1\n";
+
+        // Act
+        List<JsonNode> lines = importAll(csv, ProductImportService.Format.CSV);
+
+        // Assert
+        assertEquals("L-1", lines.get(0).get("sku").asText());
+        assertEquals(3, lines.get(0).get("line").asLong());
+        JsonNode done = lines.get(lines.size() - 1);
+        assertEquals(1, done.get("imported").asLong());
+        assertEquals(1, done.get("failed").asLong());
+    }
+
+    @Test
+    void should_NotPublishEvent_WhenNothingImported() throws Exception {
+        // Act
+        List<JsonNode> lines = importAll("sku\n", ProductImportService.Format.CSV);
+
+        // Assert
+        assertEquals(1, lines.size());
+        assertEquals("done", lines.get(0).get("status").asText());
+        verifyNoInteractions(eventPublisher, jdbcTemplate);
+    }
+
+    private void recordBatches() {
+        when(jdbcTemplate.batchUpdate(eq(ProductImportServiceImpl.INSERT), anyList(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    batches.add(new ArrayList<>((Collection<?>) invocation.getArgument(1)));
+                    return new int[0][];
+                });
+    }
+
+    private List<JsonNode> importAll(String input, ProductImportService.Format format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importService.importProducts(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, output);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,92 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductIndexRebuilderTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductIndex searchIndex;
+
+    @Mock
+    private ProductIndex priceIndex;
+
+    @Mock
+    private ProductIndex.Rebuild searchRebuild;
+
+    @Mock
+    private ProductIndex.Rebuild priceRebuild;
+
+    private ProductIndexRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        when(searchIndex.startRebuild()).thenReturn(searchRebuild);
+        when(priceIndex.startRebuild()).thenReturn(priceRebuild);
+        rebuilder = new ProductIndexRebuilder(productRepository, List.of(searchIndex, priceIndex));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rebuilder.stop();
+    }
+
+    @Test
+    void should_ReadBatchesAfterLastIdAndFeedEveryIndex_WhenRebuilding() {
+        // Arrange
+        List<ProductIndexRow> first = LongStream.rangeClosed(1, ProductIndexRebuilder.BATCH_SIZE).mapToObj(ProductIndexRebuilderTest::row).toList();
+        List<ProductIndexRow> second = List.of(row(2_000));
+        when(productRepository.findIndexRowsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(first);
+        when(productRepository.findIndexRowsAfter(eq((long) ProductIndexRebuilder.BATCH_SIZE), any(Pageable.class))).thenReturn(second);
+
+        // Act
+        rebuilder.rebuild();
+
+        // Assert
+        verify(productRepository, times(2)).findIndexRowsAfter(anyLong(), any(Pageable.class));
+        verify(searchRebuild, times(ProductIndexRebuilder.BATCH_SIZE + 1)).add(any(ProductIndexRow.class));
+        verify(priceRebuild).add(second.get(0));
+        verify(searchRebuild).publish();
+        verify(priceRebuild).publish();
+    }
+
+    @Test
+    void should_DiscardEveryRebuild_WhenReadingTheTableFails() {
+        // Arrange
+        when(productRepository.findIndexRowsAfter(anyLong(), any(Pageable.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, () -> rebuilder.rebuild());
+        verify(searchRebuild, never()).publish();
+        verify(priceRebuild, never()).publish();
+        verify(searchRebuild).discard();
+        verify(priceRebuild).discard();
+    }
+
+    private static ProductIndexRow row(long id) {
+        return new ProductIndexRow(id, "Product " + id, null, "SKU-" + id, 1L, BigDecimal.TEN);
+    }
+}
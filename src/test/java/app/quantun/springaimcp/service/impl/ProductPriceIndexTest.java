@@ -0,0 +1,154 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPriceIndexTest {
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex();
+        index.index(product(1L, "50.00"));
+        index.index(product(2L, "10.00"));
+        index.index(product(3L, "99.99"));
+        index.index(product(4L, "10.00"));
+        index.index(product(5L, "100.00"));
+    }
+
+    @Test
+    void should_ReturnRangeByPriceThenId_WhenQuery() {
+        // Act
+        ProductPriceIndex.PriceHits hits = index.query(new BigDecimal("10"), new BigDecimal("99.99"), 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 4L, 1L, 3L), hits.ids());
+        assertEquals(4, hits.total());
+    }
+
+    @Test
+    void should_ReturnRequestedPage_WhenOffsetIsGiven() {
+        // Act
+        ProductPriceIndex.PriceHits hits = index.query(BigDecimal.ZERO, new BigDecimal("1000"), 2, 2);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), hits.ids());
+        assertEquals(5, hits.total());
+    }
+
+    @Test
+    void should_ReturnTotalOnly_WhenOffsetIsPastTheRange() {
+        // Act
+        ProductPriceIndex.PriceHits hits = index.query(BigDecimal.ZERO, new BigDecimal("1000"), 10, 2);
+
+        // Assert
+        assertTrue(hits.ids().isEmpty());
+        assertEquals(5, hits.total());
+    }
+
+    @Test
+    void should_RoundBoundsInward_WhenBoundsHaveFractionsOfACent() {
+        // Act
+        ProductPriceIndex.PriceHits hits = index.query(new BigDecimal("10.001"), new BigDecimal("99.999"), 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), hits.ids());
+    }
+
+    @Test
+    void should_ClampBounds_WhenBoundsAreOutsideTheLongRange() {
+        // Act
+        ProductPriceIndex.PriceHits all = index.query(new BigDecimal("-1e20"), new BigDecimal("1e20"), 0, 10);
+        ProductPriceIndex.PriceHits none = index.query(new BigDecimal("1e20"), new BigDecimal("1e999999999"), 0, 10);
+
+        // Assert
+        assertEquals(5, all.total());
+        assertEquals(0, none.total());
+    }
+
+    @Test
+    void should_IndexAndRemoveProduct_WhenIdIsAboveIntRange() {
+        // Arrange
+        long id = 5_000_000_000L;
+
+        // Act
+        index.index(product(id, "20.00"));
+        ProductPriceIndex.PriceHits indexed = index.query(new BigDecimal("20"), new BigDecimal("20"), 0, 10);
+        index.remove(id);
+
+        // Assert
+        assertEquals(List.of(id), indexed.ids());
+        assertEquals(0, index.query(new BigDecimal("20"), new BigDecimal("20"), 0, 10).total());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void should_RemoveProduct_WhenPriceIsClampedToTheLowestCents() {
+        // Arrange
+        index.index(product(6L, "-1e30"));
+
+        // Act
+        index.remove(6L);
+
+        // Assert
+        assertEquals(5, index.size());
+        assertEquals(5, index.query(new BigDecimal("-1e20"), new BigDecimal("1e20"), 0, 10).total());
+    }
+
+    @Test
+    void should_MoveProduct_WhenPriceChanges() {
+        // Act
+        index.index(product(2L, "75.00"));
+
+        // Assert
+        assertEquals(List.of(4L, 1L, 2L, 3L), index.query(BigDecimal.ZERO, new BigDecimal("99.99"), 0, 10).ids());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void should_DropProduct_WhenRemoved() {
+        // Act
+        index.remove(4L);
+        index.remove(42L);
+
+        // Assert
+        assertEquals(List.of(2L), index.query(new BigDecimal("10"), new BigDecimal("10"), 0, 10).ids());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void should_KeepChangesMadeDuringRebuild_WhenSnapshotIsStale() {
+        // Arrange
+        ProductIndex.Rebuild rebuild = index.startRebuild();
+        rebuild.add(ProductIndexRow.of(product(1L, "50.00")));
+        rebuild.add(ProductIndexRow.of(product(2L, "10.00")));
+        // committed while the table is read, after these rows were read
+        index.onProductChanged(new ProductChangedEvent(2L, null));
+        index.onProductChanged(new ProductChangedEvent(6L, product(6L, "20.00")));
+
+        // Act
+        rebuild.publish();
+        rebuild.discard();
+
+        // Assert
+        ProductPriceIndex.PriceHits hits = index.query(BigDecimal.ZERO, new BigDecimal("1000"), 0, 10);
+        assertEquals(List.of(6L, 1L), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    private static Product product(Long id, String price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(new BigDecimal(price));
+        return product;
+    }
+}
@@ -0,0 +1,129 @@
+package app.quantun.springaimcp.service.impl;
+
+import app.quantun.springaimcp.event.ProductChangedEvent;
+import app.quantun.springaimcp.model.contract.response.ProductIndexRow;
+import app.quantun.springaimcp.model.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.index(product(1L, "Laptop Pro", "Portable computer with a wireless mouse", "ELEC-001"));
+        index.index(product(2L, "Wireless Mouse", "Ergonomic mouse", "ELEC-002"));
+        index.index(product(3L, "Desk Lamp", "LED lamp for a laptop desk", "HOME-001"));
+    }
+
+    @Test
+    void should_RankNameMatchesFirst_WhenSearch() {
+        // Act
+        ProductSearchIndex.SearchHits hits = index.search("laptop", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void should_MatchPrefixes_WhenSearchTermIsIncomplete() {
+        // Act
+        ProductSearchIndex.SearchHits hits = index.search("Wirel", 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), hits.ids());
+    }
+
+    @Test
+    void should_RequireEveryTerm_WhenSearchHasSeveralTerms() {
+        // Act
+        ProductSearchIndex.SearchHits hits = index.search("wireless laptop", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L), hits.ids());
+    }
+
+    @Test
+    void should_MatchSku_WhenSearchBySku() {
+        // Act
+        ProductSearchIndex.SearchHits hits = index.search("elec-002", 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L), hits.ids());
+    }
+
+    @Test
+    void should_ReturnRequestedPage_WhenSearchWithOffset() {
+        // Act
+        ProductSearchIndex.SearchHits hits = index.search("mouse", 1, 1);
+
+        // Assert
+        assertEquals(List.of(1L), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void should_ReplaceTerms_WhenProductIsReindexed() {
+        // Act
+        index.index(product(2L, "Trackball", "Ergonomic pointer", "ELEC-002"));
+
+        // Assert
+        assertEquals(List.of(1L), index.search("wireless", 0, 10).ids());
+        assertEquals(List.of(2L), index.search("trackball", 0, 10).ids());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void should_ForgetProduct_WhenRemoved() {
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of(3L), index.search("laptop", 0, 10).ids());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void should_KeepChangesMadeDuringRebuild_WhenSnapshotIsStale() {
+        // Arrange
+        ProductIndex.Rebuild rebuild = index.startRebuild();
+        rebuild.add(ProductIndexRow.of(product(3L, "Desk Lamp", "LED lamp for a laptop desk", "HOME-001")));
+        // committed while the table is read, after these rows were read
+        index.onProductChanged(new ProductChangedEvent(3L, null));
+        index.onProductChanged(new ProductChangedEvent(4L, product(4L, "Laptop Stand", "Aluminium", "HOME-002")));
+
+        // Act
+        rebuild.publish();
+        rebuild.discard();
+
+        // Assert
+        assertEquals(List.of(4L), index.search("laptop", 0, 10).ids());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void should_ReturnNoHits_WhenQueryHasNoTerms() {
+        // Act
+        ProductSearchIndex.SearchHits hits = index.search(" -- ", 0, 10);
+
+        // Assert
+        assertTrue(hits.ids().isEmpty());
+        assertEquals(0, hits.total());
+    }
+
+    private static Product product(Long id, String name, String description, String sku) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+        product.setSku(sku);
+        return product;
+    }
+}
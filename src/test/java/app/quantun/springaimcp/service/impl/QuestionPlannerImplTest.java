@@ -0,0 +1,40 @@
+package app.quantun.springaimcp.service.impl;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionPlannerImplTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Which tables and columns does the database have?",
+            "List the products ordered by price",
+            "How many users are there per role?",
+            "Hello, who are you?",
+            "Show products priced between 10 and 50",
+            "Which products are in stock and cost less than 100?",
+            "List users with their roles and emails",
+            "Do we have laptops plus accessories?",
+            "Which categories also have books?"
+    })
+    void should_SkipPlanning_WhenQuestionHasOneIntent(String question) {
+        // Act & Assert
+        assertFalse(QuestionPlannerImpl.mayBeCompound(question));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Top categories by product count and how many admins exist",
+            "What is the cheapest laptop? How many users are there?",
+            "List all categories; count the users",
+            "Show the newest products and also list the admins",
+            "How many products are there, and which category has the most?",
+            "Find the cheapest product as well as who registered last"
+    })
+    void should_Plan_WhenQuestionJoinsSeveralRequests(String question) {
+        // Act & Assert
+        assertTrue(QuestionPlannerImpl.mayBeCompound(question));
+    }
+}